@@ -0,0 +1,139 @@
+package com.flownode.benchmark;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.engine.WorkflowExecutor;
+import com.flownode.core.execution.engine.batch.BatchResult;
+import com.flownode.core.execution.engine.batch.BatchWorkflowExecutor;
+import com.flownode.core.execution.node.impl.condition.BooleanConditionNode;
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.workflow.Workflow;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 10k records through a 10-level condition cascade whose flags are the record's inputs
+ * (8 distinct paths): one standalone WorkflowExecutor run per record against a single
+ * batch. Score is per batch; divide by {@code records} for the per-record cost.
+ *
+ * nodeWork is the floor for any executor: each record's data plus the node executions on
+ * its path, with no engine around them. Per-record overhead = (score - nodeWork) / records.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+
+    private static final int DEPTH = 10;
+
+    @Param({"10000"})
+    public int records;
+
+    private Workflow workflow;
+    private List<Map<String, Object>> inputs;
+
+    // The cascade's nodes, for nodeWork
+    private ScriptTaskNode start;
+    private final BooleanConditionNode[] conditions = new BooleanConditionNode[DEPTH];
+    private final ScriptTaskNode[] yes = new ScriptTaskNode[DEPTH];
+    private final ScriptTaskNode[] no = new ScriptTaskNode[DEPTH];
+    private final ScriptTaskNode[] merges = new ScriptTaskNode[DEPTH];
+
+    private final WorkflowExecutor executor = new WorkflowExecutor();
+    private final BatchWorkflowExecutor batchExecutor = new BatchWorkflowExecutor();
+
+    // Inputs of the standalone run in progress; WorkflowExecutor takes none, so "start" copies them
+    private Map<String, Object> current;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workflow = cascade();
+
+        inputs = new ArrayList<>(records);
+        for (int r = 0; r < records; r++) {
+            Map<String, Object> flags = new HashMap<>();
+            for (int i = 0; i < DEPTH; i++) {
+                flags.put("flag" + i, (r >> (i % 3) & 1) == 1);
+            }
+            inputs.add(flags);
+        }
+    }
+
+    @Benchmark
+    public int perRecord() throws Exception {
+        int completed = 0;
+        for (int r = 0; r < records; r++) {
+            current = inputs.get(r);
+            executor.execute(workflow);
+            completed++;
+        }
+        return completed;
+    }
+
+    @Benchmark
+    public BatchResult batch() {
+        return batchExecutor.execute(workflow, inputs);
+    }
+
+    @Benchmark
+    public WorkflowExecutionContext[] nodeWork() {
+        WorkflowExecutionContext[] contexts = new WorkflowExecutionContext[records];
+
+        for (int r = 0; r < records; r++) {
+            Map<String, Object> input = inputs.get(r);
+            WorkflowExecutionContext context = WorkflowExecutionContext.confined(input.size());
+            input.forEach(context::put);
+
+            start.execute(context);
+            for (int i = 0; i < DEPTH; i++) {
+                conditions[i].execute(context);
+                ("TRUE".equals(context.get(conditions[i].getConditionKey())) ? yes[i] : no[i]).execute(context);
+                merges[i].execute(context);
+            }
+            contexts[r] = context;
+        }
+        return contexts;
+    }
+
+    // start → cond_i → yes_i / no_i → merge_i → ..., flag_i is bit (i % 3) of the record index
+    private Workflow cascade() {
+
+        Workflow cascade = new Workflow("batch-" + DEPTH, "Batch Cascade");
+
+        // Batch records already carry their inputs; a standalone run copies them here
+        start = new ScriptTaskNode("start", "start", ctx -> {
+            if (!ctx.contains("flag0")) {
+                current.forEach(ctx::put);
+            }
+        });
+        cascade.addNode(start);
+        cascade.setStartNodeId("start");
+
+        String previous = "start";
+        for (int i = 0; i < DEPTH; i++) {
+            conditions[i] = new BooleanConditionNode("cond" + i, "cond" + i, "flag" + i);
+            yes[i] = new ScriptTaskNode("yes" + i, "yes" + i, ctx -> { });
+            no[i] = new ScriptTaskNode("no" + i, "no" + i, ctx -> { });
+            merges[i] = new ScriptTaskNode("merge" + i, "merge" + i, ctx -> { });
+
+            cascade.addNode(conditions[i]);
+            cascade.addNode(yes[i]);
+            cascade.addNode(no[i]);
+            cascade.addNode(merges[i]);
+
+            cascade.addTransition(previous, "cond" + i);
+            cascade.addConditionTransition("cond" + i, "yes" + i, "no" + i);
+            cascade.addTransition("yes" + i, "merge" + i);
+            cascade.addTransition("no" + i, "merge" + i);
+            previous = "merge" + i;
+        }
+        return cascade;
+    }
+}
@@ -0,0 +1,72 @@
+package com.flownode.benchmark;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.expression.Expression;
+import com.flownode.core.execution.node.impl.condition.AmountGreaterThanConditionNode;
+import com.flownode.core.execution.node.impl.condition.ExpressionConditionNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One condition evaluation: AmountGreaterThanConditionNode (toString + parseDouble per call)
+ * against the compiled ExpressionConditionNode, the bare expression, a compound expression,
+ * and re-parsing the expression on every call (what caching the tree saves).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConditionBenchmark {
+
+    private static final String COMPOUND = "amount > 5000 && region == 'US' || risk * 100 >= 70";
+
+    private WorkflowExecutionContext context;
+
+    private AmountGreaterThanConditionNode amountNode;
+    private ExpressionConditionNode expressionNode;
+    private Expression simple;
+    private Expression compound;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new WorkflowExecutionContext();
+        context.put("amount", 7_500);
+        context.put("region", "US");
+        context.put("risk", 0.42);
+
+        amountNode = new AmountGreaterThanConditionNode("A", "A", "amount", 5000);
+        expressionNode = new ExpressionConditionNode("E", "E", "amount > 5000");
+        simple = Expression.compile("amount > 5000");
+        compound = Expression.compile(COMPOUND);
+    }
+
+    @Benchmark
+    public WorkflowExecutionContext amountGreaterThanNode() {
+        amountNode.execute(context);
+        return context;
+    }
+
+    @Benchmark
+    public WorkflowExecutionContext expressionNode() {
+        expressionNode.execute(context);
+        return context;
+    }
+
+    @Benchmark
+    public boolean expression() {
+        return simple.test(context);
+    }
+
+    @Benchmark
+    public boolean compoundExpression() {
+        return compound.test(context);
+    }
+
+    @Benchmark
+    public boolean compoundExpressionReparsed() {
+        return Expression.compile(COMPOUND).test(context);
+    }
+}
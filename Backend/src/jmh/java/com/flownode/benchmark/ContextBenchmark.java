@@ -0,0 +1,58 @@
+package com.flownode.benchmark;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Context writes and reads from parallel branches: WorkflowExecutionContext
+ * against a single-lock synchronized HashMap (the pre-concurrent design).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ContextBenchmark {
+
+    private static final int KEYS = 1024;
+
+    private final String[] keys = new String[KEYS];
+
+    private WorkflowExecutionContext context;
+    private Map<String, Object> synchronizedMap;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "key" + i;
+        }
+        context = new WorkflowExecutionContext();
+        synchronizedMap = Collections.synchronizedMap(new HashMap<>());
+    }
+
+    @Benchmark
+    public Object context(Cursor cursor) {
+        String key = keys[cursor.next++ & (KEYS - 1)];
+        context.put(key, Boolean.TRUE);
+        return context.get(key);
+    }
+
+    @Benchmark
+    public Object synchronizedHashMap(Cursor cursor) {
+        String key = keys[cursor.next++ & (KEYS - 1)];
+        synchronizedMap.put(key, Boolean.TRUE);
+        return synchronizedMap.get(key);
+    }
+}
@@ -0,0 +1,96 @@
+package com.flownode.benchmark;
+
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.workflow.Workflow;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makespan of one run of a skewed DAG on 4 threads, with and without critical-path ordering.
+ * Nodes sleep (blocking I/O) so the result does not depend on the number of cores.
+ *
+ * chain-behind-leaves: start → 32 leaves of 2 ms, declared before a chain of 8 × 2 ms nodes.
+ *                      The graph alone ranks the chain first.
+ * slow-leaf:           start → 16 leaves of 1 ms, declared before one 16 ms leaf. Every leaf
+ *                      has the same depth, so only the latency history (warmup) finds it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CriticalPathBenchmark {
+
+    @Param({"chain-behind-leaves", "slow-leaf"})
+    public String shape;
+
+    @Param({"true", "false"})
+    public boolean criticalPath;
+
+    private ConcurrentWorkflowExecutor engine;
+    private Workflow workflow;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new ConcurrentWorkflowExecutor(4);
+        engine.setCriticalPathOrdering(criticalPath);
+        workflow = shape.equals("slow-leaf") ? slowLeaf() : chainBehindLeaves();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public void makespan() throws InterruptedException {
+        engine.startWorkflow(workflow, Map.of()).awaitCompletion();
+    }
+
+    private static Workflow chainBehindLeaves() {
+        Workflow workflow = new Workflow("chain-behind-leaves", "Chain Behind Leaves");
+        workflow.addNode(sleeping("start", 0));
+        workflow.setStartNodeId("start");
+
+        for (int i = 0; i < 32; i++) {
+            workflow.addNode(sleeping("leaf" + i, 2));
+            workflow.addTransition("start", "leaf" + i);
+        }
+
+        String previous = "start";
+        for (int i = 0; i < 8; i++) {
+            workflow.addNode(sleeping("chain" + i, 2));
+            workflow.addTransition(previous, "chain" + i);
+            previous = "chain" + i;
+        }
+        return workflow;
+    }
+
+    private static Workflow slowLeaf() {
+        Workflow workflow = new Workflow("slow-leaf", "Slow Leaf");
+        workflow.addNode(sleeping("start", 0));
+        workflow.setStartNodeId("start");
+
+        for (int i = 0; i < 16; i++) {
+            workflow.addNode(sleeping("leaf" + i, 1));
+            workflow.addTransition("start", "leaf" + i);
+        }
+        workflow.addNode(sleeping("slow", 16));
+        workflow.addTransition("start", "slow");
+        return workflow;
+    }
+
+    private static ScriptTaskNode sleeping(String id, long millis) {
+        return new ScriptTaskNode(id, id, ctx -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.flownode.benchmark;
+
+import com.flownode.core.execution.engine.WorkflowExecutor;
+import com.flownode.core.workflow.Workflow;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential engine on graphs far deeper than a recursive walk survives:
+ * a 1M-node chain and a long skipped branch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class DeepGraphBenchmark {
+
+    @Param({"chain-1000000", "skipped-100000"})
+    public String shape;
+
+    private Workflow workflow;
+    private final WorkflowExecutor executor = new WorkflowExecutor();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workflow = WorkflowShapes.of(shape);
+        workflow.compile();
+    }
+
+    @Benchmark
+    public Object sequential() throws Exception {
+        return executor.execute(workflow);
+    }
+}
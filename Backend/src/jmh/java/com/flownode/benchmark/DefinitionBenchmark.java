@@ -0,0 +1,74 @@
+package com.flownode.benchmark;
+
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.workflow.Workflow;
+import com.flownode.core.workflow.definition.ScriptRegistry;
+import com.flownode.core.workflow.definition.WorkflowDefinitionCompiler;
+import com.flownode.definition.DeployedDefinition;
+import com.flownode.definition.WorkflowDefinitionReader;
+import com.flownode.definition.WorkflowDefinitionService;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of getting a runnable graph for a JSON definition: full parse + validation +
+ * compile against the hash-keyed cache hit a repeated deployment takes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DefinitionBenchmark {
+
+    @Param({"20", "200"})
+    public int nodes;
+
+    private String source;
+
+    private WorkflowDefinitionReader reader;
+    private WorkflowDefinitionCompiler compiler;
+    private WorkflowDefinitionService service;
+    private ConcurrentWorkflowExecutor engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        // Chain start → n0 → ... → end
+        StringBuilder json = new StringBuilder("{\"id\": \"chain\", \"version\": \"1\", \"start\": \"start\", \"nodes\": [");
+        json.append("{\"id\": \"start\", \"type\": \"start\"}, {\"id\": \"end\", \"type\": \"end\"}");
+        for (int i = 0; i < nodes; i++) {
+            json.append(", {\"id\": \"n").append(i).append("\", \"type\": \"script\", \"properties\": {\"script\": \"noop\"}}");
+        }
+        json.append("], \"transitions\": [{\"from\": \"start\", \"to\": \"n0\"}");
+        for (int i = 1; i < nodes; i++) {
+            json.append(", {\"from\": \"n").append(i - 1).append("\", \"to\": \"n").append(i).append("\"}");
+        }
+        json.append(", {\"from\": \"n").append(nodes - 1).append("\", \"to\": \"end\"}]}");
+        source = json.toString();
+
+        reader = new WorkflowDefinitionReader(JsonMapper.builder().build());
+        compiler = new WorkflowDefinitionCompiler(new ScriptRegistry());
+        engine = new ConcurrentWorkflowExecutor(1);
+        service = new WorkflowDefinitionService(reader, compiler, engine);
+        service.deploy(source);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public Workflow parseAndCompile() {
+        return compiler.compile(reader.read(source));
+    }
+
+    @Benchmark
+    public DeployedDefinition cachedDeploy() {
+        return service.deploy(source);
+    }
+}
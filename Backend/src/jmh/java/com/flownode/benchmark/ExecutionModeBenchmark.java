@@ -0,0 +1,68 @@
+package com.flownode.benchmark;
+
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.execution.engine.executor.ExecutionMode;
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.workflow.Workflow;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fan-out of nodes that block (sleep stands in for I/O) on a bounded platform pool
+ * vs one virtual thread per node.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+
+    @Param({"PLATFORM_POOL", "VIRTUAL_THREADS"})
+    public ExecutionMode mode;
+
+    @Param({"500"})
+    public int width;
+
+    @Param({"5"})
+    public int blockMillis;
+
+    private Workflow workflow;
+    private ConcurrentWorkflowExecutor engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workflow = new Workflow("blocking-" + width, "Blocking Fan Out");
+        workflow.addNode(new ScriptTaskNode("start", "start", ctx -> { }));
+        workflow.addNode(new ScriptTaskNode("join", "join", ctx -> { }));
+        workflow.setStartNodeId("start");
+
+        for (int i = 0; i < width; i++) {
+            String id = "io" + i;
+            workflow.addNode(new ScriptTaskNode(id, id, ctx -> {
+                try {
+                    Thread.sleep(blockMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            workflow.addTransition("start", id);
+            workflow.addTransition(id, "join");
+        }
+
+        engine = new ConcurrentWorkflowExecutor(mode, 64);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public void blockingFanOut() throws InterruptedException {
+        engine.startWorkflow(workflow, Map.of()).awaitCompletion();
+    }
+}
@@ -0,0 +1,64 @@
+package com.flownode.benchmark;
+
+import com.flownode.core.execution.engine.WorkflowExecutor;
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.workflow.Workflow;
+import com.flownode.metrics.MicrometerEngineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential vs concurrent engine, one whole run per invocation.
+ * Throughput gives runs/ms, SampleTime gives the per-run latency distribution;
+ * add {@code -prof gc} for allocation rate.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutorBenchmark {
+
+    @Param({"chain-1000", "fanout-1000", "diamonds-8", "conditions-100"})
+    public String shape;
+
+    @Param({"8"})
+    public int threads;
+
+    // Micrometer instrumentation on the concurrent engine
+    @Param({"false"})
+    public boolean metrics;
+
+    private Workflow workflow;
+    private ConcurrentWorkflowExecutor engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workflow = WorkflowShapes.of(shape);
+        workflow.compile();
+        engine = new ConcurrentWorkflowExecutor(threads);
+
+        if (metrics) {
+            engine.setMetrics(new MicrometerEngineMetrics(new SimpleMeterRegistry(), engine));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public void sequential() throws Exception {
+        new WorkflowExecutor().execute(workflow);
+    }
+
+    @Benchmark
+    public void concurrent() throws InterruptedException {
+        engine.startWorkflow(workflow, Map.of()).awaitCompletion();
+    }
+}
@@ -0,0 +1,91 @@
+package com.flownode.benchmark;
+
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.execution.engine.instance.WorkflowInstance;
+import com.flownode.core.execution.engine.scheduling.RunOptions;
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.workflow.Workflow;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a small 5-node run while a "batch" tenant keeps 50k CPU-bound nodes
+ * ready on the same pool. Under FIFO the small run queues behind the backlog; with fair
+ * queuing it waits for roughly one node per active run per step.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FairnessBenchmark {
+
+    private static final int BACKLOG = 50_000;
+
+    @Param({"4"})
+    public int threads;
+
+    private ConcurrentWorkflowExecutor engine;
+    private Workflow big;
+    private Workflow small;
+    private WorkflowInstance background;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new ConcurrentWorkflowExecutor(threads);
+        big = fanOut(BACKLOG);
+        small = chain(5);
+    }
+
+    // A fresh backlog per iteration → the pool is saturated for the whole measurement
+    @Setup(Level.Iteration)
+    public void startBackground() {
+        background = engine.startWorkflow(big, Map.of(), new RunOptions("batch", 1));
+    }
+
+    @TearDown(Level.Iteration)
+    public void awaitBackground() throws InterruptedException {
+        background.awaitCompletion();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public void smallRunUnderLoad() throws InterruptedException {
+        engine.startWorkflow(small, Map.of(), new RunOptions("interactive", 1)).awaitCompletion();
+    }
+
+    private static Workflow fanOut(int width) {
+        Workflow workflow = new Workflow("backlog-" + width, "Backlog");
+        workflow.addNode(busy("start"));
+        workflow.setStartNodeId("start");
+        for (int i = 0; i < width; i++) {
+            workflow.addNode(busy("t" + i));
+            workflow.addTransition("start", "t" + i);
+        }
+        return workflow;
+    }
+
+    private static Workflow chain(int length) {
+        Workflow workflow = new Workflow("interactive-" + length, "Interactive");
+        workflow.addNode(busy("n0"));
+        workflow.setStartNodeId("n0");
+        for (int i = 1; i < length; i++) {
+            workflow.addNode(busy("n" + i));
+            workflow.addTransition("n" + (i - 1), "n" + i);
+        }
+        return workflow;
+    }
+
+    // ~20 µs of CPU per node
+    private static ScriptTaskNode busy(String id) {
+        return new ScriptTaskNode(id, id, ctx -> Blackhole.consumeCPU(20_000));
+    }
+}
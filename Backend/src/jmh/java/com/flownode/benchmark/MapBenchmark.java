@@ -0,0 +1,93 @@
+package com.flownode.benchmark;
+
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.execution.node.impl.composite.MapNode;
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.workflow.Workflow;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * One run processing {@code size} items on 4 threads, then summing the results.
+ *
+ * static-fan-out: one predeclared node per item writing "out{i}", joined by a sum node
+ *                 (the workflow is built and compiled once, outside the measurement).
+ * map:            start → one MapNode over the item list (maxConcurrency 4) → sum node.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapBenchmark {
+
+    @Param({"10000"})
+    public int size;
+
+    @Param({"static-fan-out", "map"})
+    public String shape;
+
+    private ConcurrentWorkflowExecutor engine;
+    private Workflow workflow;
+    private Map<String, Object> inputs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new ConcurrentWorkflowExecutor(4);
+        workflow = shape.equals("map") ? mapped() : staticFanOut();
+        workflow.compile();
+        inputs = Map.of("items", IntStream.range(0, size).boxed().toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public Object run() throws InterruptedException {
+        var instance = engine.startWorkflow(workflow, inputs);
+        instance.awaitCompletion();
+        return instance.getContext().get("sum");
+    }
+
+    private Workflow staticFanOut() {
+        Workflow workflow = new Workflow("static-fan-out", "Static Fan Out");
+        workflow.addNode(new ScriptTaskNode("start", "Start", ctx -> { }));
+        workflow.addNode(new ScriptTaskNode("sum", "Sum", ctx -> {
+            long sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += (Integer) ctx.get("out" + i);
+            }
+            ctx.put("sum", sum);
+        }));
+        workflow.setStartNodeId("start");
+
+        for (int i = 0; i < size; i++) {
+            int index = i;
+            workflow.addNode(new ScriptTaskNode("item" + i, "Item", ctx ->
+                    ctx.put("out" + index, (Integer) ((List<?>) ctx.get("items")).get(index) * 2)));
+            workflow.addTransition("start", "item" + i);
+            workflow.addTransition("item" + i, "sum");
+        }
+        return workflow;
+    }
+
+    private Workflow mapped() {
+        Workflow workflow = new Workflow("map", "Map");
+        workflow.addNode(new ScriptTaskNode("start", "Start", ctx -> { }));
+        workflow.addNode(new MapNode("double", "Double", "items", "doubled",
+                ctx -> ctx.put(MapNode.RESULT, (Integer) ctx.get(MapNode.ITEM) * 2), 4));
+        workflow.addNode(new ScriptTaskNode("sum", "Sum", ctx ->
+                ctx.put("sum", ((List<?>) ctx.get("doubled")).stream().mapToLong(n -> (Integer) n).sum())));
+        workflow.setStartNodeId("start");
+        workflow.addTransition("start", "double");
+        workflow.addTransition("double", "sum");
+        return workflow;
+    }
+}
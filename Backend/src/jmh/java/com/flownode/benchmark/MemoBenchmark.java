@@ -0,0 +1,65 @@
+package com.flownode.benchmark;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.memo.NodeResultCache;
+import com.flownode.core.execution.node.impl.task.MemoizedScriptTaskNode;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One scoring node (a few µs of CPU, pure function of two keys): executed directly vs
+ * served from the result cache. {@code cached} cycles through {@code distinctInputs} keys,
+ * all resident, so every call is a hit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MemoBenchmark {
+
+    @Param({"1000"})
+    public int distinctInputs;
+
+    private MemoizedScriptTaskNode scoring;
+    private NodeResultCache cache;
+    private WorkflowExecutionContext[] contexts;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scoring = new MemoizedScriptTaskNode("score", "Score", ctx -> {
+            Blackhole.consumeCPU(5_000);
+            ctx.put("score", (Integer) ctx.get("amount") * 31 + ((String) ctx.get("region")).length());
+        }, List.of("amount", "region"), List.of("score"));
+
+        cache = new NodeResultCache(10_000, Duration.ofMinutes(10));
+
+        contexts = new WorkflowExecutionContext[distinctInputs];
+        for (int i = 0; i < distinctInputs; i++) {
+            contexts[i] = new WorkflowExecutionContext();
+            contexts[i].put("amount", i);
+            contexts[i].put("region", i % 2 == 0 ? "EU" : "US");
+            cache.execute(scoring, contexts[i]);
+        }
+    }
+
+    @Benchmark
+    public WorkflowExecutionContext direct() {
+        WorkflowExecutionContext context = contexts[next++ % distinctInputs];
+        scoring.execute(context);
+        return context;
+    }
+
+    @Benchmark
+    public WorkflowExecutionContext cached() {
+        WorkflowExecutionContext context = contexts[next++ % distinctInputs];
+        cache.execute(scoring, context);
+        return context;
+    }
+}
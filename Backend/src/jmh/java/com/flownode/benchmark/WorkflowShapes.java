@@ -0,0 +1,173 @@
+package com.flownode.benchmark;
+
+import com.flownode.core.execution.node.impl.condition.BooleanConditionNode;
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.workflow.Workflow;
+
+/**
+ * Synthetic workflow shapes for the benchmarks. Every task does one context write,
+ * so the numbers are dominated by readiness, scheduling and context overhead.
+ *
+ * A shape is named "<kind>-<size>", e.g. "chain-1000" or "diamonds-8".
+ */
+public final class WorkflowShapes {
+
+    private WorkflowShapes() {
+    }
+
+    public static Workflow of(String shape) {
+
+        int dash = shape.lastIndexOf('-');
+        if (dash < 0) {
+            throw new IllegalArgumentException("Shape must look like <kind>-<size>: " + shape);
+        }
+
+        String kind = shape.substring(0, dash);
+        int size = Integer.parseInt(shape.substring(dash + 1));
+
+        return switch (kind) {
+            case "chain" -> chain(size);
+            case "fanout" -> fanOut(size);
+            case "diamonds" -> nestedDiamonds(size);
+            case "conditions" -> conditionCascade(size);
+            case "skipped" -> skippedBranch(size);
+            default -> throw new IllegalArgumentException("Unknown shape: " + kind);
+        };
+    }
+
+
+    // ---------------- SHAPES ----------------
+
+    // start → n1 → n2 → ... → n<length>
+    public static Workflow chain(int length) {
+
+        Workflow workflow = new Workflow("chain-" + length, "Chain");
+        workflow.addNode(task("start"));
+        workflow.setStartNodeId("start");
+
+        String previous = "start";
+        for (int i = 0; i < length; i++) {
+            String id = "n" + i;
+            workflow.addNode(task(id));
+            workflow.addTransition(previous, id);
+            previous = id;
+        }
+        return workflow;
+    }
+
+    // start → width parallel tasks → join
+    public static Workflow fanOut(int width) {
+
+        Workflow workflow = new Workflow("fanout-" + width, "Fan Out");
+        workflow.addNode(task("start"));
+        workflow.addNode(task("join"));
+        workflow.setStartNodeId("start");
+
+        for (int i = 0; i < width; i++) {
+            String id = "t" + i;
+            workflow.addNode(task(id));
+            workflow.addTransition("start", id);
+            workflow.addTransition(id, "join");
+        }
+        return workflow;
+    }
+
+    // Diamond of depth d = split → two diamonds of depth d-1 → join; depth 0 is one task
+    public static Workflow nestedDiamonds(int depth) {
+
+        Workflow workflow = new Workflow("diamonds-" + depth, "Nested Diamonds");
+        String[] ends = diamond(workflow, "d", depth);
+        workflow.setStartNodeId(ends[0]);
+        return workflow;
+    }
+
+    // Like Main: cond_i → yes_i / no_i → merge_i → cond_i+1, branches alternate per level
+    public static Workflow conditionCascade(int depth) {
+
+        Workflow workflow = new Workflow("conditions-" + depth, "Condition Cascade");
+
+        workflow.addNode(new ScriptTaskNode("start", "start", ctx -> {
+            for (int i = 0; i < depth; i++) {
+                ctx.put("flag" + i, i % 2 == 0);
+            }
+        }));
+        workflow.setStartNodeId("start");
+
+        String previous = "start";
+        for (int i = 0; i < depth; i++) {
+            String cond = "cond" + i;
+            String yes = "yes" + i;
+            String no = "no" + i;
+            String merge = "merge" + i;
+
+            workflow.addNode(new BooleanConditionNode(cond, cond, "flag" + i));
+            workflow.addNode(task(yes));
+            workflow.addNode(task(no));
+            workflow.addNode(task(merge));
+
+            workflow.addTransition(previous, cond);
+            workflow.addConditionTransition(cond, yes, no);
+            workflow.addTransition(yes, merge);
+            workflow.addTransition(no, merge);
+            previous = merge;
+        }
+        return workflow;
+    }
+
+
+    // check → FALSE → no → join; the TRUE branch is a chain of length tasks that gets skipped
+    public static Workflow skippedBranch(int length) {
+
+        Workflow workflow = new Workflow("skipped-" + length, "Skipped Branch");
+        workflow.addNode(new BooleanConditionNode("check", "check", "missing"));
+        workflow.addNode(task("no"));
+        workflow.addNode(task("join"));
+        workflow.setStartNodeId("check");
+
+        String previous = null;
+        for (int i = 0; i < length; i++) {
+            String id = "yes" + i;
+            workflow.addNode(task(id));
+            if (previous != null) {
+                workflow.addTransition(previous, id);
+            }
+            previous = id;
+        }
+
+        workflow.addConditionTransition("check", "yes0", "no");
+        workflow.addTransition(previous, "join");
+        workflow.addTransition("no", "join");
+        return workflow;
+    }
+
+
+    // ---------------- HELPERS ----------------
+
+    // Returns {entry, exit} of the sub-diamond
+    private static String[] diamond(Workflow workflow, String prefix, int depth) {
+
+        if (depth == 0) {
+            workflow.addNode(task(prefix));
+            return new String[]{prefix, prefix};
+        }
+
+        String split = prefix + "s";
+        String join = prefix + "j";
+        workflow.addNode(task(split));
+
+        String[] left = diamond(workflow, prefix + "l", depth - 1);
+        String[] right = diamond(workflow, prefix + "r", depth - 1);
+
+        workflow.addNode(task(join));
+        workflow.addTransition(split, left[0]);
+        workflow.addTransition(split, right[0]);
+        workflow.addTransition(left[1], join);
+        workflow.addTransition(right[1], join);
+
+        return new String[]{split, join};
+    }
+
+    private static ScriptTaskNode task(String id) {
+        return new ScriptTaskNode(id, id, ctx -> ctx.put(id, Boolean.TRUE));
+    }
+}
@@ -0,0 +1,11 @@
+package com.flownode.api;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Map;
+
+// Context keys to overwrite; only nodes reading them (and what depends on those) run again
+public record RerunRequest(
+        @NotNull Map<String, Object> changes
+) {
+}
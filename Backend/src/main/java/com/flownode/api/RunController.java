@@ -0,0 +1,117 @@
+package com.flownode.api;
+
+import com.flownode.core.execution.engine.instance.WorkflowInstance;
+import com.flownode.core.execution.engine.scheduling.RunOptions;
+import com.flownode.core.execution.engine.store.InstanceSnapshot;
+import com.flownode.core.state.WorkflowState;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Runs over HTTP: start (202 + run id), poll status, fetch the result, resume a waiting node,
+ * rerun a completed run with changed inputs.
+ * Every handler returns without waiting for workflow execution.
+ */
+@RestController
+@RequestMapping("/api/runs")
+public class RunController {
+
+    private final RunService runs;
+
+    public RunController(RunService runs) {
+        this.runs = runs;
+    }
+
+    @PostMapping
+    public ResponseEntity<RunStatus> start(@Valid @RequestBody StartRunRequest request) {
+
+        WorkflowInstance instance = runs.start(request.workflowId(),
+                request.inputs() == null ? Map.of() : request.inputs(),
+                RunOptions.of(request.tenant(), request.priority()));
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/runs/" + instance.getRunId()))
+                .body(new RunStatus(instance.getRunId(), request.workflowId(), instance.getState(), Map.of()));
+    }
+
+    @GetMapping("/{runId}")
+    public RunStatus status(@PathVariable String runId) {
+        return RunStatus.of(find(runId));
+    }
+
+    // 409 until the run has finished
+    @GetMapping("/{runId}/result")
+    public RunResult result(@PathVariable String runId) {
+
+        InstanceSnapshot snapshot = find(runId);
+
+        if (snapshot.state() != WorkflowState.COMPLETED && snapshot.state() != WorkflowState.FAILED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Run not finished: " + snapshot.state());
+        }
+        return RunResult.of(snapshot);
+    }
+
+    // 202 when resumed, 409 when the node is not waiting (never reached, already resumed, run finished)
+    @PostMapping("/{runId}/nodes/{nodeId}/resume")
+    public ResponseEntity<Void> resume(@PathVariable String runId, @PathVariable String nodeId,
+                                       @RequestBody(required = false) Map<String, Object> payload) {
+
+        if (!runs.resume(runId, nodeId, payload)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Node is not waiting: " + nodeId);
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    // 202 + the new run; 409 when the previous run did not complete
+    @PostMapping("/{runId}/rerun")
+    public ResponseEntity<RunStatus> rerun(@PathVariable String runId, @Valid @RequestBody RerunRequest request) {
+
+        WorkflowInstance instance = runs.rerun(runId, request.changes());
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/runs/" + instance.getRunId()))
+                .body(new RunStatus(instance.getRunId(), instance.getGraph().getWorkflowId(), instance.getState(), Map.of()));
+    }
+
+    private InstanceSnapshot find(String runId) {
+        return runs.find(runId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown run: " + runId));
+    }
+
+
+    // ---------------- ERRORS ----------------
+
+    @ExceptionHandler(RunRejectedException.class)
+    public ResponseEntity<ProblemDetail> rejected(RunRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", "1")
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, e.getMessage()));
+    }
+
+    // Rerun of a run that has not completed
+    @ExceptionHandler(RunNotCompletedException.class)
+    public ResponseEntity<ProblemDetail> notCompleted(RunNotCompletedException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage()));
+    }
+
+    // Unknown workflow, run or node; anything else is a bug (500) or bad input (400), not a 404
+    @ExceptionHandler({WorkflowNotFoundException.class, RunNotFoundException.class})
+    public ResponseEntity<ProblemDetail> unknown(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage()));
+    }
+}
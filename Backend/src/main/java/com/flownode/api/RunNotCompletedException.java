@@ -0,0 +1,9 @@
+package com.flownode.api;
+
+// Rerun requested for a run that is still going or failed → HTTP 409
+public class RunNotCompletedException extends RuntimeException {
+
+    public RunNotCompletedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.flownode.api;
+
+// No such run (or no such node in it) → HTTP 404
+public class RunNotFoundException extends RuntimeException {
+
+    public RunNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.flownode.api;
+
+// Admission refused a new run → HTTP 429; the client should retry later
+public class RunRejectedException extends RuntimeException {
+
+    public RunRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.flownode.api;
+
+import com.flownode.core.execution.engine.store.InstanceSnapshot;
+import com.flownode.core.state.WorkflowState;
+
+import java.util.Map;
+
+// Final context of a finished run
+public record RunResult(
+        String runId,
+        String workflowId,
+        WorkflowState state,
+        Map<String, Object> data
+) {
+
+    static RunResult of(InstanceSnapshot snapshot) {
+        return new RunResult(snapshot.runId(), snapshot.workflowId(), snapshot.state(), snapshot.data());
+    }
+}
@@ -0,0 +1,176 @@
+package com.flownode.api;
+
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.execution.engine.instance.WorkflowInstance;
+import com.flownode.core.execution.engine.scheduling.RunOptions;
+import com.flownode.core.execution.engine.store.InstanceSnapshot;
+import com.flownode.core.state.WorkflowState;
+import com.flownode.persistence.JdbcSnapshotRepository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Admission control and lookup in front of the engine. Nothing here waits for a run.
+ *
+ * A run is admitted only while fewer than {@code maxInFlightRuns} admitted runs are
+ * unfinished and the engine's task queue is below {@code maxQueuedTasks}; otherwise it is
+ * rejected at once. The permit goes back when the run completes or fails, so a run parked
+ * on an approval keeps its permit.
+ */
+public class RunService {
+
+    private final ConcurrentWorkflowExecutor engine;
+    private final JdbcSnapshotRepository repository;
+
+    private final Semaphore inFlight;
+    private final int maxQueuedTasks;
+    private final LongAdder rejected = new LongAdder();
+
+    // Admitted and unfinished → lookups never fall into the gap before the journal catches up
+    private final Map<String, WorkflowInstance> admitted = new ConcurrentHashMap<>();
+
+    // Recently finished, bounded; older runs are read from the journal tables
+    private final Map<String, InstanceSnapshot> recent;
+
+
+    public RunService(ConcurrentWorkflowExecutor engine, JdbcSnapshotRepository repository,
+                      int maxInFlightRuns, int maxQueuedTasks, int recentRuns) {
+
+        if (maxInFlightRuns <= 0) {
+            throw new IllegalArgumentException("maxInFlightRuns must be positive: " + maxInFlightRuns);
+        }
+
+        this.engine = engine;
+        this.repository = repository;
+        this.inFlight = new Semaphore(maxInFlightRuns);
+        this.maxQueuedTasks = maxQueuedTasks;
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, InstanceSnapshot> eldest) {
+                return size() > recentRuns;
+            }
+        });
+    }
+
+
+    // ---------------- ADMISSION ----------------
+
+    public WorkflowInstance start(String workflowId, Map<String, Object> inputs) {
+        return start(workflowId, inputs, RunOptions.DEFAULT);
+    }
+
+    public WorkflowInstance start(String workflowId, Map<String, Object> inputs, RunOptions options) {
+
+        if (engine.getWorkflow(workflowId).isEmpty()) {
+            throw new WorkflowNotFoundException("Unknown workflow: " + workflowId);
+        }
+        return admit(() -> engine.startWorkflow(workflowId, inputs, options));
+    }
+
+    // Admitted like a new run
+    public WorkflowInstance rerun(String runId, Map<String, Object> changes) {
+
+        InstanceSnapshot previous = find(runId)
+                .orElseThrow(() -> new RunNotFoundException("Unknown run: " + runId));
+
+        if (previous.state() != WorkflowState.COMPLETED) {
+            throw new RunNotCompletedException("Only completed runs can be rerun: " + runId + " is " + previous.state());
+        }
+        return admit(() -> engine.rerun(previous, changes));
+    }
+
+    private WorkflowInstance admit(Supplier<WorkflowInstance> launch) {
+
+        if (engine.getQueuedTaskCount() >= maxQueuedTasks) {
+            rejected.increment();
+            throw new RunRejectedException("Engine queue is full");
+        }
+
+        if (!inFlight.tryAcquire()) {
+            rejected.increment();
+            throw new RunRejectedException("Too many runs in flight");
+        }
+
+        WorkflowInstance instance;
+        try {
+            instance = launch.get();
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+
+        // Registered before the callback → a run that already finished is handed over right away
+        admitted.put(instance.getRunId(), instance);
+
+        instance.whenFinished().thenRun(() -> {
+            recent.put(instance.getRunId(), instance.snapshot());
+            admitted.remove(instance.getRunId());
+            inFlight.release();
+        });
+
+        return instance;
+    }
+
+    public int getInFlightRunCount() {
+        return admitted.size();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+
+    // ---------------- LOOKUP ----------------
+
+    // Live runs first, then recently finished ones, then the journal
+    public Optional<InstanceSnapshot> find(String runId) {
+
+        WorkflowInstance live = admitted.get(runId);
+        if (live == null) {
+            live = engine.getInstance(runId).orElse(null);
+        }
+        if (live != null) {
+            return Optional.of(live.snapshot());
+        }
+
+        InstanceSnapshot finished = recent.get(runId);
+        if (finished != null) {
+            return Optional.of(finished);
+        }
+
+        return repository.findRun(runId);
+    }
+
+    // False if the node is not waiting or the run already finished; RunNotFoundException for unknown runs or nodes
+    public boolean resume(String runId, String nodeId, Map<String, Object> payload) {
+
+        if (!admitted.containsKey(runId) && engine.getInstance(runId).isEmpty()) {
+
+            Optional<InstanceSnapshot> known = find(runId);
+            if (known.isEmpty()) {
+                throw new RunNotFoundException("Unknown run: " + runId);
+            }
+            if (isFinished(known.get().state())) {
+                return false;
+            }
+        }
+
+        try {
+            return engine.resume(runId, nodeId, payload);
+        } catch (IllegalArgumentException e) {
+            // The engine's only argument errors here: run gone from memory and store, or no such node
+            throw new RunNotFoundException(e.getMessage());
+        }
+    }
+
+    private static boolean isFinished(WorkflowState state) {
+        return state == WorkflowState.COMPLETED || state == WorkflowState.FAILED;
+    }
+}
@@ -0,0 +1,20 @@
+package com.flownode.api;
+
+import com.flownode.core.execution.engine.store.InstanceSnapshot;
+import com.flownode.core.state.NodeState;
+import com.flownode.core.state.WorkflowState;
+
+import java.util.Map;
+
+// Poll view of a run; WAITING entries in nodeStates are the nodes that accept a resume
+public record RunStatus(
+        String runId,
+        String workflowId,
+        WorkflowState state,
+        Map<String, NodeState> nodeStates
+) {
+
+    static RunStatus of(InstanceSnapshot snapshot) {
+        return new RunStatus(snapshot.runId(), snapshot.workflowId(), snapshot.state(), snapshot.nodeStates());
+    }
+}
@@ -0,0 +1,15 @@
+package com.flownode.api;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+import java.util.Map;
+
+// tenant and priority are optional → the default tenant at priority 1
+public record StartRunRequest(
+        @NotBlank String workflowId,
+        Map<String, Object> inputs,
+        String tenant,
+        @Positive Integer priority
+) {
+}
@@ -0,0 +1,9 @@
+package com.flownode.api;
+
+// Start requested for a workflow the engine doesn't know → HTTP 404
+public class WorkflowNotFoundException extends RuntimeException {
+
+    public WorkflowNotFoundException(String message) {
+        super(message);
+    }
+}
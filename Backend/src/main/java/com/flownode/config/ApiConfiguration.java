@@ -0,0 +1,23 @@
+package com.flownode.config;
+
+import com.flownode.api.RunService;
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.persistence.JdbcSnapshotRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Admission limits for runs started over HTTP
+@Configuration
+public class ApiConfiguration {
+
+    @Bean
+    public RunService runService(
+            ConcurrentWorkflowExecutor workflowEngine,
+            JdbcSnapshotRepository snapshotRepository,
+            @Value("${flownode.api.max-in-flight-runs:10000}") int maxInFlightRuns,
+            @Value("${flownode.api.max-queued-tasks:100000}") int maxQueuedTasks,
+            @Value("${flownode.api.recent-runs:10000}") int recentRuns) {
+        return new RunService(workflowEngine, snapshotRepository, maxInFlightRuns, maxQueuedTasks, recentRuns);
+    }
+}
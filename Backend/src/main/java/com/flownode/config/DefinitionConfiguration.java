@@ -0,0 +1,77 @@
+package com.flownode.config;
+
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.workflow.definition.ScriptRegistry;
+import com.flownode.core.workflow.definition.WorkflowDefinitionCompiler;
+import com.flownode.definition.WorkflowDefinitionReader;
+import com.flownode.definition.WorkflowDefinitionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Definitions found under flownode.definitions.location are deployed before runs are recovered
+@Configuration
+public class DefinitionConfiguration {
+
+    // Application code registers the scripts its definitions name
+    @Bean
+    public ScriptRegistry scriptRegistry() {
+        return new ScriptRegistry();
+    }
+
+    @Bean
+    public WorkflowDefinitionCompiler workflowDefinitionCompiler(ScriptRegistry scriptRegistry) {
+        return new WorkflowDefinitionCompiler(scriptRegistry);
+    }
+
+    @Bean
+    public WorkflowDefinitionService workflowDefinitionService(
+            JsonMapper jsonMapper,
+            WorkflowDefinitionCompiler workflowDefinitionCompiler,
+            ConcurrentWorkflowExecutor workflowEngine,
+            ResourcePatternResolver resources,
+            @Value("${flownode.definitions.location:classpath*:workflows/*}") String location) throws IOException {
+
+        WorkflowDefinitionService service = new WorkflowDefinitionService(
+                new WorkflowDefinitionReader(jsonMapper), workflowDefinitionCompiler, workflowEngine);
+
+        Map<Resource, String> pending = new LinkedHashMap<>();
+        for (Resource resource : resources.getResources(location)) {
+            pending.put(resource, resource.getContentAsString(StandardCharsets.UTF_8));
+        }
+
+        // A definition naming a sub-workflow deploys after it → retry the failed ones while any pass makes progress
+        Map<Resource, IllegalArgumentException> failed = new LinkedHashMap<>();
+        int before;
+        do {
+            before = pending.size();
+            failed.clear();
+
+            for (Iterator<Map.Entry<Resource, String>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Resource, String> entry = it.next();
+                try {
+                    service.deploy(entry.getValue());
+                    it.remove();
+                } catch (IllegalArgumentException e) {
+                    failed.put(entry.getKey(), e);
+                }
+            }
+        } while (!pending.isEmpty() && pending.size() < before);
+
+        if (!failed.isEmpty()) {
+            Map.Entry<Resource, IllegalArgumentException> first = failed.entrySet().iterator().next();
+            throw new IllegalStateException("Cannot deploy " + first.getKey().getDescription() + ": "
+                    + first.getValue().getMessage(), first.getValue());
+        }
+        return service;
+    }
+}
@@ -0,0 +1,93 @@
+package com.flownode.config;
+
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.execution.engine.executor.ExecutionMode;
+import com.flownode.core.execution.journal.WriteBehindStateJournal;
+import com.flownode.core.execution.memo.NodeResultCache;
+import com.flownode.core.workflow.Workflow;
+import com.flownode.metrics.MicrometerEngineMetrics;
+import com.flownode.persistence.InstanceRecovery;
+import com.flownode.persistence.JdbcJournalSink;
+import com.flownode.persistence.JdbcSnapshotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.Map;
+
+// One long-lived engine per application, shut down with the context
+@Configuration
+public class EngineConfiguration {
+
+    // Closed after the engine (the engine depends on it) → the last transitions are flushed
+    @Bean(destroyMethod = "close")
+    public WriteBehindStateJournal stateJournal(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            JsonMapper jsonMapper,
+            @Value("${flownode.journal.capacity:65536}") int capacity,
+            @Value("${flownode.journal.batch-size:1000}") int batchSize) {
+        return new WriteBehindStateJournal(new JdbcJournalSink(jdbcTemplate, transactionManager, jsonMapper), capacity, batchSize);
+    }
+
+    // Every Workflow bean is registered → its runs can be started and recovered by id
+    @Bean(destroyMethod = "shutdown")
+    public ConcurrentWorkflowExecutor workflowEngine(
+            @Value("${flownode.engine.mode:PLATFORM_POOL}") ExecutionMode mode,
+            @Value("${flownode.engine.threads:8}") int threads,
+            @Value("${flownode.scheduling.critical-path:true}") boolean criticalPath,
+            @Value("${flownode.memo.max-entries:10000}") int memoEntries,
+            @Value("${flownode.memo.ttl:10m}") Duration memoTtl,
+            WriteBehindStateJournal stateJournal,
+            ObjectProvider<Workflow> workflows,
+            Environment environment) {
+        ConcurrentWorkflowExecutor engine = new ConcurrentWorkflowExecutor(mode, threads);
+        engine.setJournal(stateJournal);
+        engine.setCriticalPathOrdering(criticalPath);
+
+        // 0 → memoizable nodes run every time
+        if (memoEntries > 0) {
+            engine.setResultCache(new NodeResultCache(memoEntries, memoTtl));
+        }
+
+        // flownode.scheduling.tenant-weights.<tenant>: <weight>
+        Binder.get(environment)
+                .bind("flownode.scheduling.tenant-weights", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Map.of())
+                .forEach(engine::setTenantWeight);
+
+        workflows.orderedStream().forEach(engine::registerWorkflow);
+        return engine;
+    }
+
+    @Bean
+    public JdbcSnapshotRepository snapshotRepository(JdbcTemplate jdbcTemplate, JsonMapper jsonMapper) {
+        return new JdbcSnapshotRepository(jdbcTemplate, jsonMapper);
+    }
+
+    // Definitions first → recovered runs find their workflow
+    @Bean
+    @DependsOn("workflowDefinitionService")
+    @ConditionalOnProperty(name = "flownode.recovery.enabled", havingValue = "true", matchIfMissing = true)
+    public InstanceRecovery instanceRecovery(JdbcSnapshotRepository snapshotRepository, ConcurrentWorkflowExecutor workflowEngine) {
+        return new InstanceRecovery(snapshotRepository, workflowEngine);
+    }
+
+    @Bean
+    public MicrometerEngineMetrics engineMetrics(MeterRegistry registry, ConcurrentWorkflowExecutor workflowEngine) {
+        MicrometerEngineMetrics metrics = new MicrometerEngineMetrics(registry, workflowEngine);
+        workflowEngine.setMetrics(metrics);
+        return metrics;
+    }
+}
@@ -1,6 +1,9 @@
 package com.flownode.core;
 
 import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.execution.engine.executor.ExecutionMode;
+import com.flownode.core.execution.engine.instance.WorkflowInstance;
+import com.flownode.core.execution.event.ConsoleExecutionListener;
 import com.flownode.core.execution.node.impl.condition.AmountGreaterThanConditionNode;
 import com.flownode.core.execution.node.impl.condition.BooleanConditionNode;
 import com.flownode.core.execution.node.impl.lifecycle.EndNode;
@@ -260,36 +263,48 @@ public class Main {
         System.out.println("Parents of P   : " + workflow.getParents("P"));
         System.out.println();
 
+        // ── One engine, shared by every run below ──
+        // Pass "virtual" as first argument to run every node on its own virtual thread
+        ExecutionMode mode = args.length > 0 && "virtual".equalsIgnoreCase(args[0])
+                ? ExecutionMode.VIRTUAL_THREADS
+                : ExecutionMode.PLATFORM_POOL;
+
+        ConcurrentWorkflowExecutor executor = new ConcurrentWorkflowExecutor(mode, 8);
+        executor.addListener(new ConsoleExecutionListener());
+
         // ── Test Case 1: amount=6000, isUS=true, risk=0.9, finalApproved=true ──
         // Path: forkBC→B,C→E→forkFGH→F,G,H→J(TRUE)→K→O→P(TRUE)→Q→end
         // Expected executed  → [start,A,forkBC,B,C,E,forkFGH,F,G,H,J,K,O,P,Q,end]
         // Expected skipped   → [D,I,forkLM,L,M,N,R]
         System.out.println("========== TEST CASE 1: amount=6000, isUS=true, risk=0.9, finalApproved=true ==========");
-        runWorkflow(workflow, 6000, true, 0.9, true);
+        runWorkflow(executor, workflow, 6000, true, 0.9, true);
 
         // ── Test Case 2: amount=6000, isUS=true, risk=0.5, finalApproved=false ──
         // Path: forkBC→B,C→E→forkFGH→F,G,H→J(FALSE)→forkLM→L,M→N→O→P(FALSE)→R→end
         // Expected executed  → [start,A,forkBC,B,C,E,forkFGH,F,G,H,J,forkLM,L,M,N,O,P,R,end]
         // Expected skipped   → [D,I,K,Q]
         System.out.println("\n========== TEST CASE 2: amount=6000, isUS=true, risk=0.5, finalApproved=false ==========");
-        runWorkflow(workflow, 6000, true, 0.5, false);
+        runWorkflow(executor, workflow, 6000, true, 0.5, false);
 
         // ── Test Case 3: amount=6000, isUS=false, risk=0.5, finalApproved=true ──
         // Path: forkBC→B,C→E(FALSE)→I→P(TRUE)→Q→end
         // Expected executed  → [start,A,forkBC,B,C,E,I,P,Q,end]
         // Expected skipped   → [D,forkFGH,F,G,H,J,K,forkLM,L,M,N,R]
         System.out.println("\n========== TEST CASE 3: amount=6000, isUS=false, risk=0.5, finalApproved=true ==========");
-        runWorkflow(workflow, 6000, false, 0.5, true);
+        runWorkflow(executor, workflow, 6000, false, 0.5, true);
 
         // ── Test Case 4: amount=3000, isUS=true, risk=0.9, finalApproved=true ──
         // Path: A(FALSE)→D→end
         // Expected executed  → [start,A,D,end]
         // Expected skipped   → [forkBC,B,C,E,forkFGH,F,G,H,I,J,K,forkLM,L,M,N,O,P,Q,R]
         System.out.println("\n========== TEST CASE 4: amount=3000 (FALSE branch only) ==========");
-        runWorkflow(workflow, 3000, true, 0.9, true);
+        runWorkflow(executor, workflow, 3000, true, 0.9, true);
+
+        executor.shutdown();
     }
 
     private static void runWorkflow(
+            ConcurrentWorkflowExecutor executor,
             Workflow workflow,
             int amount,
             boolean isUS,
@@ -302,18 +317,18 @@ public class Main {
         inputs.put("risk", risk);
         inputs.put("finalApproved", finalApproved);
 
-        ConcurrentWorkflowExecutor executor = new ConcurrentWorkflowExecutor(8);
-        executor.startWorkflow(workflow, inputs);
+        WorkflowInstance instance = executor.startWorkflow(workflow, inputs);
 
         try {
-            executor.awaitCompletion();
+            instance.awaitCompletion();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
 
         System.out.println("\n===== EXECUTION SUMMARY =====");
-        System.out.println("Executed Nodes → " + executor.getExecutedNodes());
-        System.out.println("Skipped Nodes  → " + executor.getSkippedNodes());
+        System.out.println("Run Id         → " + instance.getRunId() + " (" + instance.getState() + ")");
+        System.out.println("Executed Nodes → " + instance.getExecutedNodes());
+        System.out.println("Skipped Nodes  → " + instance.getSkippedNodes());
     }
 
     private static void sleep(long ms) {
@@ -1,19 +1,65 @@
 package com.flownode.core.execution.context;
 
 import com.flownode.core.state.NodeState;
+import com.flownode.core.workflow.CompiledWorkflow;
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * Per-instance data and node states, safe to share between every node task of a run.
+ *
+ * Data lives in a {@link ConcurrentHashMap} (lock-free reads, per-bin writes), so parallel
+ * branches never serialize on one lock. Node states are a lock-free array slot per node
+ * ordinal of the compiled graph; the string-keyed accessors only translate ids at the edges.
+ */
 public class WorkflowExecutionContext {
 
-    private final Map<String, Object> data = new HashMap<>();
+    // No graph → no node states; shared, since a zero-length array has nothing to write
+    private static final AtomicReferenceArray<NodeState> NO_NODE_STATES = new AtomicReferenceArray<>(0);
 
-    private final Map<String, NodeState> nodeStates = new HashMap<>();  // Map<nodeId, NodeState>
+    private final Map<String, Object> data;
 
+    private final CompiledWorkflow graph;
+
+    private final AtomicReferenceArray<NodeState> nodeStates;  // indexed by node ordinal
+
+    // Standalone context (no graph) → data only, every node reads as PENDING
+    public WorkflowExecutionContext() {
+        this(null);
+    }
+
+    public WorkflowExecutionContext(CompiledWorkflow graph) {
+        this(graph, new ConcurrentHashMap<>());
+    }
+
+    private WorkflowExecutionContext(CompiledWorkflow graph, Map<String, Object> data) {
+        this.graph = graph;
+        this.data = data;
+        this.nodeStates = graph == null ? NO_NODE_STATES : new AtomicReferenceArray<>(graph.size());
+    }
+
+    /**
+     * Standalone context used by one thread at a time (e.g. a batch record): data in a plain
+     * HashMap sized for expectedKeys, no node states. Cheaper to build and to keep than the
+     * concurrent default, but must not be shared between parallel branches.
+     */
+    public static WorkflowExecutionContext confined(int expectedKeys) {
+        return new WorkflowExecutionContext(null, HashMap.newHashMap(expectedKeys));
+    }
+
+
+    // ---------------- DATA ----------------
+
+    // A null value removes the key (ConcurrentHashMap holds no null values)
     public void put(String key, Object value){
+        if (value == null) {
+            data.remove(key);
+            return;
+        }
         data.put(key, value);
     }
 
@@ -29,12 +75,39 @@ public class WorkflowExecutionContext {
         return Collections.unmodifiableMap(data);
     }
 
+
+    // ---------------- NODE STATES ----------------
+
+    public void setNodeState(int nodeOrdinal, NodeState state) {
+        nodeStates.set(nodeOrdinal, state);
+    }
+
+    // Atomic transition, e.g. WAITING → RUNNING so a suspended node resumes only once
+    public boolean compareAndSetNodeState(int nodeOrdinal, NodeState expected, NodeState state) {
+        return nodeStates.compareAndSet(nodeOrdinal, expected, state);
+    }
+
+    public NodeState getNodeState(int nodeOrdinal) {
+        NodeState state = nodeStates.get(nodeOrdinal);
+        return state == null ? NodeState.PENDING : state;
+    }
+
     public void setNodeState(String nodeId, NodeState state) {
-        nodeStates.put(nodeId, state);
+        int ordinal = ordinalOf(nodeId);
+
+        if (ordinal == CompiledWorkflow.NONE) {
+            throw new IllegalArgumentException("Unknown node: " + nodeId);
+        }
+        nodeStates.set(ordinal, state);
     }
 
     public NodeState getNodeState(String nodeId) {
-        return nodeStates.getOrDefault(nodeId, NodeState.PENDING);
+        int ordinal = ordinalOf(nodeId);
+        return ordinal == CompiledWorkflow.NONE ? NodeState.PENDING : getNodeState(ordinal);
+    }
+
+    private int ordinalOf(String nodeId) {
+        return graph == null ? CompiledWorkflow.NONE : graph.ordinalOf(nodeId);
     }
 
 }
@@ -1,165 +1,229 @@
 package com.flownode.core.execution.engine;
 
 import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.event.ExecutionEventBus;
+import com.flownode.core.execution.event.ExecutionEventType;
+import com.flownode.core.execution.memo.NodeResultCache;
 import com.flownode.core.execution.node.Node;
 import com.flownode.core.execution.node.impl.condition.ConditionNode;
-import com.flownode.core.execution.readiness.DefaultJoinReadinessEvaluator;
-import com.flownode.core.execution.readiness.JoinReadinessEvaluator;
+import com.flownode.core.execution.readiness.ReadinessDecision;
+import com.flownode.core.execution.readiness.ReadinessTracker;
+import com.flownode.core.execution.resolution.ResolutionState;
 import com.flownode.core.state.NodeState;
 import com.flownode.core.state.WorkflowState;
+import com.flownode.core.util.IntStack;
+import com.flownode.core.workflow.CompiledWorkflow;
 import com.flownode.core.workflow.Workflow;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.UUID;
 
+/**
+ * Single-threaded engine: a worklist interpreter over the compiled graph.
+ *
+ * Nodes that became ready sit on an explicit stack instead of the call stack, so graph
+ * depth costs heap, not frames (a 1M-node chain runs fine). Join decisions come from the
+ * same {@link ReadinessTracker} as the concurrent engine, so both fire and skip the same nodes.
+ */
 public class WorkflowExecutor {
 
-    private final Set<String> executedNodes = new HashSet<>();
-    private final Set<String> skippedNodes = new HashSet<>();
+    // Optional → null publishes nothing
+    private ExecutionEventBus events;
 
-    // STEP 6 → Join readiness evaluator
-    private final JoinReadinessEvaluator readinessEvaluator = new DefaultJoinReadinessEvaluator();
+    // Optional → null runs every node
+    private NodeResultCache resultCache;
 
-    public void execute(Workflow workflow) throws Exception {
+    public void setEventBus(ExecutionEventBus events) {
+        this.events = events;
+    }
+
+    public void setResultCache(NodeResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    // Returns the finished run's context
+    public WorkflowExecutionContext execute(Workflow workflow) throws Exception {
 
         if (workflow == null) {
             throw new IllegalArgumentException("Workflow cannot be null");
         }
 
-        workflow.setWorkflowState(WorkflowState.RUNNING);
-
-        WorkflowExecutionContext context = new WorkflowExecutionContext();
-
         if (workflow.getStartNodeId() == null) {
             throw new RuntimeException("Start node not defined");
         }
 
-        traverseAndExecute(workflow, workflow.getStartNodeId(), context);
+        CompiledWorkflow graph = workflow.compile();
+
+        workflow.setWorkflowState(WorkflowState.RUNNING);
+
+        Run run = new Run(graph, new WorkflowExecutionContext(graph), events, resultCache, UUID.randomUUID().toString());
+
+        try {
+            run.execute();
+        } catch (Exception e) {
+            workflow.setWorkflowState(WorkflowState.FAILED);
+            throw e;
+        }
 
         workflow.setWorkflowState(WorkflowState.COMPLETED);
+
+        return run.context;
     }
 
     // ----------------------------------------------------
 
-    private void traverseAndExecute(Workflow workflow,
-                                    String currentNodeId,
-                                    WorkflowExecutionContext context) throws Exception {
-
-        // Prevent duplicate execution
-        if (executedNodes.contains(currentNodeId) || skippedNodes.contains(currentNodeId)) {
-            return;
+    // Per-execute state → the executor itself stays reusable
+    private static final class Run {
+
+        private final CompiledWorkflow graph;
+        private final WorkflowExecutionContext context;
+        private final ReadinessTracker readiness;
+        private final ExecutionEventBus events;
+        private final NodeResultCache resultCache;
+        private final String runId;
+
+        // Claimed nodes waiting to run
+        private final IntStack ready = new IntStack();
+
+        private Run(CompiledWorkflow graph, WorkflowExecutionContext context, ExecutionEventBus events,
+                    NodeResultCache resultCache, String runId) {
+            this.graph = graph;
+            this.context = context;
+            this.readiness = new ReadinessTracker(graph);
+            this.events = events;
+            this.resultCache = resultCache;
+            this.runId = runId;
         }
 
-        // STEP 6 → Join readiness check
-        if (!readinessEvaluator.isNodeReady(currentNodeId, workflow, context)) {
-            return; // Wait until parents resolve
-        }
+        private void execute() {
 
-        // Fetch node
-        Node currentNode = workflow
-                .getNode(currentNodeId)
-                .orElseThrow(() -> new RuntimeException("Node not found: " + currentNodeId));
+            readiness.tryClaim(graph.getStartOrdinal());
+            ready.push(graph.getStartOrdinal());
 
-        // Mark READY
-        context.setNodeState(currentNodeId, NodeState.READY);
+            while (!ready.isEmpty()) {
 
-        // Mark RUNNING
-        context.setNodeState(currentNodeId, NodeState.RUNNING);
+                int currentNode = ready.pop();
 
-        // Execute
-        currentNode.execute(context);
+                runNode(currentNode);
+                route(currentNode);
+            }
 
-        // Mark COMPLETED
-        context.setNodeState(currentNodeId, NodeState.COMPLETED);
+            emit(ExecutionEventType.WORKFLOW_COMPLETED, CompiledWorkflow.NONE, null);
+        }
 
-        executedNodes.add(currentNodeId);
+        private void emit(ExecutionEventType type, int node, String detail) {
+            if (events != null) {
+                events.publish(type, runId, graph.getWorkflowId(),
+                        node == CompiledWorkflow.NONE ? null : graph.nodeIdAt(node), detail);
+            }
+        }
 
+        private void runNode(int currentNode) {
 
-        // ---------------------CONDITION ROUTING--------------------
+            Node node = graph.nodeAt(currentNode);
 
-        if (currentNode instanceof ConditionNode) {
+            // Mark READY
+            context.setNodeState(currentNode, NodeState.READY);
 
-            String decision = (String) context.get(currentNodeId + "_condition");
+            // Mark RUNNING
+            context.setNodeState(currentNode, NodeState.RUNNING);
+            emit(ExecutionEventType.NODE_STARTED, currentNode, null);
 
-            String trueNode = workflow.getTrueNodeId(currentNodeId);
+            try {
+                if (resultCache == null) {
+                    node.execute(context);
+                } else {
+                    resultCache.execute(node, context);
+                }
+            } catch (RuntimeException e) {
+                context.setNodeState(currentNode, NodeState.FAILED);
+                emit(ExecutionEventType.NODE_FAILED, currentNode, e.getMessage());
+                emit(ExecutionEventType.WORKFLOW_FAILED, currentNode, null);
+                throw e;
+            }
 
-            String falseNode = workflow.getFalseNodeId(currentNodeId);
+            // Mark COMPLETED
+            context.setNodeState(currentNode, NodeState.COMPLETED);
+            emit(ExecutionEventType.NODE_COMPLETED, currentNode, node instanceof ConditionNode conditionNode
+                    ? (String) context.get(conditionNode.getConditionKey())
+                    : null);
+        }
 
-            if ("TRUE".equals(decision)) {
 
-                if (trueNode != null) {
-                    traverseAndExecute(workflow, trueNode, context);
-                }
+        // ---------------------CONDITION ROUTING--------------------
 
-                if (falseNode != null) {
-                    propagateSkip(workflow, falseNode, context);
-                }
+        private void route(int currentNode) {
 
-            } else {
+            if (graph.isConditionNode(currentNode)) {
 
-                if (falseNode != null) {
-                    traverseAndExecute(workflow, falseNode, context);
-                }
+                String decision = (String) context.get(((ConditionNode) graph.nodeAt(currentNode)).getConditionKey());
+                boolean taken = "TRUE".equals(decision);
 
-                if (trueNode != null) {
-                    propagateSkip(workflow, trueNode, context);
-                }
+                // Skip the other branch first → the taken branch ends up on top of the worklist
+                resolveEdge(taken ? graph.getFalseTarget(currentNode) : graph.getTrueTarget(currentNode),
+                        ResolutionState.SKIPPED);
+                resolveEdge(taken ? graph.getTrueTarget(currentNode) : graph.getFalseTarget(currentNode),
+                        ResolutionState.COMPLETED);
             }
 
-            return;
+
+            // -----------------------NORMAL TRAVERSAL-------------------------
+
+            // Reverse order → children run in declaration order
+            for (int i = graph.childrenEnd(currentNode) - 1, start = graph.childrenStart(currentNode); i >= start; i--) {
+                resolveEdge(graph.childAt(i), ResolutionState.COMPLETED);
+            }
         }
 
+        private void resolveEdge(int childNode, ResolutionState outcome) {
 
-        // -----------------------NORMAL TRAVERSAL-------------------------
+            if (childNode == CompiledWorkflow.NONE) return;
 
-        for (String nextNodeId : workflow.getNextNodesId(currentNodeId)) {
+            ReadinessDecision decision = readiness.onParentResolved(childNode, outcome);
 
-            traverseAndExecute(workflow, nextNodeId, context);
+            if (decision == ReadinessDecision.FIRE) {
+                ready.push(childNode);
+            } else if (decision == ReadinessDecision.SKIP) {
+                propagateSkip(childNode);
+            }
         }
-    }
 
-    // ----------------------------------------------------
+        // ----------------------------------------------------
 
-    private void propagateSkip(Workflow workflow, String nodeId, WorkflowExecutionContext context) {
+        private void propagateSkip(int node) {
 
-        if (skippedNodes.contains(nodeId)) {
-            return;
-        }
+            IntStack pending = new IntStack();
+            pending.push(node);
 
-        Node node = workflow.getNode(nodeId).orElse(null);
+            while (!pending.isEmpty()) {
 
-        if (node == null) {
-            return;
-        }
+                int skippedNode = pending.pop();
 
-        // Mark SKIPPED
-        context.setNodeState(nodeId, NodeState.SKIPPED);
-        skippedNodes.add(nodeId);
+                // Mark SKIPPED
+                context.setNodeState(skippedNode, NodeState.SKIPPED);
 
-        System.out.println("Node Skipped → " + nodeId);
+                emit(ExecutionEventType.NODE_SKIPPED, skippedNode, null);
 
-        // ---------- FIX: Join-aware propagation ----------
+                for (int i = graph.childrenStart(skippedNode), end = graph.childrenEnd(skippedNode); i < end; i++) {
+                    skipEdge(graph.childAt(i), pending);
+                }
 
-        for (String next : workflow.getNextNodesId(nodeId)) {
+                skipEdge(graph.getTrueTarget(skippedNode), pending);
+                skipEdge(graph.getFalseTarget(skippedNode), pending);
+            }
+        }
 
-            int parentCount = workflow.getParents(next).size();
+        // Joins decide for themselves → a skipped parent only counts towards their policy
+        private void skipEdge(int childNode, IntStack pending) {
 
-            if (parentCount > 1) {
+            if (childNode == CompiledWorkflow.NONE) return;
 
-                // This is a join node → do NOT auto-skip
-                System.out.println("Join detected — skip propagation halted at → " + next);
+            ReadinessDecision decision = readiness.onParentResolved(childNode, ResolutionState.SKIPPED);
 
-                // NEW: Re-evaluate readiness
-                try {
-                    traverseAndExecute(workflow, next, context);
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-                continue;
+            if (decision == ReadinessDecision.FIRE) {
+                ready.push(childNode);
+            } else if (decision == ReadinessDecision.SKIP) {
+                pending.push(childNode);
             }
-
-            // Safe to propagate skip
-            propagateSkip(workflow, next, context);
         }
     }
 
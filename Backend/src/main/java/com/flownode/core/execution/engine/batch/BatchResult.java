@@ -0,0 +1,73 @@
+package com.flownode.core.execution.engine.batch;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.state.NodeState;
+import com.flownode.core.state.WorkflowState;
+import com.flownode.core.workflow.CompiledWorkflow;
+
+/**
+ * Outcome of a batch, indexed like the input list. Records that took the same path share
+ * one node-state array, so node states cost nothing per record.
+ */
+public final class BatchResult {
+
+    private final CompiledWorkflow graph;
+    private final WorkflowExecutionContext[] contexts;
+    private final NodeState[][] nodeStates;
+    private final RuntimeException[] failures;
+
+    BatchResult(CompiledWorkflow graph, WorkflowExecutionContext[] contexts) {
+        this.graph = graph;
+        this.contexts = contexts;
+        this.nodeStates = new NodeState[contexts.length][];
+        this.failures = new RuntimeException[contexts.length];
+    }
+
+    void complete(int record, NodeState[] states) {
+        nodeStates[record] = states;
+    }
+
+    void fail(int record, NodeState[] states, RuntimeException failure) {
+        nodeStates[record] = states;
+        failures[record] = failure;
+    }
+
+
+    // ---------------- RESULTS ----------------
+
+    public int size() {
+        return contexts.length;
+    }
+
+    public WorkflowState getState(int record) {
+        return failures[record] == null ? WorkflowState.COMPLETED : WorkflowState.FAILED;
+    }
+
+    public WorkflowExecutionContext getContext(int record) {
+        return contexts[record];
+    }
+
+    // Null unless the record failed
+    public RuntimeException getFailure(int record) {
+        return failures[record];
+    }
+
+    public NodeState getNodeState(int record, String nodeId) {
+        int ordinal = graph.ordinalOf(nodeId);
+
+        if (ordinal == CompiledWorkflow.NONE) {
+            throw new IllegalArgumentException("Unknown node: " + nodeId);
+        }
+
+        NodeState state = nodeStates[record][ordinal];
+        return state == null ? NodeState.PENDING : state;
+    }
+
+    public int getFailedCount() {
+        int failed = 0;
+        for (RuntimeException failure : failures) {
+            if (failure != null) failed++;
+        }
+        return failed;
+    }
+}
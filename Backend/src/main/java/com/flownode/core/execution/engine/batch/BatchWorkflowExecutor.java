@@ -0,0 +1,336 @@
+package com.flownode.core.execution.engine.batch;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.node.AsyncNode;
+import com.flownode.core.execution.node.Node;
+import com.flownode.core.execution.node.OutputDeclaringNode;
+import com.flownode.core.execution.node.impl.condition.ConditionNode;
+import com.flownode.core.execution.node.impl.lifecycle.DelayNode;
+import com.flownode.core.execution.readiness.ReadinessDecision;
+import com.flownode.core.execution.readiness.ReadinessTracker;
+import com.flownode.core.execution.resolution.ResolutionState;
+import com.flownode.core.state.NodeState;
+import com.flownode.core.util.IntStack;
+import com.flownode.core.workflow.CompiledWorkflow;
+import com.flownode.core.workflow.Workflow;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Runs one workflow over many input records, walking the graph once per distinct path
+ * instead of once per record.
+ *
+ * Records travel in cohorts. A cohort shares a single readiness tracker, worklist and
+ * node-state array; each node is dispatched once per cohort and applied to its records in
+ * a tight loop. A condition node splits the cohort by decision, and the two halves continue
+ * independently — so 100k records over a graph with k distinct paths cost k graph walks.
+ *
+ * Semantics follow the sequential {@code WorkflowExecutor}: a record whose node throws is
+ * FAILED and leaves its cohort, the other records carry on. Async nodes are started for the
+ * whole cohort before any is awaited, and a DelayNode waits once per cohort, with its hooks
+ * run for every record. A record's data lives in a confined (non-concurrent) context.
+ * Runs on the calling thread; split large batches to use more cores.
+ */
+public class BatchWorkflowExecutor {
+
+    public BatchResult execute(Workflow workflow, List<? extends Map<String, Object>> inputs) {
+
+        if (workflow == null) {
+            throw new IllegalArgumentException("Workflow cannot be null");
+        }
+
+        CompiledWorkflow graph = workflow.compile();
+
+        // Data only → node states live in the cohort, not in every record's context
+        WorkflowExecutionContext[] contexts = new WorkflowExecutionContext[inputs.size()];
+        int[] records = new int[inputs.size()];
+
+        // Room for the inputs plus every declared output → most records' maps never resize
+        int outputs = declaredOutputCount(graph);
+
+        for (int r = 0; r < contexts.length; r++) {
+            Map<String, Object> input = inputs.get(r);
+            contexts[r] = WorkflowExecutionContext.confined((input == null ? 0 : input.size()) + outputs);
+            if (input != null) {
+                input.forEach(contexts[r]::put);
+            }
+            records[r] = r;
+        }
+
+        BatchResult result = new BatchResult(graph, contexts);
+        if (records.length == 0) return result;
+
+        Deque<Cohort> cohorts = new ArrayDeque<>();
+        cohorts.push(Cohort.start(graph, records));
+
+        while (!cohorts.isEmpty()) {
+            cohorts.pop().run(contexts, result, cohorts);
+        }
+
+        return result;
+    }
+
+    private static int declaredOutputCount(CompiledWorkflow graph) {
+        int outputs = 0;
+        for (int n = 0; n < graph.size(); n++) {
+            if (graph.nodeAt(n) instanceof OutputDeclaringNode declaring) {
+                outputs += declaring.getOutputKeys().size();
+            }
+        }
+        return outputs;
+    }
+
+    // ----------------------------------------------------
+
+    // Records that have made the same decisions so far → identical node states
+    private static final class Cohort {
+
+        private final CompiledWorkflow graph;
+        private final ReadinessTracker readiness;
+        private final IntStack ready;
+        private final NodeState[] states;
+
+        private int[] records;
+        private int count;
+
+        private Cohort(CompiledWorkflow graph, ReadinessTracker readiness, IntStack ready, NodeState[] states, int[] records, int count) {
+            this.graph = graph;
+            this.readiness = readiness;
+            this.ready = ready;
+            this.states = states;
+            this.records = records;
+            this.count = count;
+        }
+
+        static Cohort start(CompiledWorkflow graph, int[] records) {
+            Cohort cohort = new Cohort(graph, new ReadinessTracker(graph), new IntStack(), new NodeState[graph.size()],
+                    records, records.length);
+
+            cohort.readiness.tryClaim(graph.getStartOrdinal());
+            cohort.ready.push(graph.getStartOrdinal());
+            return cohort;
+        }
+
+        // Same position in the graph, different records
+        private Cohort fork(int[] forkRecords, int forkCount) {
+            return new Cohort(graph, readiness.copy(), ready.copy(), states.clone(), forkRecords, forkCount);
+        }
+
+        void run(WorkflowExecutionContext[] contexts, BatchResult result, Deque<Cohort> cohorts) {
+
+            while (!ready.isEmpty()) {
+
+                int node = ready.pop();
+
+                runNode(node, contexts, result);
+                if (count == 0) return;   // every record failed
+
+                states[node] = NodeState.COMPLETED;
+
+                if (graph.isConditionNode(node)) {
+                    splitAndRoute(node, contexts, cohorts);
+                } else {
+                    routeChildren(node);
+                }
+            }
+
+            for (int i = 0; i < count; i++) {
+                result.complete(records[i], states);
+            }
+        }
+
+
+        // ---------------- DISPATCH ----------------
+
+        private void runNode(int node, WorkflowExecutionContext[] contexts, BatchResult result) {
+
+            Node target = graph.nodeAt(node);
+            states[node] = NodeState.RUNNING;
+
+            if (target instanceof DelayNode delay) {
+                runDelay(node, delay, contexts, result);
+                return;
+            }
+
+            if (target instanceof AsyncNode async) {
+                runAsync(node, async, contexts, result);
+                return;
+            }
+
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                int record = records[i];
+                try {
+                    target.execute(contexts[record]);
+                    records[kept++] = record;
+                } catch (RuntimeException e) {
+                    fail(node, record, e, result);
+                }
+            }
+            count = kept;
+        }
+
+        // Every record's stage is started before the first is awaited → their waits overlap
+        private void runAsync(int node, AsyncNode target, WorkflowExecutionContext[] contexts, BatchResult result) {
+
+            CompletableFuture<?>[] stages = new CompletableFuture<?>[count];
+            for (int i = 0; i < count; i++) {
+                stages[i] = target.executeAsync(contexts[records[i]]).toCompletableFuture();
+            }
+
+            awaitAll(node, stages, result);
+        }
+
+        // One wait for the whole cohort; every record still gets the node's lifecycle hooks around it
+        private void runDelay(int node, DelayNode delay, WorkflowExecutionContext[] contexts, BatchResult result) {
+
+            CompletableFuture<Void> elapsed = new CompletableFuture<>();
+
+            CompletableFuture<?>[] stages = new CompletableFuture<?>[count];
+            for (int i = 0; i < count; i++) {
+                stages[i] = delay.executeWith(contexts[records[i]], context -> elapsed).toCompletableFuture();
+            }
+
+            sleep(delay.getDelayMillis());
+            elapsed.complete(null);
+
+            awaitAll(node, stages, result);
+        }
+
+        private void awaitAll(int node, CompletableFuture<?>[] stages, BatchResult result) {
+
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                try {
+                    stages[i].join();
+                    records[kept++] = records[i];
+                } catch (CompletionException e) {
+                    fail(node, records[i], e.getCause() instanceof RuntimeException cause ? cause : e, result);
+                }
+            }
+            count = kept;
+        }
+
+        private void fail(int node, int record, RuntimeException failure, BatchResult result) {
+            NodeState[] snapshot = states.clone();
+            snapshot[node] = NodeState.FAILED;
+            result.fail(record, snapshot, failure);
+        }
+
+
+        // ---------------- ROUTING ----------------
+
+        // TRUE records stay in this cohort, FALSE records move to a fork (when both exist)
+        private void splitAndRoute(int node, WorkflowExecutionContext[] contexts, Deque<Cohort> cohorts) {
+
+            String conditionKey = ((ConditionNode) graph.nodeAt(node)).getConditionKey();
+
+            int[] falseRecords = null;
+            int falseCount = 0;
+            int trueCount = 0;
+
+            for (int i = 0; i < count; i++) {
+                int record = records[i];
+
+                if ("TRUE".equals(contexts[record].get(conditionKey))) {
+                    records[trueCount++] = record;
+                } else {
+                    if (falseRecords == null) falseRecords = new int[count - i];
+                    falseRecords[falseCount++] = record;
+                }
+            }
+
+            if (falseCount == 0) {
+                routeCondition(node, true);
+                return;
+            }
+
+            if (trueCount == 0) {
+                records = falseRecords;
+                count = falseCount;
+                routeCondition(node, false);
+                return;
+            }
+
+            Cohort falseCohort = fork(Arrays.copyOf(falseRecords, falseCount), falseCount);
+            count = trueCount;
+
+            routeCondition(node, true);
+            falseCohort.routeCondition(node, false);
+            cohorts.push(falseCohort);
+        }
+
+        private void routeCondition(int node, boolean taken) {
+
+            // Skip the other branch first → the taken branch ends up on top of the worklist
+            resolveEdge(taken ? graph.getFalseTarget(node) : graph.getTrueTarget(node), ResolutionState.SKIPPED);
+            resolveEdge(taken ? graph.getTrueTarget(node) : graph.getFalseTarget(node), ResolutionState.COMPLETED);
+
+            routeChildren(node);
+        }
+
+        private void routeChildren(int node) {
+            for (int i = graph.childrenEnd(node) - 1, start = graph.childrenStart(node); i >= start; i--) {
+                resolveEdge(graph.childAt(i), ResolutionState.COMPLETED);
+            }
+        }
+
+        private void resolveEdge(int child, ResolutionState outcome) {
+
+            if (child == CompiledWorkflow.NONE) return;
+
+            ReadinessDecision decision = readiness.onParentResolved(child, outcome);
+
+            if (decision == ReadinessDecision.FIRE) {
+                ready.push(child);
+            } else if (decision == ReadinessDecision.SKIP) {
+                propagateSkip(child);
+            }
+        }
+
+        private void propagateSkip(int node) {
+
+            IntStack pending = new IntStack();
+            pending.push(node);
+
+            while (!pending.isEmpty()) {
+
+                int skipped = pending.pop();
+                states[skipped] = NodeState.SKIPPED;
+
+                for (int i = graph.childrenStart(skipped), end = graph.childrenEnd(skipped); i < end; i++) {
+                    skipEdge(graph.childAt(i), pending);
+                }
+                skipEdge(graph.getTrueTarget(skipped), pending);
+                skipEdge(graph.getFalseTarget(skipped), pending);
+            }
+        }
+
+        private void skipEdge(int child, IntStack pending) {
+
+            if (child == CompiledWorkflow.NONE) return;
+
+            ReadinessDecision decision = readiness.onParentResolved(child, ResolutionState.SKIPPED);
+
+            if (decision == ReadinessDecision.FIRE) {
+                ready.push(child);
+            } else if (decision == ReadinessDecision.SKIP) {
+                pending.push(child);
+            }
+        }
+
+        private static void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -1,12 +1,33 @@
 package com.flownode.core.execution.engine.executor;
 
 import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.engine.incremental.InvalidationPlan;
+import com.flownode.core.execution.engine.instance.WorkflowInstance;
+import com.flownode.core.execution.engine.scheduling.CriticalPathEstimator;
+import com.flownode.core.execution.engine.scheduling.FairTaskQueue;
+import com.flownode.core.execution.engine.scheduling.RunOptions;
+import com.flownode.core.execution.engine.store.InstanceSnapshot;
+import com.flownode.core.execution.engine.store.InstanceStore;
 import com.flownode.core.execution.engine.task.NodeExecutionTask;
+import com.flownode.core.execution.engine.timer.HashedWheelTimer;
+import com.flownode.core.execution.event.ExecutionEventBus;
+import com.flownode.core.execution.event.ExecutionEventType;
+import com.flownode.core.execution.event.ExecutionListener;
+import com.flownode.core.execution.journal.StateJournal;
+import com.flownode.core.execution.memo.NodeResultCache;
+import com.flownode.core.execution.metrics.EngineMetrics;
 import com.flownode.core.execution.node.Node;
+import com.flownode.core.execution.node.OutputDeclaringNode;
+import com.flownode.core.execution.node.SuspendingNode;
+import com.flownode.core.execution.node.impl.composite.SubWorkflowNode;
 import com.flownode.core.execution.node.impl.condition.ConditionNode;
-import com.flownode.core.execution.readiness.DefaultJoinReadinessEvaluator;
-import com.flownode.core.execution.resolution.ResolutionSnapshot;
+import com.flownode.core.execution.readiness.ReadinessDecision;
+import com.flownode.core.execution.readiness.ReadinessTracker;
+import com.flownode.core.execution.resolution.ResolutionState;
 import com.flownode.core.state.NodeState;
+import com.flownode.core.state.WorkflowState;
+import com.flownode.core.util.IntStack;
+import com.flownode.core.workflow.CompiledWorkflow;
 import com.flownode.core.workflow.Workflow;
 
 
@@ -14,44 +35,108 @@ import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Long-lived execution engine. Any number of {@link WorkflowInstance}s run
+ * concurrently over one shared thread pool; each instance keeps its own run id,
+ * context and node bookkeeping. The pool lives until {@link #shutdown()}.
+ *
+ * In {@link ExecutionMode#VIRTUAL_THREADS} every node task gets its own virtual thread,
+ * so nodes that block on I/O park cheaply instead of occupying a pool slot.
+ *
+ * A {@link SuspendingNode} parks its run as WAITING without holding any thread until
+ * {@link #resume} is called. With an {@link InstanceStore} configured, a run whose only
+ * remaining work is waiting nodes is snapshotted and dropped from memory, then rehydrated
+ * on resume. Note that a rehydrated run is a new {@link WorkflowInstance} object.
+ *
+ * Progress is reported as execution events on a lock-free ring, delivered to
+ * {@link ExecutionListener}s on a dispatcher thread; workers never touch the console.
+ *
+ * The pool's queue is a {@link FairTaskQueue}: ready nodes are handed out fairly across
+ * tenants (by weight) and across the runs of a tenant (by {@link RunOptions#priority()}),
+ * so one huge run cannot starve small ones. Within a run, ready nodes go by estimated
+ * remaining critical path ({@link CriticalPathEstimator}), so a long chain is not queued
+ * behind a crowd of short leaves. Virtual threads have no queue to order.
+ *
+ * A completed run can be {@link #rerun} with changed inputs, executing only the affected nodes.
+ * A {@link SubWorkflowNode} runs its child workflow as another run on this engine.
+ */
 public class ConcurrentWorkflowExecutor {
 
-    // Thread pool for parallel node execution
+    // Thread pool shared by every workflow instance of this engine
     private final ExecutorService executorService;
 
-    // Tracks currently running node tasks
+    // Ready nodes waiting for a pool thread → null with virtual threads
+    private final FairTaskQueue taskQueue;
+
+    private final ExecutionMode executionMode;
+
+    // Shared timer for DelayNodes → a pending delay holds a wheel entry, not a thread
+    private final HashedWheelTimer timer =
+            new HashedWheelTimer("flownode-timer", 10, TimeUnit.MILLISECONDS, 512);
+
+    // Node / workflow events → listeners run on the bus's dispatcher thread
+    private final ExecutionEventBus events = new ExecutionEventBus("flownode-events");
+
+    // Tracks currently running node tasks across all instances
     private final AtomicInteger activeTaskCount = new AtomicInteger(0);
 
-    // Tracks nodes already scheduled for execution
-    private final Set<String> scheduledNodes = ConcurrentHashMap.newKeySet();
+    // Live instances → Map<runId, WorkflowInstance>
+    private final Map<String, WorkflowInstance> instances = new ConcurrentHashMap<>();
+
+    // Every graph registered here → Map<id@version, CompiledWorkflow>; older versions stay for the runs still on them
+    private final Map<String, CompiledWorkflow> workflows = new ConcurrentHashMap<>();
+
+    // Graph new runs of a workflow start on → Map<workflowId, CompiledWorkflow>, the last one registered
+    private final Map<String, CompiledWorkflow> latest = new ConcurrentHashMap<>();
+
+    // Optional parking place for suspended runs → null keeps them in memory
+    private volatile InstanceStore instanceStore;
+
+    // Hot-path instrumentation → NOOP unless a metrics backend is plugged in
+    private volatile EngineMetrics metrics = EngineMetrics.NOOP;
 
-    private final CountDownLatch completionLatch = new CountDownLatch(1);
+    // Durable transition log → NOOP keeps runs in memory only
+    private volatile StateJournal journal = StateJournal.NOOP;
 
-    private final Set<String> executedNodes = ConcurrentHashMap.newKeySet();
-    private final Set<String> skippedNodes = ConcurrentHashMap.newKeySet();
-    private final WorkflowExecutionContext context;
+    // Outputs of memoizable nodes → null runs every node
+    private volatile NodeResultCache resultCache;
 
-    private Map<String, ResolutionSnapshot> snapshotStore
-            = new ConcurrentHashMap<>();
+    // Per registered graph → latency history and critical-path ranks for ready-node ordering; dropped with the graph
+    private final Map<CompiledWorkflow, CriticalPathEstimator> criticalPaths = new ConcurrentHashMap<>();
+    private volatile boolean criticalPathOrdering = true;
+
+    // Serializes store → memory rehydration so one run is never loaded twice
+    private final Object rehydrationLock = new Object();
+
+    // Unfinished child runs of SubWorkflowNodes → completed with the child, even if it was rehydrated
+    private final Map<String, CompletableFuture<WorkflowInstance>> childRuns = new ConcurrentHashMap<>();
 
 
     public ConcurrentWorkflowExecutor(int threadPoolSize) {
-        this.executorService = Executors.newFixedThreadPool(threadPoolSize);
-        this.context = new WorkflowExecutionContext();
+        this(ExecutionMode.PLATFORM_POOL, threadPoolSize);
     }
 
-    // Prevent duplicate scheduling
-    public boolean markNodeScheduled(String nodeId) {
-        return scheduledNodes.add(nodeId); // called when node is ready to execute, submitNodeForExecution is responsible to call this method
+    // threadPoolSize only applies to PLATFORM_POOL; virtual threads are created per task
+    public ConcurrentWorkflowExecutor(ExecutionMode executionMode, int threadPoolSize) {
+        this.executionMode = executionMode;
+        this.taskQueue = executionMode == ExecutionMode.PLATFORM_POOL ? new FairTaskQueue() : null;
+        this.executorService = switch (executionMode) {
+            case PLATFORM_POOL -> new ThreadPoolExecutor(threadPoolSize, threadPoolSize,
+                    0L, TimeUnit.MILLISECONDS, taskQueue);
+            case VIRTUAL_THREADS -> Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("flownode-node-", 0).factory());
+        };
     }
 
     // Active task tracking
-    public void incrementActiveTasks() {
+    public void incrementActiveTasks(WorkflowInstance instance) {
         activeTaskCount.incrementAndGet(); // Called when node execution starts.
+        instance.incrementActiveTasks();
     }
 
-    public void decrementActiveTasks() {
-        activeTaskCount.decrementAndGet();  // Called when node execution finishes.
+    public void decrementActiveTasks(WorkflowInstance instance) {
+        instance.decrementActiveTasks();  // Called when node execution finishes.
+        activeTaskCount.decrementAndGet();
     }
 
     public int getActiveTaskCount() {
@@ -63,204 +148,804 @@ public class ConcurrentWorkflowExecutor {
         return executorService;
     }
 
-    // Graceful shutdown
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    public HashedWheelTimer getTimer() {
+        return timer;
+    }
+
+    // Stage completed by the timer wheel after delayMillis, no thread held meanwhile
+    public CompletableFuture<Void> delay(long delayMillis) {
+        CompletableFuture<Void> elapsed = new CompletableFuture<>();
+        timer.newTimeout(() -> elapsed.complete(null), delayMillis, TimeUnit.MILLISECONDS);
+        return elapsed;
+    }
+
+    public void addListener(ExecutionListener listener) {
+        events.addListener(listener);
+    }
+
+    public void removeListener(ExecutionListener listener) {
+        events.removeListener(listener);
+    }
+
+    public ExecutionEventBus getEventBus() {
+        return events;
+    }
+
+    public void emit(ExecutionEventType type, WorkflowInstance instance, int nodeOrdinal, String detail) {
+        CompiledWorkflow graph = instance.getGraph();
+        events.publish(type, instance.getRunId(), graph.getWorkflowId(),
+                nodeOrdinal == CompiledWorkflow.NONE ? null : graph.nodeIdAt(nodeOrdinal), detail);
+    }
+
+    public void setMetrics(EngineMetrics metrics) {
+        this.metrics = metrics == null ? EngineMetrics.NOOP : metrics;
+    }
+
+    public EngineMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setJournal(StateJournal journal) {
+        this.journal = journal == null ? StateJournal.NOOP : journal;
+    }
+
+    public StateJournal getJournal() {
+        return journal;
+    }
+
+    public void setResultCache(NodeResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    public NodeResultCache getResultCache() {
+        return resultCache;
+    }
+
+    // Through the result cache when one is set → a memoizable node may not run at all
+    public void executeNode(Node node, WorkflowExecutionContext context) {
+        NodeResultCache cache = resultCache;
+
+        if (cache == null) {
+            node.execute(context);
+        } else {
+            cache.execute(node, context);
+        }
+    }
+
+    // Tasks waiting for a pool thread; virtual threads start immediately → 0
+    public int getQueuedTaskCount() {
+        return taskQueue == null ? 0 : taskQueue.size();
+    }
+
+    public int getQueuedTaskCount(String tenant) {
+        return taskQueue == null ? 0 : taskQueue.getQueuedTaskCount(tenant);
+    }
+
+    // Off → a run's ready nodes go in submission order
+    public void setCriticalPathOrdering(boolean enabled) {
+        this.criticalPathOrdering = enabled;
+    }
+
+    // Empty once the graph was replaced under its id@version
+    public Optional<CriticalPathEstimator> getCriticalPath(CompiledWorkflow graph) {
+        return Optional.ofNullable(criticalPaths.get(graph));
+    }
+
+    // Higher runs first among the ready nodes of one run; runs on a replaced graph go in submission order
+    public long rankOf(WorkflowInstance instance, int nodeOrdinal) {
+        CriticalPathEstimator criticalPath = criticalPathOrdering ? criticalPaths.get(instance.getGraph()) : null;
+        return criticalPath == null ? 0 : criticalPath.rankOf(nodeOrdinal);
+    }
+
+    public void recordNodeLatency(WorkflowInstance instance, int nodeOrdinal, long nanos) {
+        CriticalPathEstimator criticalPath = criticalPaths.get(instance.getGraph());
+        if (criticalPath != null) {
+            criticalPath.record(nodeOrdinal, nanos);
+        }
+    }
+
+    // Share of the pool against other tenants (default 1); no effect with virtual threads
+    public void setTenantWeight(String tenant, int weight) {
+        if (taskQueue != null) {
+            taskQueue.setTenantWeight(tenant, weight);
+        }
+    }
+
+    public void setInstanceStore(InstanceStore instanceStore) {
+        this.instanceStore = instanceStore;
+    }
+
+    public InstanceStore getInstanceStore() {
+        return instanceStore;
+    }
+
+    // Graceful shutdown — only when the engine itself is retired, never per run
     public void shutdown() {
+        timer.stop();
         executorService.shutdown();
+        events.stop();
     }
 
-    public void startWorkflow(Workflow workflow, Map<String, Object> inputs) {
 
-        // 2️⃣ Load inputs
-        if (inputs != null) {
-            inputs.forEach(context::put);
+    // ---------------- INSTANCES ----------------
+
+    // Makes the workflow known to this engine, e.g. before restoring its snapshots; new runs of its id start on it
+    public CompiledWorkflow registerWorkflow(Workflow workflow) {
+        CompiledWorkflow graph = workflow.compile();
+        criticalPaths.computeIfAbsent(graph, CriticalPathEstimator::new);
+
+        CompiledWorkflow replaced = workflows.put(graph.getWorkflowKey(), graph);
+        latest.put(graph.getWorkflowId(), graph);
+
+        // Same id@version, different graph → its estimator goes too, or every redeploy would leak one
+        if (replaced != null && replaced != graph) {
+            criticalPaths.remove(replaced);
         }
+        return graph;
+    }
 
-        // 3️⃣ Get start node
-        String startNodeId = workflow.getStartNodeId();
+    // The version new runs start on
+    public Optional<CompiledWorkflow> getWorkflow(String workflowId) {
+        return Optional.ofNullable(latest.get(workflowId));
+    }
 
-        if (startNodeId == null) {
-            throw new RuntimeException("Start node not configured");
+    // The exact version a run started on; no version recorded (unversioned, or an older journal) → by id alone
+    public Optional<CompiledWorkflow> getWorkflow(String workflowId, String version) {
+        CompiledWorkflow graph = workflows.get(CompiledWorkflow.keyOf(workflowId, version));
+
+        if (graph == null && version == null) {
+            graph = latest.get(workflowId);
         }
+        return Optional.ofNullable(graph);
+    }
+
+    public WorkflowInstance startWorkflow(Workflow workflow, Map<String, Object> inputs) {
+        return startWorkflow(workflow, inputs, RunOptions.DEFAULT);
+    }
+
+    public WorkflowInstance startWorkflow(Workflow workflow, Map<String, Object> inputs, RunOptions options) {
+
+        // 1️⃣ Freeze the topology (compiled once per workflow, then cached)
+        return start(registerWorkflow(workflow), inputs, options);
+    }
+
+    // Starts a run of an already registered workflow, e.g. one requested by id over HTTP
+    public WorkflowInstance startWorkflow(String workflowId, Map<String, Object> inputs) {
+        return startWorkflow(workflowId, inputs, RunOptions.DEFAULT);
+    }
+
+    public WorkflowInstance startWorkflow(String workflowId, Map<String, Object> inputs, RunOptions options) {
+
+        CompiledWorkflow graph = latest.get(workflowId);
+        if (graph == null) {
+            throw new IllegalArgumentException("Unknown workflow: " + workflowId);
+        }
+        return start(graph, inputs, options);
+    }
+
+    private WorkflowInstance start(CompiledWorkflow graph, Map<String, Object> inputs, RunOptions options) {
+
+        // 2️⃣ Create instance with its own context, keeping the inputs for a rerun
+        Map<String, Object> initial = detached(inputs);
+        WorkflowExecutionContext context = new WorkflowExecutionContext(graph);
+        WorkflowInstance instance = new WorkflowInstance(UUID.randomUUID().toString(), graph, context,
+                options == null ? RunOptions.DEFAULT : options, initial);
+
+        // 3️⃣ Load inputs
+        initial.forEach(context::put);
+
+        instances.put(instance.getRunId(), instance);
+        instance.markRunning();
+        metrics.instanceStarted();
+        journal.instanceStarted(instance.getRunId(), graph.getWorkflowId(), graph.getVersion(), instance.getOptions(),
+                initial, context.getAll());
 
         // 4️⃣ Submit start node
-        submitNodeForExecution(startNodeId, workflow, context);
+        if (instance.getReadiness().tryClaim(graph.getStartOrdinal())) {
+            submitNodeForExecution(graph.getStartOrdinal(), instance);
+        }
+
+        return instance;
     }
 
+    // Immutable copy without null values (a null input means "unset")
+    private static Map<String, Object> detached(Map<String, Object> values) {
+
+        if (values == null) return Map.of();
 
-    public void addExecutedNodes(String nodeId){
-        executedNodes.add(nodeId);
+        Map<String, Object> copy = new HashMap<>(values);
+        copy.values().removeIf(Objects::isNull);
+        return Map.copyOf(copy);
     }
 
-    public int getExecutedNodes(){
-        return executedNodes.size();
+    public Optional<WorkflowInstance> getInstance(String runId) {
+        return Optional.ofNullable(instances.get(runId));
     }
 
-    public void setSkippedNodes(String nodeId){
-        skippedNodes.add(nodeId);
+    public int getRunningInstanceCount() {
+        return instances.size();
     }
 
-    public Set<String> getSkippedNodes(){
-        return Collections.unmodifiableSet(skippedNodes);
+
+    // ---------------- SUSPENSION ----------------
+
+    // Reached a SuspendingNode → mark it WAITING; the calling worker returns immediately
+    public void onNodeSuspended(int nodeOrdinal, WorkflowInstance instance) {
+
+        SuspendingNode node = (SuspendingNode) instance.getGraph().nodeAt(nodeOrdinal);
+        node.onSuspend(instance.getContext());
+
+        instance.incrementWaitingNodes();
+        instance.getContext().setNodeState(nodeOrdinal, NodeState.WAITING);
+        journal.nodeStateChanged(instance.getRunId(), instance.getGraph().nodeIdAt(nodeOrdinal), NodeState.WAITING);
+
+        emit(ExecutionEventType.NODE_WAITING, instance, nodeOrdinal, null);
     }
 
+    /**
+     * Completes a WAITING node with the given payload, rehydrating the run from the
+     * instance store if it was evicted. Returns false if the node is not waiting
+     * (never reached, or already resumed).
+     */
+    public boolean resume(String runId, String nodeId, Map<String, Object> payload) {
+
+        Map<String, Object> resumePayload = payload == null ? Map.of() : payload;
+
+        while (true) {
+
+            WorkflowInstance instance = instances.get(runId);
+            if (instance == null) {
+                instance = rehydrate(runId);
+            }
+            if (instance == null) {
+                throw new IllegalArgumentException("Unknown or finished run: " + runId);
+            }
+
+            int nodeOrdinal = instance.getGraph().ordinalOf(nodeId);
+            if (nodeOrdinal == CompiledWorkflow.NONE) {
+                throw new IllegalArgumentException("Unknown node: " + nodeId);
+            }
 
-    public void submitNodeForExecution(String nodeId, Workflow workflow, WorkflowExecutionContext context) {
+            synchronized (instance) {
 
-        // Prevent duplicate scheduling
-        boolean scheduled = markNodeScheduled(nodeId);
+                // Evicted between lookup and lock → load the stored copy instead
+                if (instance.isEvicted()) continue;
+
+                // Only one resume per waiting node wins
+                if (!instance.getContext().compareAndSetNodeState(nodeOrdinal, NodeState.WAITING, NodeState.RUNNING)) {
+                    return false;
+                }
+
+                instance.decrementWaitingNodes();
+                if (instance.markResumed()) {
+                    journal.instanceStateChanged(runId, WorkflowState.RUNNING);
+                }
+                journal.nodeStateChanged(runId, nodeId, NodeState.RUNNING);
+                incrementActiveTasks(instance);
+            }
 
-        if (!scheduled) {
-            return; // Already scheduled → skip
+            executorService.execute(NodeExecutionTask.resuming(nodeOrdinal, instance, this, resumePayload));
+            return true;
         }
+    }
 
-        // Increment active task count
-        incrementActiveTasks();
+    // Only waiting nodes left → SUSPENDED, and moved to the instance store when one is set
+    private void parkIfIdle(WorkflowInstance instance) {
 
-        // Create execution task
-        NodeExecutionTask task = new NodeExecutionTask(nodeId, workflow, context, this);
+        if (instance.getActiveTaskCount() != 0 || instance.getWaitingNodeCount() == 0) return;
+
+        synchronized (instance) {
+
+            // Re-check under the lock → a concurrent resume may have re-activated the run
+            if (instance.getActiveTaskCount() != 0
+                    || instance.getWaitingNodeCount() == 0
+                    || instance.isFinished()
+                    || instance.isEvicted()) {
+                return;
+            }
+
+            if (instance.markSuspended()) {
+                journal.instanceStateChanged(instance.getRunId(), WorkflowState.SUSPENDED);
+                emit(ExecutionEventType.WORKFLOW_SUSPENDED, instance, CompiledWorkflow.NONE, null);
+            }
 
-        // Submit to thread pool
-        executorService.submit(task);
+            InstanceStore store = instanceStore;
+            if (store != null) {
+                store.save(instance.snapshot());
+                instance.markEvicted();
+                instances.remove(instance.getRunId(), instance);
+            }
+        }
     }
 
-    public void onNodeExecutionSuccess(String nodeId, Workflow workflow, WorkflowExecutionContext context) {
+    private WorkflowInstance rehydrate(String runId) {
+
+        InstanceStore store = instanceStore;
+        if (store == null) return null;
 
-        context.setNodeState(nodeId, NodeState.COMPLETED);
+        synchronized (rehydrationLock) {
 
-        Node currNode = workflow.getNode(nodeId)
-                .orElseThrow(() -> new RuntimeException("Node not found: " + nodeId));
+            WorkflowInstance live = instances.get(runId);
+            if (live != null) return live;
 
-        if (currNode instanceof ConditionNode) {
+            Optional<InstanceSnapshot> snapshot = store.load(runId);
+            if (snapshot.isEmpty()) return null;
 
-            String decision = (String) context.get(nodeId + "_condition");
-            String trueNodeId = workflow.getTrueNodeId(nodeId);
-            String falseNodeId = workflow.getFalseNodeId(nodeId);
+            store.remove(runId);
+
+            // Not parked again right away → the caller is about to resume it
+            return restore(snapshot.get(), false);
+        }
+    }
 
-            if ("TRUE".equals(decision)) {
-                submitIfReady(trueNodeId, workflow, context);
-                propagateSkip(falseNodeId, workflow, context);
+
+    // ---------------- RESTORE ----------------
+
+    /**
+     * Rebuilds a run from a snapshot and continues it. Join counters are rebuilt by replaying
+     * the edges of every resolved node; nodes that were READY or RUNNING when the snapshot was
+     * taken are not claimed, so the replay schedules them again.
+     */
+    public WorkflowInstance restore(InstanceSnapshot snapshot) {
+        return restore(snapshot, true);
+    }
+
+    private WorkflowInstance restore(InstanceSnapshot snapshot, boolean parkIfIdle) {
+
+        if (snapshot.state() == WorkflowState.COMPLETED || snapshot.state() == WorkflowState.FAILED) {
+            throw new IllegalStateException("Run already finished: " + snapshot.runId());
+        }
+
+        CompiledWorkflow graph = getWorkflow(snapshot.workflowId(), snapshot.workflowVersion()).orElseThrow(() ->
+                new IllegalStateException("Workflow not registered with this engine: "
+                        + CompiledWorkflow.keyOf(snapshot.workflowId(), snapshot.workflowVersion())));
+
+        WorkflowExecutionContext context = new WorkflowExecutionContext(graph);
+        snapshot.data().forEach(context::put);
+
+        WorkflowInstance instance = new WorkflowInstance(snapshot.runId(), graph, context,
+                snapshot.options() == null ? RunOptions.DEFAULT : snapshot.options(), snapshot.inputs());
+        ReadinessTracker readiness = instance.getReadiness();
+
+        // 1️⃣ Claim every node that already resolved or is waiting → replay can't fire it again
+        IntStack resolved = new IntStack();
+
+        snapshot.nodeStates().forEach((nodeId, nodeState) -> {
+
+            int node = graph.ordinalOf(nodeId);
+            if (node == CompiledWorkflow.NONE) {
+                throw new IllegalStateException("Snapshot references unknown node: " + nodeId);
+            }
+
+            switch (nodeState) {
+                case COMPLETED -> {
+                    readiness.tryClaim(node);
+                    context.setNodeState(node, NodeState.COMPLETED);
+                    instance.addExecutedNode(node);
+                    resolved.push(node);
+                }
+                case SKIPPED -> {
+                    readiness.tryClaim(node);
+                    context.setNodeState(node, NodeState.SKIPPED);
+                    instance.addSkippedNode(node);
+                    resolved.push(node);
+                }
+                case WAITING -> {
+                    readiness.tryClaim(node);
+                    context.setNodeState(node, NodeState.WAITING);
+                    instance.incrementWaitingNodes();
+                }
+                default -> {
+                    // Interrupted mid-flight → runs again once its edges are replayed
+                }
+            }
+        });
+
+        // Held across the replay so tasks finishing meanwhile can't complete or park the run
+        incrementActiveTasks(instance);
+
+        instances.put(instance.getRunId(), instance);
+        instance.markRunning();
+        relinkChildRun(instance);
+        if (snapshot.state() != WorkflowState.RUNNING) {
+            journal.instanceStateChanged(instance.getRunId(), WorkflowState.RUNNING);
+        }
+
+        try {
+            // 2️⃣ Replay resolved edges → rebuilds join counters, schedules whatever is ready
+            while (!resolved.isEmpty()) {
+
+                int node = resolved.pop();
+
+                if (instance.isSkipped(node)) {
+                    IntStack pending = new IntStack();
+                    skipOutgoingEdges(node, pending, instance);
+                    drainSkips(pending, instance);
+                } else {
+                    routeCompletedNode(node, instance);
+                }
+            }
+
+            // Start node never ran (or was interrupted) → start it
+            if (readiness.tryClaim(graph.getStartOrdinal())) {
+                submitNodeForExecution(graph.getStartOrdinal(), instance);
+            }
+
+        } finally {
+            decrementActiveTasks(instance);
+
+            if (parkIfIdle) {
+                checkForWorkflowCompletion(instance);
             } else {
-                submitIfReady(falseNodeId, workflow, context);
-                propagateSkip(trueNodeId, workflow, context);
+                completeIfResolved(instance);
             }
+        }
 
-        } else {
-            // Centralized — every child goes through submitIfReady()
-            for (String childId : workflow.getNextNodesId(nodeId)) {
-                submitIfReady(childId, workflow, context);
+        return instance;
+    }
+
+
+    // ---------------- SUB-WORKFLOWS ----------------
+
+    /**
+     * Starts the child run of a {@link SubWorkflowNode} on this engine (same pool, same
+     * tenant and priority) and returns a stage that completes, with the mapped outputs
+     * applied to the parent, when the child completes. A failed child fails the stage.
+     */
+    public CompletionStage<Void> startSubWorkflow(SubWorkflowNode node, WorkflowInstance parent) {
+
+        CompiledWorkflow graph = latest.get(node.getWorkflowId());
+        if (graph == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                    "Workflow not registered with this engine: " + node.getWorkflowId()));
+        }
+
+        CompletableFuture<WorkflowInstance> finished = new CompletableFuture<>();
+        WorkflowInstance child = start(graph, node.childInputs(parent.getContext()), parent.getOptions());
+
+        childRuns.put(child.getRunId(), finished);
+        child.whenFinished().thenRun(() -> finished.complete(child));
+
+        return finished.thenAccept(done -> {
+
+            childRuns.remove(done.getRunId());
+
+            if (done.getState() != WorkflowState.COMPLETED) {
+                throw new IllegalStateException("Sub-workflow " + node.getWorkflowId() + " run "
+                        + done.getRunId() + " ended " + done.getState());
             }
+            node.applyOutputs(done.getContext(), parent.getContext());
+        });
+    }
+
+    // A rehydrated child is a new instance → its parent waits on that one from now on
+    private void relinkChildRun(WorkflowInstance instance) {
+
+        CompletableFuture<WorkflowInstance> finished = childRuns.get(instance.getRunId());
+
+        if (finished != null) {
+            instance.whenFinished().thenRun(() -> finished.complete(instance));
         }
     }
 
-    public void onNodeExecutionFailed(String nodeId, Workflow workflow, WorkflowExecutionContext context, Exception e) {
 
-        context.setNodeState(nodeId, NodeState.FAILED);
+    // ---------------- INCREMENTAL RERUN ----------------
+
+    /**
+     * Reruns a completed run with some context values changed, executing only the nodes an
+     * {@link InvalidationPlan} invalidates. The result is a new run: it starts from the old
+     * run's data plus the changes, minus every output of the invalidated nodes, keeps every
+     * other node's outcome, and replays the kept edges like {@link #restore}, so a condition
+     * that now decides differently skips the branch it took before and fires the other one.
+     *
+     * An invalidated node that ran without declaring its outputs ({@link OutputDeclaringNode})
+     * may have written any key, so nothing of the old data can be trusted: the rerun is then
+     * a full run from the old inputs plus the changes.
+     */
+    public WorkflowInstance rerun(InstanceSnapshot previous, Map<String, Object> changes) {
+
+        if (previous.state() != WorkflowState.COMPLETED) {
+            throw new IllegalStateException("Only completed runs can be rerun: " + previous.runId()
+                    + " is " + previous.state());
+        }
 
-        // Log failure
-        System.err.println("Node execution failed: " + nodeId + " | Error: " + e.getMessage());
+        CompiledWorkflow graph = getWorkflow(previous.workflowId(), previous.workflowVersion()).orElseThrow(() ->
+                new IllegalStateException("Workflow not registered with this engine: "
+                        + CompiledWorkflow.keyOf(previous.workflowId(), previous.workflowVersion())));
 
-        // Decide traversal policy
-        handleFailureTraversal(nodeId, workflow, context);
+        InvalidationPlan plan = InvalidationPlan.of(graph, changes.keySet());
+
+        Map<String, Object> inputs = null;
+        if (previous.inputs() != null) {
+            inputs = new HashMap<>(previous.inputs());
+            inputs.putAll(changes);
+        }
+
+        // 1️⃣ Keep what wasn't invalidated; collect what the invalidated nodes that ran wrote
+        Map<String, NodeState> kept = new HashMap<>();
+        Set<String> stale = new HashSet<>();
+        String undeclared = null;
+
+        for (Map.Entry<String, NodeState> entry : previous.nodeStates().entrySet()) {
+
+            int node = graph.ordinalOf(entry.getKey());
+
+            if (node == CompiledWorkflow.NONE || !plan.isInvalidated(node)) {
+                kept.put(entry.getKey(), entry.getValue());
+            } else if (entry.getValue() != NodeState.SKIPPED) {
+                if (graph.nodeAt(node) instanceof OutputDeclaringNode declaring) {
+                    stale.addAll(declaring.getOutputKeys(previous.data()));
+                } else {
+                    undeclared = entry.getKey();
+                }
+            }
+        }
+
+        // Outputs unknown → start over from the inputs, like a new run
+        if (undeclared != null) {
+            if (inputs == null) {
+                throw new IllegalStateException("Run " + previous.runId() + " can't be rerun: node '" + undeclared
+                        + "' doesn't declare its outputs and the run's inputs were not recorded");
+            }
+            return start(graph, inputs, previous.options());
+        }
+
+        // 2️⃣ Old data minus stale outputs, plus changes → no stale result survives a rerun
+        Map<String, Object> data = new HashMap<>(previous.data());
+        data.keySet().removeAll(stale);
+        data.putAll(changes);
+        data.values().removeIf(Objects::isNull);
 
-        checkForWorkflowCompletion(workflow);
+        // 3️⃣ New run id → the previous run's result stays as it was
+        String runId = UUID.randomUUID().toString();
+        Map<String, Object> initial = inputs == null ? null : detached(inputs);
 
+        metrics.instanceStarted();
+        journal.instanceStarted(runId, graph.getWorkflowId(), graph.getVersion(), previous.options(), initial, data);
+        kept.forEach((nodeId, nodeState) -> journal.nodeStateChanged(runId, nodeId, nodeState));
+
+        // 4️⃣ Continue like a restored run → only invalidated nodes are claimed and executed
+        return restore(new InstanceSnapshot(runId, graph.getWorkflowId(), graph.getVersion(), WorkflowState.RUNNING,
+                initial, data, kept, previous.options()));
     }
 
 
-    public void triggerChildNodes(String nodeId, Workflow workflow, WorkflowExecutionContext context){
+    // ---------------- SCHEDULING ----------------
+
+    // Callers must own the node's readiness claim → every node is submitted exactly once
+    public void submitNodeForExecution(int nodeOrdinal, WorkflowInstance instance) {
+
+        // Increment active task count
+        incrementActiveTasks(instance);
+
+        emit(ExecutionEventType.NODE_SCHEDULED, instance, nodeOrdinal, null);
+
+        // Create execution task
+        NodeExecutionTask task = new NodeExecutionTask(nodeOrdinal, instance, this);
 
-        // get children from workflow
-        List<String> childrenId = workflow.getNextNodesId(nodeId);
+        // execute, not submit → the queue sees the task itself (no FutureTask wrapper) and can order it
+        executorService.execute(task);
+    }
 
-        for (String id : childrenId){
-            submitIfReady(id, workflow, context);
+    public void onNodeExecutionSuccess(int nodeOrdinal, WorkflowInstance instance) {
+
+        CompiledWorkflow graph = instance.getGraph();
+        WorkflowExecutionContext context = instance.getContext();
+
+        context.setNodeState(nodeOrdinal, NodeState.COMPLETED);
+        instance.addExecutedNode(nodeOrdinal);
+
+        // Outputs first → a recovered COMPLETED node never lacks its data
+        journal.checkpoint(instance.getRunId(), context.getAll());
+        journal.nodeStateChanged(instance.getRunId(), graph.nodeIdAt(nodeOrdinal), NodeState.COMPLETED);
+
+        // Condition nodes report the branch they took
+        String decision = graph.isConditionNode(nodeOrdinal)
+                ? (String) context.get(((ConditionNode) graph.nodeAt(nodeOrdinal)).getConditionKey())
+                : null;
+        emit(ExecutionEventType.NODE_COMPLETED, instance, nodeOrdinal, decision);
+
+        // A failed run schedules nothing further
+        if (instance.isFinished()) return;
+
+        routeCompletedNode(nodeOrdinal, instance);
+    }
+
+    private void routeCompletedNode(int nodeOrdinal, WorkflowInstance instance) {
+
+        CompiledWorkflow graph = instance.getGraph();
+        WorkflowExecutionContext context = instance.getContext();
+
+        // Several children may fire → collect them and submit the longest path first
+        int outgoing = graph.childrenEnd(nodeOrdinal) - graph.childrenStart(nodeOrdinal)
+                + (graph.isConditionNode(nodeOrdinal) ? 1 : 0);
+        IntStack fired = criticalPathOrdering && outgoing > 1 ? new IntStack(outgoing) : null;
+
+        // Every child edge resolves exactly once → O(1) readiness update per edge
+        for (int i = graph.childrenStart(nodeOrdinal), end = graph.childrenEnd(nodeOrdinal); i < end; i++) {
+            resolveEdge(graph.childAt(i), ResolutionState.COMPLETED, instance, fired);
+        }
+
+        if (graph.isConditionNode(nodeOrdinal)) {
+
+            ConditionNode conditionNode = (ConditionNode) graph.nodeAt(nodeOrdinal);
+
+            boolean decision = "TRUE".equals(context.get(conditionNode.getConditionKey()));
+            int trueTarget = graph.getTrueTarget(nodeOrdinal);
+            int falseTarget = graph.getFalseTarget(nodeOrdinal);
+
+            // Taken branch completes its edge, the other branch's edge is skipped
+            resolveEdge(trueTarget, decision ? ResolutionState.COMPLETED : ResolutionState.SKIPPED, instance, fired);
+            resolveEdge(falseTarget, decision ? ResolutionState.SKIPPED : ResolutionState.COMPLETED, instance, fired);
+        }
+
+        if (fired != null) {
+            submitByRank(fired, instance);
         }
     }
 
-    public void checkForWorkflowCompletion(Workflow workflow) {
+    private void submitByRank(IntStack fired, WorkflowInstance instance) {
 
-        int totalNodes = workflow.getAllNodes().size();
+        if (fired.isEmpty()) return;
 
-        int resolved =
-                executedNodes.size() +
-                        skippedNodes.size();
+        CriticalPathEstimator criticalPath = criticalPaths.get(instance.getGraph());
 
-        if (resolved == totalNodes) {
+        // Popped in reverse → refill back to front so equal ranks keep declaration order
+        int[] nodes = new int[fired.size()];
+        for (int i = nodes.length - 1; i >= 0; i--) {
+            nodes[i] = fired.pop();
+        }
 
-            System.out.println("Workflow execution completed successfully.");
+        // Fan-outs are small → stable insertion sort, highest rank first, without boxing
+        if (criticalPath != null) {
+            for (int i = 1; i < nodes.length; i++) {
+                int node = nodes[i];
+                long rank = criticalPath.rankOf(node);
+                int j = i - 1;
+                while (j >= 0 && criticalPath.rankOf(nodes[j]) < rank) {
+                    nodes[j + 1] = nodes[j];
+                    j--;
+                }
+                nodes[j + 1] = node;
+            }
+        }
 
-            completionLatch.countDown();
-            shutdown();
+        for (int node : nodes) {
+            submitNodeForExecution(node, instance);
         }
     }
 
+    public void onNodeExecutionFailed(int nodeOrdinal, WorkflowInstance instance, Exception e) {
 
-    public void awaitCompletion() throws InterruptedException {
-        completionLatch.await();  // block until workflow done
+        instance.getContext().setNodeState(nodeOrdinal, NodeState.FAILED);
+        journal.nodeStateChanged(instance.getRunId(), instance.getGraph().nodeIdAt(nodeOrdinal), NodeState.FAILED);
+
+        emit(ExecutionEventType.NODE_FAILED, instance, nodeOrdinal, e.getMessage());
+
+        // Decide traversal policy
+        handleFailureTraversal(nodeOrdinal, instance);
     }
 
-    private void handleFailureTraversal(String nodeId, Workflow workflow, WorkflowExecutionContext context){
-        System.err.println("Workflow marked failed due to node: " + nodeId);
+    public void checkForWorkflowCompletion(WorkflowInstance instance) {
+
+        if (instance.isFinished()) return;
 
-        shutdown();
+        if (instance.isFullyResolved()) {
+            completeIfResolved(instance);
+        } else {
+            parkIfIdle(instance);
+        }
     }
 
-    private void propagateSkip(String nodeId, Workflow workflow, WorkflowExecutionContext context) {
+    private void completeIfResolved(WorkflowInstance instance) {
+
+        if (!instance.isFullyResolved() || instance.isFinished()) return;
 
-        if (skippedNodes.contains(nodeId)) return;
+        // Deregister before releasing waiters → a finished run is never observed as live
+        instances.remove(instance.getRunId(), instance);
 
-        Node node = workflow.getNode(nodeId).orElse(null);
-        if (node == null) return;
+        if (instance.markCompleted()) {
+            try {
+                journal.instanceStateChanged(instance.getRunId(), WorkflowState.COMPLETED);
+                metrics.instanceCompleted();
+                emit(ExecutionEventType.WORKFLOW_COMPLETED, instance, CompiledWorkflow.NONE, null);
+            } finally {
+                instance.releaseWaiters();
+            }
+        }
+    }
+
+    private void handleFailureTraversal(int nodeOrdinal, WorkflowInstance instance) {
 
-        // Check if ALL parents are resolved before skipping
-        List<String> parents = workflow.getParents(nodeId);
-        boolean allParentsResolved = parents.stream()
-                .allMatch(p -> skippedNodes.contains(p)
-                        || context.getNodeState(p) == NodeState.COMPLETED);
+        if (instance.isFinished()) return;
 
-        if (!allParentsResolved) return;  // wait until all parents resolved
+        instances.remove(instance.getRunId(), instance);
+
+        if (instance.markFailed()) {
+            try {
+                journal.instanceStateChanged(instance.getRunId(), WorkflowState.FAILED);
+                metrics.instanceFailed();
+                emit(ExecutionEventType.WORKFLOW_FAILED, instance, nodeOrdinal, null);
+            } finally {
+                instance.releaseWaiters();
+            }
+        }
+    }
 
-        context.setNodeState(nodeId, NodeState.SKIPPED);
-        skippedNodes.add(nodeId);
-        System.out.println("Node Skipped → " + nodeId);
+    // fired != null → ready children are collected instead of submitted right away
+    private void resolveEdge(int childOrdinal, ResolutionState outcome, WorkflowInstance instance, IntStack fired) {
 
-        for (String nextId : getAllChildren(nodeId, workflow)) {
-            List<String> nextParents = workflow.getParents(nextId);
+        if (childOrdinal == CompiledWorkflow.NONE) return;
 
-            boolean allSkipped = nextParents.stream()
-                    .allMatch(p -> skippedNodes.contains(p));
+        ReadinessDecision decision = instance.getReadiness().onParentResolved(childOrdinal, outcome);
+        metrics.readinessEvaluated();
 
-            if (allSkipped) {
-                propagateSkip(nextId, workflow, context);
+        if (decision == ReadinessDecision.FIRE) {
+            if (fired != null) {
+                fired.push(childOrdinal);
             } else {
-                submitIfReady(nextId, workflow, context);
+                submitNodeForExecution(childOrdinal, instance);
             }
+        } else if (decision == ReadinessDecision.SKIP) {
+            propagateSkip(childOrdinal, instance);
         }
     }
 
-    public void submitIfReady(String nodeId, Workflow workflow, WorkflowExecutionContext context){
+    // Iterative → a long skipped branch costs a worklist, not stack frames
+    private void propagateSkip(int nodeOrdinal, WorkflowInstance instance) {
+
+        IntStack pending = new IntStack();
+        pending.push(nodeOrdinal);
+
+        drainSkips(pending, instance);
+    }
+
+    private void drainSkips(IntStack pending, WorkflowInstance instance) {
+
+        WorkflowExecutionContext context = instance.getContext();
+
+        while (!pending.isEmpty()) {
 
-        DefaultJoinReadinessEvaluator evaluator =
-                new DefaultJoinReadinessEvaluator();
+            int node = pending.pop();
 
-        boolean isReady = evaluator.isNodeReady(nodeId, workflow, context);
-        System.out.println("submitIfReady → " + nodeId + " | ready=" + isReady);
-        if(isReady) submitNodeForExecution(nodeId, workflow, context);
+            instance.addSkippedNode(node);
+            context.setNodeState(node, NodeState.SKIPPED);
+            journal.nodeStateChanged(instance.getRunId(), instance.getGraph().nodeIdAt(node), NodeState.SKIPPED);
+            emit(ExecutionEventType.NODE_SKIPPED, instance, node, null);
+
+            skipOutgoingEdges(node, pending, instance);
+        }
     }
 
-    private List<String> getAllChildren(String nodeId, Workflow workflow) {
+    private void skipOutgoingEdges(int node, IntStack pending, WorkflowInstance instance) {
 
-        List<String> children = new ArrayList<>();
+        CompiledWorkflow graph = instance.getGraph();
+        ReadinessTracker readiness = instance.getReadiness();
 
-        children.addAll(workflow.getNextNodesId(nodeId));
+        for (int i = graph.childrenStart(node), end = graph.childrenEnd(node); i < end; i++) {
+            skipEdge(graph.childAt(i), readiness, pending, instance);
+        }
 
-        String t = workflow.getTrueNodeId(nodeId);
-        String f = workflow.getFalseNodeId(nodeId);
+        skipEdge(graph.getTrueTarget(node), readiness, pending, instance);
+        skipEdge(graph.getFalseTarget(node), readiness, pending, instance);
+    }
 
-        if (t != null) children.add(t);
-        if (f != null) children.add(f);
+    private void skipEdge(int childOrdinal, ReadinessTracker readiness, IntStack pending, WorkflowInstance instance) {
 
-        return children;
+        if (childOrdinal == CompiledWorkflow.NONE) return;
+
+        ReadinessDecision decision = readiness.onParentResolved(childOrdinal, ResolutionState.SKIPPED);
+        metrics.readinessEvaluated();
+
+        if (decision == ReadinessDecision.FIRE) {
+            submitNodeForExecution(childOrdinal, instance);
+        } else if (decision == ReadinessDecision.SKIP) {
+            pending.push(childOrdinal);
+        }
     }
 
 
@@ -0,0 +1,6 @@
+package com.flownode.core.execution.engine.executor;
+
+public enum ExecutionMode {
+    PLATFORM_POOL,    // fixed pool of platform threads → bounded parallelism, CPU-bound nodes
+    VIRTUAL_THREADS   // one virtual thread per node task → blocking I/O nodes never exhaust carriers
+}
@@ -0,0 +1,96 @@
+package com.flownode.core.execution.engine.incremental;
+
+import com.flownode.core.execution.node.InputDeclaringNode;
+import com.flownode.core.util.IntStack;
+import com.flownode.core.workflow.CompiledWorkflow;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Nodes of a finished run that must run again after some context keys changed.
+ *
+ * A node is invalidated when it reads a changed key, or when anything upstream of it is
+ * invalidated (its input may change, or a condition above it may now take the other branch).
+ * Nodes that do not declare their inputs ({@link InputDeclaringNode}) are assumed to read
+ * every key, so they always rerun.
+ */
+public final class InvalidationPlan {
+
+    private final CompiledWorkflow graph;
+    private final BitSet invalidated;
+
+    private InvalidationPlan(CompiledWorkflow graph, BitSet invalidated) {
+        this.graph = graph;
+        this.invalidated = invalidated;
+    }
+
+    public static InvalidationPlan of(CompiledWorkflow graph, Collection<String> changedKeys) {
+
+        Set<String> changed = Set.copyOf(changedKeys);
+        BitSet invalidated = new BitSet(graph.size());
+        IntStack pending = new IntStack();
+
+        // 1️⃣ Direct readers of a changed key
+        for (int node = 0; node < graph.size(); node++) {
+            if (reads(graph, node, changed)) {
+                invalidated.set(node);
+                pending.push(node);
+            }
+        }
+
+        // 2️⃣ Everything downstream of them, both branches of a condition included
+        while (!pending.isEmpty()) {
+
+            int node = pending.pop();
+
+            for (int i = graph.childrenStart(node), end = graph.childrenEnd(node); i < end; i++) {
+                invalidate(graph.childAt(i), invalidated, pending);
+            }
+            invalidate(graph.getTrueTarget(node), invalidated, pending);
+            invalidate(graph.getFalseTarget(node), invalidated, pending);
+        }
+
+        return new InvalidationPlan(graph, invalidated);
+    }
+
+    private static boolean reads(CompiledWorkflow graph, int node, Set<String> changed) {
+
+        if (!(graph.nodeAt(node) instanceof InputDeclaringNode declaring)) {
+            return true;   // undeclared → conservative
+        }
+
+        for (String key : declaring.getInputKeys()) {
+            if (changed.contains(key)) return true;
+        }
+        return false;
+    }
+
+    private static void invalidate(int node, BitSet invalidated, IntStack pending) {
+
+        if (node == CompiledWorkflow.NONE || invalidated.get(node)) return;
+
+        invalidated.set(node);
+        pending.push(node);
+    }
+
+    public boolean isInvalidated(int nodeOrdinal) {
+        return invalidated.get(nodeOrdinal);
+    }
+
+    public int getInvalidatedCount() {
+        return invalidated.cardinality();
+    }
+
+    public List<String> getInvalidatedNodeIds() {
+
+        List<String> nodeIds = new ArrayList<>(invalidated.cardinality());
+        for (int node = invalidated.nextSetBit(0); node >= 0; node = invalidated.nextSetBit(node + 1)) {
+            nodeIds.add(graph.nodeIdAt(node));
+        }
+        return nodeIds;
+    }
+}
@@ -0,0 +1,309 @@
+package com.flownode.core.execution.engine.instance;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.engine.scheduling.RunOptions;
+import com.flownode.core.execution.engine.store.InstanceSnapshot;
+import com.flownode.core.execution.readiness.ReadinessTracker;
+import com.flownode.core.state.NodeState;
+import com.flownode.core.state.WorkflowState;
+import com.flownode.core.workflow.CompiledWorkflow;
+import com.flownode.core.workflow.Workflow;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * One run of a {@link Workflow} inside a shared execution engine.
+ * Holds everything that used to live on a per-run executor: the run's context,
+ * its join readiness counters, executed / skipped bookkeeping and its completion latch.
+ * Bookkeeping is indexed by node ordinal of the compiled graph.
+ */
+public class WorkflowInstance {
+
+    private static final int UNRESOLVED = 0;
+    private static final int EXECUTED = 1;
+    private static final int SKIPPED = 2;
+
+    private final String runId;
+    private final CompiledWorkflow graph;
+    private final WorkflowExecutionContext context;
+
+    // Tenant and priority → this run's share of the engine pool
+    private final RunOptions options;
+
+    // Values the run started from → what a rerun starts over with; null if not recorded
+    private final Map<String, Object> inputs;
+
+    // Join readiness → fires every node exactly once, no dedupe set needed
+    private final ReadinessTracker readiness;
+
+    // Per node outcome → UNRESOLVED / EXECUTED / SKIPPED, each set exactly once
+    private final AtomicIntegerArray outcomes;
+    private final AtomicInteger resolvedCount = new AtomicInteger(0);
+
+    // Node tasks of this run currently submitted or running
+    private final AtomicInteger activeTaskCount = new AtomicInteger(0);
+
+    // Suspending nodes parked as WAITING → hold no thread, only this count
+    private final AtomicInteger waitingNodeCount = new AtomicInteger(0);
+
+    // Nodes parked on this instance → Map<nodeOrdinal, resume payload → the node's lifecycle stage>; not snapshotted
+    private final Map<Integer, Function<Map<String, Object>, CompletionStage<Void>>> suspensions = new ConcurrentHashMap<>();
+
+    // Set once the instance has been moved to an InstanceStore; this object is then stale
+    private volatile boolean evicted;
+
+    private final AtomicReference<WorkflowState> state = new AtomicReference<>(WorkflowState.CREATED);
+
+    private final CountDownLatch completionLatch = new CountDownLatch(1);
+    private final CompletableFuture<WorkflowState> completion = new CompletableFuture<>();
+
+
+    public WorkflowInstance(String runId, CompiledWorkflow graph, WorkflowExecutionContext context) {
+        this(runId, graph, context, RunOptions.DEFAULT);
+    }
+
+    public WorkflowInstance(String runId, CompiledWorkflow graph, WorkflowExecutionContext context, RunOptions options) {
+        this(runId, graph, context, options, null);
+    }
+
+    public WorkflowInstance(String runId, CompiledWorkflow graph, WorkflowExecutionContext context, RunOptions options,
+                            Map<String, Object> inputs) {
+        this.runId = runId;
+        this.graph = graph;
+        this.context = context;
+        this.options = options;
+        this.inputs = inputs;
+        this.readiness = new ReadinessTracker(graph);
+        this.outcomes = new AtomicIntegerArray(graph.size());
+    }
+
+
+    // ---------------- METADATA ----------------
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public CompiledWorkflow getGraph() {
+        return graph;
+    }
+
+    public RunOptions getOptions() {
+        return options;
+    }
+
+    public Map<String, Object> getInputs() {
+        return inputs;
+    }
+
+    public WorkflowExecutionContext getContext() {
+        return context;
+    }
+
+    public ReadinessTracker getReadiness() {
+        return readiness;
+    }
+
+
+    // ---------------- NODE BOOKKEEPING ----------------
+
+    // Returns false if the node was already resolved
+    public boolean addExecutedNode(int ordinal) {
+        return resolve(ordinal, EXECUTED);
+    }
+
+    public boolean addSkippedNode(int ordinal) {
+        return resolve(ordinal, SKIPPED);
+    }
+
+    public boolean isSkipped(int ordinal) {
+        return outcomes.get(ordinal) == SKIPPED;
+    }
+
+    public Set<String> getExecutedNodes() {
+        return collect(EXECUTED);
+    }
+
+    public Set<String> getSkippedNodes() {
+        return collect(SKIPPED);
+    }
+
+    public int getResolvedNodeCount() {
+        return resolvedCount.get();
+    }
+
+    public boolean isFullyResolved() {
+        return resolvedCount.get() == graph.size();
+    }
+
+    private boolean resolve(int ordinal, int outcome) {
+        if (!outcomes.compareAndSet(ordinal, UNRESOLVED, outcome)) {
+            return false;
+        }
+        resolvedCount.incrementAndGet();
+        return true;
+    }
+
+    // Off the hot path → builds id sets for reporting
+    private Set<String> collect(int outcome) {
+        Set<String> nodeIds = new LinkedHashSet<>();
+
+        for (int n = 0; n < graph.size(); n++) {
+            if (outcomes.get(n) == outcome) {
+                nodeIds.add(graph.nodeIdAt(n));
+            }
+        }
+        return Collections.unmodifiableSet(nodeIds);
+    }
+
+    public void incrementActiveTasks() {
+        activeTaskCount.incrementAndGet();
+    }
+
+    public void decrementActiveTasks() {
+        activeTaskCount.decrementAndGet();
+    }
+
+    public int getActiveTaskCount() {
+        return activeTaskCount.get();
+    }
+
+    public void incrementWaitingNodes() {
+        waitingNodeCount.incrementAndGet();
+    }
+
+    public void decrementWaitingNodes() {
+        waitingNodeCount.decrementAndGet();
+    }
+
+    public int getWaitingNodeCount() {
+        return waitingNodeCount.get();
+    }
+
+    public void addSuspension(int ordinal, Function<Map<String, Object>, CompletionStage<Void>> resumer) {
+        suspensions.put(ordinal, resumer);
+    }
+
+    // Null if the node was parked by an earlier incarnation of this run (evicted, or recovered from the journal)
+    public Function<Map<String, Object>, CompletionStage<Void>> takeSuspension(int ordinal) {
+        return suspensions.remove(ordinal);
+    }
+
+
+    // ---------------- STATE ----------------
+
+    public WorkflowState getState() {
+        return state.get();
+    }
+
+    public void markRunning() {
+        state.compareAndSet(WorkflowState.CREATED, WorkflowState.RUNNING);
+    }
+
+    // Nothing running, only WAITING nodes left
+    public boolean markSuspended() {
+        return state.compareAndSet(WorkflowState.RUNNING, WorkflowState.SUSPENDED);
+    }
+
+    public boolean markResumed() {
+        return state.compareAndSet(WorkflowState.SUSPENDED, WorkflowState.RUNNING);
+    }
+
+    public boolean isEvicted() {
+        return evicted;
+    }
+
+    public void markEvicted() {
+        evicted = true;
+    }
+
+    // Returns true only for the caller that actually finished the run; that caller then calls releaseWaiters()
+    public boolean markCompleted() {
+        return finish(WorkflowState.COMPLETED);
+    }
+
+    public boolean markFailed() {
+        return finish(WorkflowState.FAILED);
+    }
+
+    public boolean isFinished() {
+        WorkflowState current = state.get();
+        return current == WorkflowState.COMPLETED || current == WorkflowState.FAILED;
+    }
+
+    private boolean finish(WorkflowState terminalState) {
+        WorkflowState current;
+        do {
+            current = state.get();
+            if (current == WorkflowState.COMPLETED || current == WorkflowState.FAILED) {
+                return false;
+            }
+        } while (!state.compareAndSet(current, terminalState));
+
+        return true;
+    }
+
+    // After the outcome is journaled and counted → whoever sees the run finish sees its record too
+    public void releaseWaiters() {
+        completionLatch.countDown();
+        completion.complete(state.get());
+    }
+
+
+    // ---------------- SNAPSHOT ----------------
+
+    // Only consistent while the instance is quiescent (no node task in flight)
+    public InstanceSnapshot snapshot() {
+
+        Map<String, NodeState> nodeStates = new LinkedHashMap<>();
+
+        for (int n = 0; n < graph.size(); n++) {
+            NodeState nodeState = context.getNodeState(n);
+
+            if (nodeState != NodeState.PENDING) {
+                nodeStates.put(graph.nodeIdAt(n), nodeState);
+            }
+        }
+
+        return new InstanceSnapshot(
+                runId,
+                graph.getWorkflowId(),
+                graph.getVersion(),
+                state.get(),
+                inputs,
+                new HashMap<>(context.getAll()),
+                nodeStates,
+                options
+        );
+    }
+
+
+    // ---------------- COMPLETION ----------------
+
+    public void awaitCompletion() throws InterruptedException {
+        completionLatch.await();  // block until this run is done
+    }
+
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        return completionLatch.await(timeout, unit);
+    }
+
+    // Non-blocking alternative; callbacks run on the finishing worker, so keep them short
+    public CompletionStage<WorkflowState> whenFinished() {
+        return completion;
+    }
+}
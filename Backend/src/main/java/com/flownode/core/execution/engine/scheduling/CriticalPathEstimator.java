@@ -0,0 +1,154 @@
+package com.flownode.core.execution.engine.scheduling;
+
+import com.flownode.core.workflow.CompiledWorkflow;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Estimated remaining critical path of every node of one workflow, in nanoseconds:
+ * the node's own latency plus the longest estimated path through its successors.
+ *
+ * Node latencies are an exponentially weighted moving average of observed executions
+ * (async, delay and waiting time included, since that is what delays the successors).
+ * Nodes never observed count as the workflow's average, so before any history the rank
+ * is simply the longest downstream path in nodes. Ranks are recomputed in one reverse
+ * topological pass every {@code graph.size()} samples (at least 16), never per task.
+ */
+public final class CriticalPathEstimator {
+
+    // Weight of the newest sample
+    private static final double ALPHA = 0.2;
+
+    private static final int MIN_RECOMPUTE_INTERVAL = 16;
+
+    // No further outgoing edge (distinct from NONE, an absent TRUE / FALSE target)
+    private static final int END = Integer.MIN_VALUE;
+
+    private final CompiledWorkflow graph;
+
+    // Successors before predecessors; a node on a cycle is placed once, its back edge ignored
+    private final int[] reverseTopological;
+
+    // EWMA nanos per node ordinal, 0 = never observed
+    private final AtomicLongArray latency;
+
+    private final AtomicLong observedTotal = new AtomicLong();
+    private final AtomicLong samples = new AtomicLong();
+    private final int recomputeInterval;
+    private final AtomicBoolean recomputing = new AtomicBoolean();
+
+    private volatile long[] ranks;
+
+
+    public CriticalPathEstimator(CompiledWorkflow graph) {
+        this.graph = graph;
+        this.reverseTopological = reverseTopologicalOrder(graph);
+        this.latency = new AtomicLongArray(graph.size());
+        this.recomputeInterval = Math.max(MIN_RECOMPUTE_INTERVAL, graph.size());
+        this.ranks = computeRanks();
+    }
+
+
+    // ---------------- ESTIMATES ----------------
+
+    public long rankOf(int nodeOrdinal) {
+        return ranks[nodeOrdinal];
+    }
+
+    public long getLatencyEstimate(int nodeOrdinal) {
+        return latency.get(nodeOrdinal);
+    }
+
+    // Concurrent samples of one node may overwrite each other → an estimate, not a tally
+    public void record(int nodeOrdinal, long nanos) {
+
+        long sample = Math.max(1, nanos);
+        long previous = latency.get(nodeOrdinal);
+
+        latency.set(nodeOrdinal, previous == 0 ? sample : previous + (long) (ALPHA * (sample - previous)));
+        observedTotal.addAndGet(sample);
+
+        // One thread refreshes the ranks; the others keep scheduling with the current ones
+        if (samples.incrementAndGet() % recomputeInterval == 0 && recomputing.compareAndSet(false, true)) {
+            try {
+                ranks = computeRanks();
+            } finally {
+                recomputing.set(false);
+            }
+        }
+    }
+
+
+    // ---------------- RANKS ----------------
+
+    private long[] computeRanks() {
+
+        long observed = samples.get();
+        long fallback = observed == 0 ? 1 : Math.max(1, observedTotal.get() / observed);
+
+        long[] computed = new long[graph.size()];
+
+        for (int node : reverseTopological) {
+
+            long longestSuccessor = 0;
+            for (int i = 0, successor; (successor = successor(graph, node, i)) != END; i++) {
+                if (successor != CompiledWorkflow.NONE) {
+                    longestSuccessor = Math.max(longestSuccessor, computed[successor]);
+                }
+            }
+
+            long own = latency.get(node);
+            computed[node] = (own == 0 ? fallback : own) + longestSuccessor;
+        }
+        return computed;
+    }
+
+    // Iterative post-order DFS over every node → deep graphs cost heap, not frames
+    private static int[] reverseTopologicalOrder(CompiledWorkflow graph) {
+
+        int size = graph.size();
+        int[] order = new int[size];
+        int placed = 0;
+
+        boolean[] visited = new boolean[size];
+        int[] stack = new int[size];
+        int[] nextSuccessor = new int[size];
+
+        for (int root = 0; root < size; root++) {
+
+            if (visited[root]) continue;
+
+            int depth = 0;
+            stack[depth++] = root;
+            visited[root] = true;
+
+            while (depth > 0) {
+
+                int node = stack[depth - 1];
+                int successor = successor(graph, node, nextSuccessor[node]++);
+
+                if (successor == END) {
+                    order[placed++] = node;   // every successor placed (or on the stack)
+                    depth--;
+                } else if (successor != CompiledWorkflow.NONE && !visited[successor]) {
+                    visited[successor] = true;
+                    stack[depth++] = successor;
+                }
+            }
+        }
+        return order;
+    }
+
+    // i-th outgoing edge: plain children, then the TRUE and FALSE targets (NONE if absent)
+    private static int successor(CompiledWorkflow graph, int node, int i) {
+
+        int children = graph.childrenEnd(node) - graph.childrenStart(node);
+
+        if (i < children) return graph.childAt(graph.childrenStart(node) + i);
+        if (i == children) return graph.getTrueTarget(node);
+        if (i == children + 1) return graph.getFalseTarget(node);
+        return END;
+    }
+}
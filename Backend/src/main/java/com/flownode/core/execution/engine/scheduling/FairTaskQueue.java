@@ -0,0 +1,383 @@
+package com.flownode.core.execution.engine.scheduling;
+
+import com.flownode.core.execution.engine.instance.WorkflowInstance;
+import com.flownode.core.execution.engine.task.NodeExecutionTask;
+import com.flownode.core.execution.engine.task.RunTask;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Work queue of the engine pool: weighted fair queuing over tenants, then over the runs of
+ * each tenant, instead of one FIFO.
+ *
+ * Two levels of stride scheduling. Every tenant and every run with queued nodes carries a
+ * virtual "pass"; the pool takes the next node from the tenant with the lowest pass, and
+ * within it from the run with the lowest pass, then advances both by {@code 1 / weight}.
+ * A run with 50k ready nodes therefore gets one slot per turn like everyone else, and a
+ * small run that becomes ready starts at the current virtual time instead of behind the
+ * backlog. Passes are counted in node tasks, not CPU time. A run's own nodes leave in
+ * order of {@link NodeExecutionTask#getRank()} (remaining critical path), FIFO on ties.
+ * Any other {@link RunTask} (e.g. a batch of map elements) is queued with its run's nodes.
+ *
+ * Other tasks (async completions handed back to the pool) go first, in FIFO order: they
+ * finish nodes that already hold their slot.
+ */
+public final class FairTaskQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    private static final Comparator<Flow> BY_PASS = Comparator.comparingDouble(flow -> flow.pass);
+
+    private static final Comparator<RunTask> BY_RANK =
+            Comparator.comparingLong(RunTask::getRank).reversed()
+                    .thenComparingLong(RunTask::getSubmittedNanos);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    // Engine-internal continuations → served before any node task
+    private final ArrayDeque<Runnable> system = new ArrayDeque<>();
+
+    // Tenants with queued work, plus those with a configured weight; names come from requests → idle ones are dropped
+    private final Map<String, Tenant> tenants = new HashMap<>();
+    private final PriorityQueue<Tenant> activeTenants = new PriorityQueue<>(BY_PASS);
+    private final Map<String, Integer> tenantWeights = new HashMap<>();
+
+    private double virtualTime;
+    private int size;
+
+
+    // ---------------- WEIGHTS ----------------
+
+    // Share of the pool against other tenants; unknown tenants weigh 1
+    public void setTenantWeight(String tenant, int weight) {
+
+        if (weight <= 0) {
+            throw new IllegalArgumentException("weight must be positive: " + weight);
+        }
+
+        lock.lock();
+        try {
+            tenantWeights.put(tenant, weight);
+            Tenant known = tenants.get(tenant);
+            if (known != null) known.weight = weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Tenants tracked right now: queued work or a configured weight
+    public int getTenantCount() {
+        lock.lock();
+        try {
+            return tenants.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Node tasks queued for one tenant
+    public int getQueuedTaskCount(String tenant) {
+        lock.lock();
+        try {
+            Tenant known = tenants.get(tenant);
+            return known == null ? 0 : known.size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    // ---------------- ENQUEUE ----------------
+
+    @Override
+    public boolean offer(Runnable task) {
+
+        lock.lock();
+        try {
+            if (task instanceof RunTask runTask) {
+                enqueue(runTask);
+            } else {
+                system.add(task);
+            }
+            size++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(RunTask task) {
+
+        WorkflowInstance instance = task.getInstance();
+        RunOptions options = instance.getOptions();
+
+        Tenant tenant = tenants.computeIfAbsent(options.tenant(),
+                name -> new Tenant(name, tenantWeights.getOrDefault(name, 1)));
+
+        // Idle (or dropped) tenant → rejoins at the current virtual time, no credit banked while away
+        if (tenant.active.isEmpty()) {
+            tenant.pass = Math.max(tenant.pass, virtualTime);
+            activeTenants.add(tenant);
+        }
+
+        RunFlow run = tenant.runs.get(instance);
+        if (run == null) {
+            run = new RunFlow(options.priority());
+            run.pass = tenant.virtualTime;
+            tenant.runs.put(instance, run);
+            tenant.active.add(run);
+        }
+
+        run.tasks.add(task);
+        tenant.size++;
+    }
+
+    @Override
+    public void put(Runnable task) {
+        offer(task);
+    }
+
+    // Unbounded → never waits
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) {
+        return offer(task);
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+
+    // ---------------- DEQUEUE ----------------
+
+    @Override
+    public Runnable poll() {
+        lock.lock();
+        try {
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (nanos <= 0) return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Runnable dequeue() {
+
+        if (size == 0) return null;
+        size--;
+
+        if (!system.isEmpty()) {
+            return system.poll();
+        }
+
+        // 1️⃣ Tenant with the lowest pass, 2️⃣ its run with the lowest pass
+        Tenant tenant = activeTenants.poll();
+        RunFlow run = tenant.active.poll();
+
+        virtualTime = tenant.pass;
+        tenant.virtualTime = run.pass;
+
+        RunTask task = run.tasks.poll();
+        tenant.size--;
+
+        // 3️⃣ Advance both by their stride and requeue whatever still has work
+        run.pass += 1.0 / run.priority;
+        if (run.tasks.isEmpty()) {
+            tenant.runs.remove(task.getInstance());
+        } else {
+            tenant.active.add(run);
+        }
+
+        tenant.pass += 1.0 / tenant.weight;
+        if (!tenant.active.isEmpty()) {
+            activeTenants.add(tenant);
+        } else {
+            dropIfIdle(tenant);
+        }
+
+        return task;
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            if (!system.isEmpty()) return system.peek();
+            Tenant tenant = activeTenants.peek();
+            return tenant == null ? null : tenant.active.peek().tasks.peek();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> target) {
+        return drainTo(target, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> target, int maxElements) {
+        lock.lock();
+        try {
+            int drained = 0;
+            while (drained < maxElements && size > 0) {
+                target.add(dequeue());
+                drained++;
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    // Weighted tenants stay; any other pass is at most one stride ahead, so rejoining at virtualTime costs nothing
+    private void dropIfIdle(Tenant tenant) {
+        if (!tenantWeights.containsKey(tenant.name)) {
+            tenants.remove(tenant.name);
+        }
+    }
+
+
+    // ---------------- COLLECTION ----------------
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Snapshot in no particular order; removal goes through remove(Object)
+    @Override
+    public Iterator<Runnable> iterator() {
+        lock.lock();
+        try {
+            List<Runnable> snapshot = new ArrayList<>(size);
+            snapshot.addAll(system);
+            for (Tenant tenant : tenants.values()) {
+                for (RunFlow run : tenant.runs.values()) {
+                    snapshot.addAll(run.tasks);
+                }
+            }
+            return snapshot.iterator();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object task) {
+        lock.lock();
+        try {
+            if (system.remove(task)) {
+                size--;
+                return true;
+            }
+
+            if (!(task instanceof RunTask runTask)) return false;
+
+            WorkflowInstance instance = runTask.getInstance();
+            Tenant tenant = tenants.get(instance.getOptions().tenant());
+            RunFlow run = tenant == null ? null : tenant.runs.get(instance);
+
+            if (run == null || !run.tasks.remove(task)) return false;
+
+            size--;
+            tenant.size--;
+
+            if (run.tasks.isEmpty()) {
+                tenant.runs.remove(instance);
+                tenant.active.remove(run);
+                if (tenant.active.isEmpty()) {
+                    activeTenants.remove(tenant);
+                    dropIfIdle(tenant);
+                }
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    // ---------------- FLOWS ----------------
+
+    private static class Flow {
+        double pass;
+    }
+
+    private static final class Tenant extends Flow {
+
+        private final String name;
+        private int weight;
+
+        // Runs with queued nodes, by pass; virtual time of the last run served
+        private final Map<WorkflowInstance, RunFlow> runs = new IdentityHashMap<>();
+        private final PriorityQueue<RunFlow> active = new PriorityQueue<>(BY_PASS);
+        private double virtualTime;
+        private int size;
+
+        private Tenant(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+    }
+
+    // Dropped as soon as its queue empties → a run's next node rejoins at the tenant's virtual time
+    private static final class RunFlow extends Flow {
+
+        private final int priority;
+        private final PriorityQueue<RunTask> tasks = new PriorityQueue<>(BY_RANK);
+
+        private RunFlow(int priority) {
+            this.priority = priority;
+        }
+    }
+}
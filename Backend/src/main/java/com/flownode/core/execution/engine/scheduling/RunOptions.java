@@ -0,0 +1,26 @@
+package com.flownode.core.execution.engine.scheduling;
+
+/**
+ * Scheduling identity of a run. The tenant's weight decides its share of the pool against
+ * other tenants; {@code priority} is the run's weight against the tenant's other runs, so a
+ * priority-4 run gets four node slots for every one of a priority-1 run while both are busy.
+ */
+public record RunOptions(String tenant, int priority) {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    public static final RunOptions DEFAULT = new RunOptions(DEFAULT_TENANT, 1);
+
+    public RunOptions {
+        if (tenant == null || tenant.isBlank()) {
+            tenant = DEFAULT_TENANT;
+        }
+        if (priority <= 0) {
+            throw new IllegalArgumentException("priority must be positive: " + priority);
+        }
+    }
+
+    public static RunOptions of(String tenant, Integer priority) {
+        return new RunOptions(tenant, priority == null ? 1 : priority);
+    }
+}
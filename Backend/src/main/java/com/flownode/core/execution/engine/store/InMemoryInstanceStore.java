@@ -0,0 +1,29 @@
+package com.flownode.core.execution.engine.store;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryInstanceStore implements InstanceStore {
+
+    private final Map<String, InstanceSnapshot> snapshots = new ConcurrentHashMap<>();   // Map<runId, snapshot>
+
+    @Override
+    public void save(InstanceSnapshot snapshot) {
+        snapshots.put(snapshot.runId(), snapshot);
+    }
+
+    @Override
+    public Optional<InstanceSnapshot> load(String runId) {
+        return Optional.ofNullable(snapshots.get(runId));
+    }
+
+    @Override
+    public void remove(String runId) {
+        snapshots.remove(runId);
+    }
+
+    public int size() {
+        return snapshots.size();
+    }
+}
@@ -0,0 +1,26 @@
+package com.flownode.core.execution.engine.store;
+
+import com.flownode.core.execution.engine.scheduling.RunOptions;
+import com.flownode.core.state.NodeState;
+import com.flownode.core.state.WorkflowState;
+
+import java.util.Map;
+
+/**
+ * Detached copy of a workflow instance: enough to rebuild it on any engine that
+ * knows the workflow. Node states are keyed by node id (PENDING nodes omitted);
+ * workflowVersion pins the graph the run started on (null when unversioned). inputs
+ * are the values the run started from, null when they were not recorded; options
+ * are the run's tenant and priority.
+ */
+public record InstanceSnapshot(
+        String runId,
+        String workflowId,
+        String workflowVersion,
+        WorkflowState state,
+        Map<String, Object> inputs,
+        Map<String, Object> data,
+        Map<String, NodeState> nodeStates,
+        RunOptions options
+) {
+}
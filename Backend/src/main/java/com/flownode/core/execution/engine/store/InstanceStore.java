@@ -0,0 +1,13 @@
+package com.flownode.core.execution.engine.store;
+
+import java.util.Optional;
+
+// Where suspended instances are parked while nothing of theirs is running
+public interface InstanceStore {
+
+    void save(InstanceSnapshot snapshot);
+
+    Optional<InstanceSnapshot> load(String runId);
+
+    void remove(String runId);
+}
@@ -0,0 +1,138 @@
+package com.flownode.core.execution.engine.task;
+
+import com.flownode.core.execution.engine.instance.WorkflowInstance;
+import com.flownode.core.execution.node.impl.composite.MapNode;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link MapNode} in flight on the concurrent engine.
+ *
+ * Elements are claimed from a shared cursor by at most {@code maxConcurrency} lanes. A lane
+ * maps up to {@link #BATCH} elements and then requeues itself as a {@link RunTask} of the
+ * run, so a 100k-element map takes its turn on the pool like any other work of its run.
+ * The first failing element fails the node; the remaining elements are not started.
+ */
+public final class MapExecution {
+
+    private static final int BATCH = 64;
+
+    private final MapNode node;
+    private final WorkflowInstance instance;
+    private final Executor pool;
+    private final long rank;
+
+    private final Object[] items;
+    private final Object[] results;
+
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final AtomicInteger remaining;
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    private MapExecution(MapNode node, WorkflowInstance instance, Executor pool, long rank, Object[] items) {
+        this.node = node;
+        this.instance = instance;
+        this.pool = pool;
+        this.rank = rank;
+        this.items = items;
+        this.results = new Object[items.length];
+        this.remaining = new AtomicInteger(items.length);
+    }
+
+    // Completes once every element is mapped and the results are stored in the run's context
+    public static CompletionStage<Void> start(MapNode node, WorkflowInstance instance, Executor pool, long rank) {
+
+        Object[] items;
+        try {
+            items = node.items(instance.getContext());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        if (items.length == 0) {
+            node.storeResults(instance.getContext(), items);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        MapExecution execution = new MapExecution(node, instance, pool, rank, items);
+
+        for (int lane = Math.min(node.getMaxConcurrency(), items.length); lane > 0; lane--) {
+            execution.schedule();
+        }
+        return execution.done;
+    }
+
+    private void schedule() {
+        try {
+            pool.execute(new Lane());
+        } catch (RejectedExecutionException e) {
+            done.completeExceptionally(e);
+        }
+    }
+
+    private void fail(int index, RuntimeException e) {
+        done.completeExceptionally(new RuntimeException(
+                "Map node " + node.getNodeId() + " failed at element " + index, e));
+    }
+
+
+    // ---------------- LANES ----------------
+
+    private final class Lane implements RunTask {
+
+        private final long submittedNanos = System.nanoTime();
+
+        @Override
+        public void run() {
+
+            for (int n = 0; n < BATCH; n++) {
+
+                // Failed element or failed run → stop claiming
+                if (done.isDone()) return;
+                if (instance.isFinished()) {
+                    done.completeExceptionally(new IllegalStateException("Run finished while mapping: " + instance.getRunId()));
+                    return;
+                }
+
+                int index = cursor.getAndIncrement();
+                if (index >= items.length) return;   // the other lanes finish what they claimed
+
+                try {
+                    results[index] = node.mapElement(index, items[index]);
+                } catch (RuntimeException e) {
+                    fail(index, e);
+                    return;
+                }
+
+                // Last element → every result write happened before this decrement
+                if (remaining.decrementAndGet() == 0) {
+                    node.storeResults(instance.getContext(), results);
+                    done.complete(null);
+                    return;
+                }
+            }
+
+            // Batch used up → back into the run's queue, other work gets its turn
+            schedule();
+        }
+
+        @Override
+        public WorkflowInstance getInstance() {
+            return instance;
+        }
+
+        @Override
+        public long getRank() {
+            return rank;
+        }
+
+        @Override
+        public long getSubmittedNanos() {
+            return submittedNanos;
+        }
+    }
+}
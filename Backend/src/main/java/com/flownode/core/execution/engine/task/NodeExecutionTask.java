@@ -1,56 +1,255 @@
 package com.flownode.core.execution.engine.task;
 
-import com.flownode.core.execution.context.WorkflowExecutionContext;
 import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.execution.engine.instance.WorkflowInstance;
+import com.flownode.core.execution.event.ExecutionEventType;
+import com.flownode.core.execution.node.AsyncNode;
+import com.flownode.core.execution.node.BaseNode;
 import com.flownode.core.execution.node.Node;
-import com.flownode.core.workflow.Workflow;
+import com.flownode.core.execution.node.SuspendingNode;
+import com.flownode.core.execution.node.impl.composite.MapNode;
+import com.flownode.core.execution.node.impl.composite.SubWorkflowNode;
+import com.flownode.core.execution.node.impl.lifecycle.DelayNode;
 
-public class NodeExecutionTask implements Runnable{
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 
-    private final String nodeId;
-    private final Workflow workflow;
-    private final WorkflowExecutionContext context;
+public class NodeExecutionTask implements RunTask {
+
+    private final int nodeOrdinal;
+    private final WorkflowInstance instance;
     private final ConcurrentWorkflowExecutor executor;
 
-    public NodeExecutionTask(String nodeId, Workflow workflow, WorkflowExecutionContext context, ConcurrentWorkflowExecutor executor) {
-        this.nodeId = nodeId;
-        this.workflow = workflow;
-        this.context = context;
+    // Non-null → completes a parked SuspendingNode instead of reaching it
+    private final Map<String, Object> resumePayload;
+
+    // Queue wait = started - submitted; execution time = completed - started
+    private final long submittedNanos = System.nanoTime();
+    private long startedNanos;
+
+    // Estimated remaining critical path when submitted → the pool runs higher ranks of a run first
+    private final long rank;
+
+    public NodeExecutionTask(int nodeOrdinal, WorkflowInstance instance, ConcurrentWorkflowExecutor executor) {
+        this(nodeOrdinal, instance, executor, null);
+    }
+
+    private NodeExecutionTask(int nodeOrdinal,
+                              WorkflowInstance instance,
+                              ConcurrentWorkflowExecutor executor,
+                              Map<String, Object> resumePayload) {
+        this.nodeOrdinal = nodeOrdinal;
+        this.instance = instance;
         this.executor = executor;
+        this.resumePayload = resumePayload;
+        this.rank = executor == null ? 0 : executor.rankOf(instance, nodeOrdinal);
+    }
+
+    public static NodeExecutionTask resuming(int nodeOrdinal,
+                                             WorkflowInstance instance,
+                                             ConcurrentWorkflowExecutor executor,
+                                             Map<String, Object> payload) {
+        return new NodeExecutionTask(nodeOrdinal, instance, executor, payload);
+    }
+
+    @Override
+    public WorkflowInstance getInstance() {
+        return instance;
+    }
+
+    @Override
+    public long getRank() {
+        return rank;
+    }
+
+    @Override
+    public long getSubmittedNanos() {
+        return submittedNanos;
     }
 
     @Override
     public void run() {
 
-        boolean success = false;
+        startedNanos = System.nanoTime();
+        executor.getMetrics().recordQueueWait(startedNanos - submittedNanos);
+
+        // A run that already failed does not execute its remaining queued nodes
+        if (instance.isFinished()) {
+            release();
+            return;
+        }
+
         Exception caughtException = null;
+        boolean parked = false;
 
         try {
-            Node node = workflow.getNode(nodeId)
-                    .orElseThrow(() -> new RuntimeException("Node not found with id: " + nodeId));
+            Node node = instance.getGraph().nodeAt(nodeOrdinal);
+
+            executor.emit(ExecutionEventType.NODE_STARTED, instance, nodeOrdinal, null);
+
+            if (resumePayload != null) {
+                // Resumed → apply the payload and finish the node's lifecycle on this worker
+                resume((SuspendingNode) node).whenComplete(
+                        (ignored, error) -> complete(error == null ? null : unwrap(error))
+                );
+                return;
 
-            node.execute(context);
+            } else if (node instanceof SuspendingNode suspendingNode) {
+                CompletionStage<Void> failed = suspend(suspendingNode);
 
-            success = true;
+                if (failed != null) {
+                    failed.whenComplete((ignored, error) -> complete(unwrap(error)));
+                    return;
+                }
+                parked = true;
+
+            } else {
+                CompletionStage<Void> pending = startAsync(node);
+
+                if (pending != null) {
+                    // Worker is released now; completion resumes on the engine pool
+                    pending.whenCompleteAsync(
+                            (ignored, error) -> complete(error == null ? null : unwrap(error)),
+                            executor.getExecutorService()
+                    );
+                    return;
+                }
+
+                executor.executeNode(node, instance.getContext());
+            }
 
         } catch (Exception e) {
             caughtException = e;
+        }
 
-        } finally {
+        if (parked) {
+            release();
+            return;
+        }
+
+        complete(caughtException);
+    }
+
+    // Non-null for nodes that finish later instead of on this thread
+    private CompletionStage<Void> startAsync(Node node) {
+
+        if (node instanceof DelayNode delayNode) {
+            // Park on the timer wheel while the delay elapses; hooks run as on the sync path
+            return delayNode.executeWith(instance.getContext(), context -> executor.delay(delayNode.getDelayMillis()));
+        }
+
+        if (node instanceof MapNode mapNode) {
+            // Elements run as batches of this run on the pool, at most maxConcurrency at a time; hooks wrap the whole map
+            return mapNode.executeWith(instance.getContext(),
+                    context -> MapExecution.start(mapNode, instance, executor.getExecutorService(), rank));
+        }
 
+        if (node instanceof SubWorkflowNode subWorkflowNode) {
+            // Child run shares the pool; this node completes, hooks included, when the child finishes
+            return subWorkflowNode.executeWith(instance.getContext(),
+                    context -> executor.startSubWorkflow(subWorkflowNode, instance));
+        }
+
+        if (node instanceof AsyncNode asyncNode) {
+            // AsyncBaseNode applies the lifecycle itself; no result cache (async nodes aren't memoizable)
+            return asyncNode.executeAsync(instance.getContext());
+        }
+
+        return null;
+    }
+
+    // Parks the node as WAITING → no thread is held until resume(); non-null if it failed before parking
+    private CompletionStage<Void> suspend(SuspendingNode node) {
+
+        if (!(node instanceof BaseNode baseNode)) {
+            executor.onNodeSuspended(nodeOrdinal, instance);
+            return null;
+        }
+
+        // Hooks run around the wait: beforeExecute now, afterExecute / onFailure once resume() completes the signal
+        CompletableFuture<Map<String, Object>> signal = new CompletableFuture<>();
+        CompletionStage<Void> lifecycle = baseNode.executeWith(instance.getContext(),
+                context -> signal.thenAccept(payload -> node.onResume(context, payload)));
+
+        // beforeExecute threw → the node fails now instead of parking
+        if (lifecycle.toCompletableFuture().isDone()) {
+            return lifecycle;
+        }
+
+        instance.addSuspension(nodeOrdinal, payload -> {
+            signal.complete(payload);
+            return lifecycle;
+        });
+
+        try {
+            executor.onNodeSuspended(nodeOrdinal, instance);
+        } catch (RuntimeException e) {
+            instance.takeSuspension(nodeOrdinal);
+            signal.completeExceptionally(e);
+            return lifecycle;
+        }
+        return null;
+    }
+
+    // Completed on this worker: the hooks' dependents run as the payload is applied
+    private CompletionStage<Void> resume(SuspendingNode node) {
+
+        Function<Map<String, Object>, CompletionStage<Void>> parked = instance.takeSuspension(nodeOrdinal);
+        if (parked != null) {
+            return parked.apply(resumePayload);
+        }
+
+        // Parked by an earlier incarnation of the run → beforeExecute already ran there
+        CompletionStage<Void> applied;
+        try {
+            node.onResume(instance.getContext(), resumePayload);
+            applied = CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            applied = CompletableFuture.failedFuture(e);
+        }
+
+        return node instanceof BaseNode baseNode ? baseNode.completeWith(instance.getContext(), applied) : applied;
+    }
+
+    private void complete(Exception caughtException) {
+
+        long elapsedNanos = System.nanoTime() - startedNanos;
+
+        executor.getMetrics().recordNodeExecution(
+                instance.getGraph().nodeAt(nodeOrdinal).getClass(),
+                elapsedNanos,
+                caughtException == null
+        );
+        executor.recordNodeLatency(instance, nodeOrdinal, elapsedNanos);
+
+        try {
             // ✅ Handle success/failure FIRST
-            if (success) {
-                executor.addExecutedNodes(nodeId);
-                executor.onNodeExecutionSuccess(nodeId, workflow, context);
+            if (caughtException == null) {
+                executor.onNodeExecutionSuccess(nodeOrdinal, instance);
             } else {
-                executor.onNodeExecutionFailed(nodeId, workflow, context, caughtException);
+                executor.onNodeExecutionFailed(nodeOrdinal, instance, caughtException);
             }
+        } finally {
+            release();
+        }
+    }
 
-            // ✅ Decrement AFTER children are submitted
-            executor.decrementActiveTasks();
+    private void release() {
+        // ✅ Decrement AFTER children are submitted
+        executor.decrementActiveTasks(instance);
 
-            // ✅ Check completion AFTER decrement
-            executor.checkForWorkflowCompletion(workflow);
-        }
+        // ✅ Check completion AFTER decrement
+        executor.checkForWorkflowCompletion(instance);
+    }
+
+    private static Exception unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+
+        return cause instanceof Exception e ? e : new RuntimeException(cause);
     }
 }
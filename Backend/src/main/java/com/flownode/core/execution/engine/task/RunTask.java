@@ -0,0 +1,17 @@
+package com.flownode.core.execution.engine.task;
+
+import com.flownode.core.execution.engine.instance.WorkflowInstance;
+
+/**
+ * Pool task that does work on behalf of one run, so the {@link
+ * com.flownode.core.execution.engine.scheduling.FairTaskQueue} queues it in that run's flow.
+ */
+public interface RunTask extends Runnable {
+
+    WorkflowInstance getInstance();
+
+    // Higher runs first within the run
+    long getRank();
+
+    long getSubmittedNanos();
+}
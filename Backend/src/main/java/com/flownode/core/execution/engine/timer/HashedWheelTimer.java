@@ -0,0 +1,242 @@
+package com.flownode.core.execution.engine.timer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hashed timer wheel: one thread serves any number of pending timeouts.
+ *
+ * Timeouts are hashed into {@code ticksPerWheel} buckets by deadline; every tick the worker
+ * expires one bucket, decrementing the round counter of entries that are more than one
+ * revolution away. A pending timeout is a small object in a bucket, never a parked thread.
+ * Tasks run on the timer thread, so they must only hand work off (e.g. submit to a pool).
+ */
+public final class HashedWheelTimer {
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+
+    // New timeouts are handed to the worker lock-free and placed into buckets on its next tick
+    private final Queue<Timeout> pendingAdds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingTimeouts = new AtomicLong(0);
+
+    private final Thread worker;
+    private final long startNanos;
+    private volatile boolean running = true;
+
+
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be positive: " + tickDuration);
+        }
+        if (ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("ticksPerWheel must be positive: " + ticksPerWheel);
+        }
+
+        // Round up to a power of two so the bucket index is a mask
+        int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        if (ticksPerWheel == 1) size = 1;
+
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[size];
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::runWorker, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+
+    // ---------------- SCHEDULING ----------------
+
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+
+        if (!running) {
+            throw new IllegalStateException("Timer is stopped");
+        }
+
+        long deadline = System.nanoTime() - startNanos + unit.toNanos(Math.max(0, delay));
+        Timeout timeout = new Timeout(task, deadline);
+
+        pendingTimeouts.incrementAndGet();
+        pendingAdds.add(timeout);
+        return timeout;
+    }
+
+    public long getPendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+
+    // ---------------- WORKER ----------------
+
+    private void runWorker() {
+
+        long tick = 0;
+
+        while (running) {
+
+            long tickDeadline = waitForNextTick(tick);
+            if (tickDeadline < 0) {
+                break;  // interrupted by stop()
+            }
+
+            transferPendingAdds(tick);
+            expire(wheel[(int) (tick & mask)], tickDeadline);
+            tick++;
+        }
+    }
+
+    private long waitForNextTick(long tick) {
+
+        long tickDeadline = tickNanos * (tick + 1);
+
+        while (true) {
+            long sleepNanos = tickDeadline - (System.nanoTime() - startNanos);
+
+            if (sleepNanos <= 0) {
+                return tickDeadline;
+            }
+
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferPendingAdds(long currentTick) {
+
+        Timeout timeout;
+
+        while ((timeout = pendingAdds.poll()) != null) {
+
+            if (timeout.cancelled) {
+                pendingTimeouts.decrementAndGet();
+                continue;
+            }
+
+            long targetTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = Math.max(0, (targetTick - currentTick) / wheel.length);
+
+            // Already overdue → expire on the current tick
+            long tick = Math.max(targetTick, currentTick);
+            wheel[(int) (tick & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Bucket bucket, long tickDeadline) {
+
+        Timeout timeout = bucket.head;
+
+        while (timeout != null) {
+
+            Timeout next = timeout.next;
+
+            if (timeout.cancelled) {
+                bucket.remove(timeout);
+                pendingTimeouts.decrementAndGet();
+
+            } else if (timeout.remainingRounds <= 0 && timeout.deadline <= tickDeadline) {
+                bucket.remove(timeout);
+                pendingTimeouts.decrementAndGet();
+                timeout.fire();
+
+            } else {
+                timeout.remainingRounds--;
+            }
+
+            timeout = next;
+        }
+    }
+
+
+    // ---------------- ENTRIES ----------------
+
+    public static final class Timeout {
+
+        private final Runnable task;
+        private final long deadline;   // nanos since timer start
+
+        private long remainingRounds;
+        private volatile boolean cancelled;
+
+        // Bucket links, touched by the worker thread only
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void fire() {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                // A failing task must never kill the timer thread
+                System.err.println("Timer task failed: " + t);
+            }
+        }
+    }
+
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.prev = tail;
+            timeout.next = null;
+
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+
+            timeout.prev = null;
+            timeout.next = null;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.flownode.core.execution.event;
+
+// Prints the engine's progress the way the executors used to, off the worker threads
+public class ConsoleExecutionListener implements ExecutionListener {
+
+    @Override
+    public void onEvent(ExecutionEvent event) {
+
+        switch (event.getType()) {
+            case NODE_COMPLETED -> {
+                if (event.getDetail() != null) {
+                    System.out.println(event.getNodeId() + " → Condition " + event.getDetail());
+                }
+            }
+            case NODE_SKIPPED -> System.out.println("Node Skipped → " + event.getNodeId());
+            case NODE_WAITING -> System.out.println("Waiting for manual approval → " + event.getNodeId());
+            case NODE_FAILED -> System.err.println("Node execution failed: " + event.getNodeId() + " | Error: " + event.getDetail());
+            case WORKFLOW_COMPLETED -> System.out.println("Workflow execution completed successfully. runId=" + event.getRunId());
+            case WORKFLOW_FAILED -> System.err.println("Workflow marked failed due to node: " + event.getNodeId() + " | runId=" + event.getRunId());
+            default -> {
+                // scheduling detail is too chatty for the console
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.flownode.core.execution.event;
+
+/**
+ * One slot of the event ring. Slots are preallocated and reused, so an event is only
+ * valid for the duration of {@link ExecutionListener#onEvent}; copy what you keep.
+ *
+ * {@code detail} carries event specific text: the branch taken ("TRUE" / "FALSE") for a
+ * completed condition node, the error message for a failure.
+ */
+public final class ExecutionEvent {
+
+    private ExecutionEventType type;
+    private String runId;
+    private String workflowId;
+    private String nodeId;      // null for workflow events
+    private String detail;
+    private long timestampNanos;
+
+    // Sequence this slot was last published for → written last, read first
+    private volatile long publishedSequence = -1;
+
+    ExecutionEvent() {
+    }
+
+    void set(ExecutionEventType type, String runId, String workflowId, String nodeId, String detail, long timestampNanos) {
+        this.type = type;
+        this.runId = runId;
+        this.workflowId = workflowId;
+        this.nodeId = nodeId;
+        this.detail = detail;
+        this.timestampNanos = timestampNanos;
+    }
+
+    void publish(long sequence) {
+        publishedSequence = sequence;
+    }
+
+    boolean isPublished(long sequence) {
+        return publishedSequence == sequence;
+    }
+
+    // Drops references so a slot never keeps ids of old runs alive
+    void clear() {
+        runId = null;
+        workflowId = null;
+        nodeId = null;
+        detail = null;
+    }
+
+    public ExecutionEventType getType() {
+        return type;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public String getWorkflowId() {
+        return workflowId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    // System.nanoTime() on the publishing thread
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    @Override
+    public String toString() {
+        return type + " run=" + runId + (nodeId == null ? "" : " node=" + nodeId) + (detail == null ? "" : " " + detail);
+    }
+}
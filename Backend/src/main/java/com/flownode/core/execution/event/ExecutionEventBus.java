@@ -0,0 +1,194 @@
+package com.flownode.core.execution.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multi-producer / single-consumer ring of preallocated {@link ExecutionEvent} slots.
+ *
+ * Workers claim a sequence with one CAS, fill the slot and publish it; a single dispatcher
+ * thread hands slots to the listeners in sequence order. Publishing never blocks and never
+ * allocates: when the ring is full the event is dropped and counted. With no listener
+ * registered, publishing is a single volatile read. An idle dispatcher spins briefly, then
+ * parks until the next publish wakes it.
+ */
+public final class ExecutionEventBus {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private final ExecutionEvent[] slots;
+    private final int mask;
+
+    // Next sequence to claim (producers) / next sequence to dispatch (dispatcher)
+    private final AtomicLong head = new AtomicLong(0);
+    private volatile long tail = 0;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final List<ExecutionListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean hasListeners;
+
+    private final String name;
+    private Thread dispatcher;
+    private volatile boolean running = true;
+
+    // Set by the dispatcher before it parks on an empty ring → the next publish unparks it
+    private volatile boolean dispatcherParked;
+
+
+    public ExecutionEventBus(String name) {
+        this(name, DEFAULT_CAPACITY);
+    }
+
+    public ExecutionEventBus(String name, int capacity) {
+
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+
+        // Round up to a power of two so the slot index is a mask
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+
+        this.name = name;
+        this.slots = new ExecutionEvent[size];
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            slots[i] = new ExecutionEvent();
+        }
+    }
+
+
+    // ---------------- LISTENERS ----------------
+
+    // The dispatcher thread starts with the first listener
+    public synchronized void addListener(ExecutionListener listener) {
+
+        if (!running) {
+            throw new IllegalStateException("Event bus is stopped");
+        }
+
+        listeners.add(listener);
+        hasListeners = true;
+
+        if (dispatcher == null) {
+            dispatcher = new Thread(this::dispatchLoop, name);
+            dispatcher.setDaemon(true);
+            dispatcher.start();
+        }
+    }
+
+    public synchronized void removeListener(ExecutionListener listener) {
+        listeners.remove(listener);
+        hasListeners = !listeners.isEmpty();
+    }
+
+
+    // ---------------- PUBLISHING ----------------
+
+    // Returns false if the event was dropped (ring full) or nobody listens
+    public boolean publish(ExecutionEventType type, String runId, String workflowId, String nodeId, String detail) {
+
+        if (!hasListeners) return false;
+
+        long sequence;
+        do {
+            sequence = head.get();
+
+            // Ring full → drop instead of stalling a worker
+            if (sequence - tail >= slots.length) {
+                dropped.increment();
+                return false;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+
+        ExecutionEvent slot = slots[(int) (sequence & mask)];
+        slot.set(type, runId, workflowId, nodeId, detail, System.nanoTime());
+        slot.publish(sequence);
+
+        // Dekker pair with dispatchLoop: either it sees this slot, or this sees it parked
+        if (dispatcherParked) {
+            LockSupport.unpark(dispatcher);
+        }
+        return true;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    // Published but not yet dispatched
+    public long getBacklog() {
+        return head.get() - tail;
+    }
+
+
+    // ---------------- DISPATCH ----------------
+
+    private void dispatchLoop() {
+
+        int idleSpins = 0;
+
+        while (true) {
+
+            long next = tail;
+            ExecutionEvent slot = slots[(int) (next & mask)];
+
+            if (!slot.isPublished(next)) {
+
+                // Stop only once everything claimed so far has been delivered
+                if (!running && head.get() == next) return;
+
+                if (++idleSpins < 100) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+
+                // Idle → sleep until a publish or stop() unparks; re-check after announcing it
+                dispatcherParked = true;
+                if (running && !slot.isPublished(next)) {
+                    LockSupport.park(this);
+                }
+                dispatcherParked = false;
+                continue;
+            }
+
+            idleSpins = 0;
+
+            for (ExecutionListener listener : listeners) {
+                try {
+                    listener.onEvent(slot);
+                } catch (Throwable t) {
+                    // A failing listener must never kill the dispatcher
+                    System.err.println("Execution listener failed: " + t);
+                }
+            }
+
+            slot.clear();
+            tail = next + 1;   // frees the slot for producers
+        }
+    }
+
+    // Delivers what is already in the ring, then stops the dispatcher
+    public void stop() {
+
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = dispatcher;
+        }
+
+        if (thread == null) return;
+
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.flownode.core.execution.event;
+
+public enum ExecutionEventType {
+    NODE_SCHEDULED,
+    NODE_STARTED,
+    NODE_COMPLETED,
+    NODE_FAILED,
+    NODE_SKIPPED,
+    NODE_WAITING,
+    WORKFLOW_SUSPENDED,
+    WORKFLOW_COMPLETED,
+    WORKFLOW_FAILED
+}
@@ -0,0 +1,8 @@
+package com.flownode.core.execution.event;
+
+// Called on the event dispatcher thread, never on a worker
+@FunctionalInterface
+public interface ExecutionListener {
+
+    void onEvent(ExecutionEvent event);
+}
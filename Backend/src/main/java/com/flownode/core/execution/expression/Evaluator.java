@@ -0,0 +1,272 @@
+package com.flownode.core.execution.expression;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+
+import java.util.Objects;
+
+/**
+ * Node of a compiled expression tree. Each operator is its own final class and each node
+ * knows its static type, so a numeric comparison calls {@link #number} on both sides and
+ * never boxes, and a boolean operator calls {@link #bool} directly. Only context reads are
+ * dynamically typed; they convert at the leaf.
+ */
+abstract class Evaluator {
+
+    enum Type { NUMBER, BOOLEAN, STRING, ANY }
+
+    abstract Type type();
+
+    abstract Object value(WorkflowExecutionContext context);
+
+    double number(WorkflowExecutionContext context) {
+        return toNumber(value(context), this);
+    }
+
+    boolean bool(WorkflowExecutionContext context) {
+        return toBoolean(value(context));
+    }
+
+    // No context reads below this node → folded into a literal at compile time
+    boolean isConstant() {
+        return false;
+    }
+
+
+    // ---------------- CONVERSIONS ----------------
+
+    static double toNumber(Object value, Evaluator source) {
+
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value instanceof String string) {
+            try {
+                return Double.parseDouble(string);
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Not a number in " + source + ": " + string);
+            }
+        }
+        if (value == null) {
+            throw new RuntimeException("Missing context value for " + source);
+        }
+        throw new RuntimeException("Not a number in " + source + ": " + value);
+    }
+
+    // Same rule as BooleanConditionNode → only Boolean.TRUE is true
+    static boolean toBoolean(Object value) {
+        return value instanceof Boolean b && b;
+    }
+
+    // Numbers compare by value whatever their boxed type (7500 == 7500.0)
+    static boolean looselyEquals(Object left, Object right) {
+        if (left instanceof Number a && right instanceof Number b) {
+            return a.doubleValue() == b.doubleValue();
+        }
+        return Objects.equals(left, right);
+    }
+
+
+    // ---------------- LEAVES ----------------
+
+    static final class NumberLiteral extends Evaluator {
+        private final double value;
+        private final Double boxed;
+
+        NumberLiteral(double value) {
+            this.value = value;
+            this.boxed = value;
+        }
+
+        @Override Type type() { return Type.NUMBER; }
+        @Override Object value(WorkflowExecutionContext context) { return boxed; }
+        @Override double number(WorkflowExecutionContext context) { return value; }
+        @Override boolean isConstant() { return true; }
+        @Override public String toString() { return String.valueOf(value); }
+    }
+
+    static final class Literal extends Evaluator {
+        private final Object value;
+        private final Type type;
+
+        Literal(Object value) {
+            this.value = value;
+            this.type = value instanceof Boolean ? Type.BOOLEAN : value instanceof String ? Type.STRING : Type.ANY;
+        }
+
+        @Override Type type() { return type; }
+        @Override Object value(WorkflowExecutionContext context) { return value; }
+        @Override boolean isConstant() { return true; }
+        @Override public String toString() { return value instanceof String ? "'" + value + "'" : String.valueOf(value); }
+    }
+
+    static final class Variable extends Evaluator {
+        private final String key;
+
+        Variable(String key) {
+            this.key = key;
+        }
+
+        String key() { return key; }
+
+        @Override Type type() { return Type.ANY; }
+        @Override Object value(WorkflowExecutionContext context) { return context.get(key); }
+
+        // Hot path: boxed numbers convert without going through a String
+        @Override double number(WorkflowExecutionContext context) {
+            Object value = context.get(key);
+            return value instanceof Number number ? number.doubleValue() : toNumber(value, this);
+        }
+
+        @Override public String toString() { return "'" + key + "'"; }
+    }
+
+
+    // ---------------- ARITHMETIC ----------------
+
+    abstract static class Arithmetic extends Evaluator {
+        final Evaluator left;
+        final Evaluator right;
+
+        Arithmetic(Evaluator left, Evaluator right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override final Type type() { return Type.NUMBER; }
+        @Override final Object value(WorkflowExecutionContext context) { return number(context); }
+        @Override final boolean isConstant() { return left.isConstant() && right.isConstant(); }
+    }
+
+    static final class Add extends Arithmetic {
+        Add(Evaluator left, Evaluator right) { super(left, right); }
+        @Override double number(WorkflowExecutionContext c) { return left.number(c) + right.number(c); }
+    }
+
+    static final class Subtract extends Arithmetic {
+        Subtract(Evaluator left, Evaluator right) { super(left, right); }
+        @Override double number(WorkflowExecutionContext c) { return left.number(c) - right.number(c); }
+    }
+
+    static final class Multiply extends Arithmetic {
+        Multiply(Evaluator left, Evaluator right) { super(left, right); }
+        @Override double number(WorkflowExecutionContext c) { return left.number(c) * right.number(c); }
+    }
+
+    static final class Divide extends Arithmetic {
+        Divide(Evaluator left, Evaluator right) { super(left, right); }
+        @Override double number(WorkflowExecutionContext c) { return left.number(c) / right.number(c); }
+    }
+
+    static final class Remainder extends Arithmetic {
+        Remainder(Evaluator left, Evaluator right) { super(left, right); }
+        @Override double number(WorkflowExecutionContext c) { return left.number(c) % right.number(c); }
+    }
+
+    static final class Negate extends Evaluator {
+        private final Evaluator operand;
+
+        Negate(Evaluator operand) { this.operand = operand; }
+
+        @Override Type type() { return Type.NUMBER; }
+        @Override Object value(WorkflowExecutionContext c) { return number(c); }
+        @Override double number(WorkflowExecutionContext c) { return -operand.number(c); }
+        @Override boolean isConstant() { return operand.isConstant(); }
+    }
+
+
+    // ---------------- COMPARISON ----------------
+
+    abstract static class Predicate extends Evaluator {
+        @Override final Type type() { return Type.BOOLEAN; }
+        @Override final Object value(WorkflowExecutionContext context) { return bool(context); }
+    }
+
+    abstract static class NumericComparison extends Predicate {
+        final Evaluator left;
+        final Evaluator right;
+
+        NumericComparison(Evaluator left, Evaluator right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override final boolean isConstant() { return left.isConstant() && right.isConstant(); }
+    }
+
+    static final class Less extends NumericComparison {
+        Less(Evaluator left, Evaluator right) { super(left, right); }
+        @Override boolean bool(WorkflowExecutionContext c) { return left.number(c) < right.number(c); }
+    }
+
+    static final class LessOrEqual extends NumericComparison {
+        LessOrEqual(Evaluator left, Evaluator right) { super(left, right); }
+        @Override boolean bool(WorkflowExecutionContext c) { return left.number(c) <= right.number(c); }
+    }
+
+    static final class Greater extends NumericComparison {
+        Greater(Evaluator left, Evaluator right) { super(left, right); }
+        @Override boolean bool(WorkflowExecutionContext c) { return left.number(c) > right.number(c); }
+    }
+
+    static final class GreaterOrEqual extends NumericComparison {
+        GreaterOrEqual(Evaluator left, Evaluator right) { super(left, right); }
+        @Override boolean bool(WorkflowExecutionContext c) { return left.number(c) >= right.number(c); }
+    }
+
+    // == / != with a numeric side compare numbers; otherwise values
+    static final class NumericEquals extends NumericComparison {
+        NumericEquals(Evaluator left, Evaluator right) { super(left, right); }
+        @Override boolean bool(WorkflowExecutionContext c) { return left.number(c) == right.number(c); }
+    }
+
+    static final class ValueEquals extends Predicate {
+        private final Evaluator left;
+        private final Evaluator right;
+
+        ValueEquals(Evaluator left, Evaluator right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override boolean bool(WorkflowExecutionContext c) { return looselyEquals(left.value(c), right.value(c)); }
+        @Override boolean isConstant() { return left.isConstant() && right.isConstant(); }
+    }
+
+
+    // ---------------- BOOLEAN LOGIC ----------------
+
+    static final class Not extends Predicate {
+        private final Evaluator operand;
+
+        Not(Evaluator operand) { this.operand = operand; }
+
+        @Override boolean bool(WorkflowExecutionContext c) { return !operand.bool(c); }
+        @Override boolean isConstant() { return operand.isConstant(); }
+    }
+
+    static final class And extends Predicate {
+        private final Evaluator left;
+        private final Evaluator right;
+
+        And(Evaluator left, Evaluator right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override boolean bool(WorkflowExecutionContext c) { return left.bool(c) && right.bool(c); }
+        @Override boolean isConstant() { return left.isConstant() && right.isConstant(); }
+    }
+
+    static final class Or extends Predicate {
+        private final Evaluator left;
+        private final Evaluator right;
+
+        Or(Evaluator left, Evaluator right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override boolean bool(WorkflowExecutionContext c) { return left.bool(c) || right.bool(c); }
+        @Override boolean isConstant() { return left.isConstant() && right.isConstant(); }
+    }
+}
@@ -0,0 +1,66 @@
+package com.flownode.core.execution.expression;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * A condition or arithmetic expression over context keys, parsed once into a typed
+ * evaluator tree. Evaluation is plain virtual calls over that tree: no re-parsing, no
+ * string conversion of numeric context values, and constant subtrees already folded.
+ * Immutable and safe to share between threads and runs.
+ *
+ * <pre>
+ * amount > 5000 &amp;&amp; region == 'US'
+ * (risk * 100 >= 70 or vip) and not blocked
+ * </pre>
+ */
+public final class Expression {
+
+    private final String source;
+    private final Evaluator root;
+    private final Set<String> variables;
+
+    private Expression(String source, Evaluator root, Set<String> variables) {
+        this.source = source;
+        this.root = root;
+        this.variables = Collections.unmodifiableSet(variables);
+    }
+
+    // IllegalArgumentException with the position of the first syntax error
+    public static Expression compile(String source) {
+
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException("Expression is empty");
+        }
+
+        ExpressionParser parser = new ExpressionParser(source);
+        Evaluator root = parser.parse();
+
+        return new Expression(source, root, parser.variables);
+    }
+
+    // Boolean result; anything but Boolean.TRUE is false (as in BooleanConditionNode)
+    public boolean test(WorkflowExecutionContext context) {
+        return root.bool(context);
+    }
+
+    public Object evaluate(WorkflowExecutionContext context) {
+        return root.value(context);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    // Context keys read by the expression
+    public Set<String> getVariables() {
+        return variables;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
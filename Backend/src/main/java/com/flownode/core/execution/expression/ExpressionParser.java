@@ -0,0 +1,272 @@
+package com.flownode.core.execution.expression;
+
+import com.flownode.core.execution.expression.Evaluator.Type;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Recursive-descent parser that builds the {@link Evaluator} tree in one pass.
+ *
+ * <pre>
+ * or         := and (('||' | 'or') and)*
+ * and        := not (('&&' | 'and') not)*
+ * not        := ('!' | 'not') not | comparison
+ * comparison := additive (('==' | '!=' | '<' | '<=' | '>' | '>=') additive)?
+ * additive   := term (('+' | '-') term)*
+ * term       := unary (('*' | '/' | '%') unary)*
+ * unary      := '-' unary | primary
+ * primary    := number | 'string' | "string" | true | false | null | key | '(' or ')'
+ * </pre>
+ *
+ * Keys are context keys ({@code amount}, {@code customer.tier}). Subtrees without keys are
+ * folded to literals.
+ */
+final class ExpressionParser {
+
+    private final String source;
+    private int position;
+
+    final Set<String> variables = new LinkedHashSet<>();
+
+    ExpressionParser(String source) {
+        this.source = source;
+    }
+
+    Evaluator parse() {
+
+        Evaluator root = parseOr();
+
+        skipWhitespace();
+        if (position < source.length()) {
+            throw error("Unexpected '" + source.charAt(position) + "'");
+        }
+        return root;
+    }
+
+
+    // ---------------- GRAMMAR ----------------
+
+    private Evaluator parseOr() {
+        Evaluator left = parseAnd();
+
+        while (accept("||") || acceptWord("or")) {
+            left = fold(new Evaluator.Or(left, parseAnd()));
+        }
+        return left;
+    }
+
+    private Evaluator parseAnd() {
+        Evaluator left = parseNot();
+
+        while (accept("&&") || acceptWord("and")) {
+            left = fold(new Evaluator.And(left, parseNot()));
+        }
+        return left;
+    }
+
+    private Evaluator parseNot() {
+        if (acceptNot() || acceptWord("not")) {
+            return fold(new Evaluator.Not(parseNot()));
+        }
+        return parseComparison();
+    }
+
+    private Evaluator parseComparison() {
+        Evaluator left = parseAdditive();
+
+        if (accept("==")) return fold(equality(left, parseAdditive()));
+        if (accept("!=")) return fold(new Evaluator.Not(equality(left, parseAdditive())));
+        if (accept("<=")) return fold(new Evaluator.LessOrEqual(left, parseAdditive()));
+        if (accept(">=")) return fold(new Evaluator.GreaterOrEqual(left, parseAdditive()));
+        if (accept("<")) return fold(new Evaluator.Less(left, parseAdditive()));
+        if (accept(">")) return fold(new Evaluator.Greater(left, parseAdditive()));
+
+        return left;
+    }
+
+    // A numeric side makes it a primitive comparison; anything else compares values
+    private static Evaluator equality(Evaluator left, Evaluator right) {
+        return left.type() == Type.NUMBER || right.type() == Type.NUMBER
+                ? new Evaluator.NumericEquals(left, right)
+                : new Evaluator.ValueEquals(left, right);
+    }
+
+    private Evaluator parseAdditive() {
+        Evaluator left = parseTerm();
+
+        while (true) {
+            if (accept("+")) left = fold(new Evaluator.Add(left, parseTerm()));
+            else if (accept("-")) left = fold(new Evaluator.Subtract(left, parseTerm()));
+            else return left;
+        }
+    }
+
+    private Evaluator parseTerm() {
+        Evaluator left = parseUnary();
+
+        while (true) {
+            if (accept("*")) left = fold(new Evaluator.Multiply(left, parseUnary()));
+            else if (accept("/")) left = fold(new Evaluator.Divide(left, parseUnary()));
+            else if (accept("%")) left = fold(new Evaluator.Remainder(left, parseUnary()));
+            else return left;
+        }
+    }
+
+    private Evaluator parseUnary() {
+        if (accept("-")) {
+            return fold(new Evaluator.Negate(parseUnary()));
+        }
+        return parsePrimary();
+    }
+
+    private Evaluator parsePrimary() {
+
+        skipWhitespace();
+        if (position >= source.length()) {
+            throw error("Unexpected end of expression");
+        }
+
+        char c = source.charAt(position);
+
+        if (c == '(') {
+            position++;
+            Evaluator inner = parseOr();
+            if (!accept(")")) {
+                throw error("Expected ')'");
+            }
+            return inner;
+        }
+
+        if (Character.isDigit(c) || c == '.') {
+            return parseNumber();
+        }
+
+        if (c == '\'' || c == '"') {
+            return parseString(c);
+        }
+
+        if (Character.isLetter(c) || c == '_') {
+            String word = readKey();
+            return switch (word) {
+                case "true" -> new Evaluator.Literal(Boolean.TRUE);
+                case "false" -> new Evaluator.Literal(Boolean.FALSE);
+                case "null" -> new Evaluator.Literal(null);
+                default -> {
+                    variables.add(word);
+                    yield new Evaluator.Variable(word);
+                }
+            };
+        }
+
+        throw error("Unexpected '" + c + "'");
+    }
+
+    private Evaluator parseNumber() {
+        int start = position;
+
+        while (position < source.length()
+                && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+            position++;
+        }
+
+        try {
+            return new Evaluator.NumberLiteral(Double.parseDouble(source.substring(start, position)));
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("Malformed number");
+        }
+    }
+
+    private Evaluator parseString(char quote) {
+        int start = ++position;
+
+        while (position < source.length() && source.charAt(position) != quote) {
+            position++;
+        }
+        if (position >= source.length()) {
+            position = start - 1;
+            throw error("Unterminated string");
+        }
+        return new Evaluator.Literal(source.substring(start, position++));
+    }
+
+
+    // ---------------- TOKENS ----------------
+
+    private boolean accept(String token) {
+        skipWhitespace();
+
+        if (source.startsWith(token, position)) {
+            position += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    // '!' but not the start of '!='
+    private boolean acceptNot() {
+        skipWhitespace();
+
+        if (source.startsWith("!", position) && !source.startsWith("!=", position)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    // Keyword only as a whole word → "order" is a key, not "or" + "der"
+    private boolean acceptWord(String word) {
+        skipWhitespace();
+
+        int end = position + word.length();
+        if (source.startsWith(word, position) && (end == source.length() || !isKeyPart(source.charAt(end)))) {
+            position = end;
+            return true;
+        }
+        return false;
+    }
+
+    private String readKey() {
+        int start = position;
+
+        while (position < source.length() && isKeyPart(source.charAt(position))) {
+            position++;
+        }
+        return source.substring(start, position);
+    }
+
+    private static boolean isKeyPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.';
+    }
+
+    private void skipWhitespace() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+
+    // ---------------- FOLDING ----------------
+
+    private Evaluator fold(Evaluator evaluator) {
+
+        if (!evaluator.isConstant()) {
+            return evaluator;
+        }
+
+        try {
+            return switch (evaluator.type()) {
+                case NUMBER -> new Evaluator.NumberLiteral(evaluator.number(null));
+                case BOOLEAN -> new Evaluator.Literal(evaluator.bool(null));
+                default -> evaluator;
+            };
+        } catch (RuntimeException e) {
+            throw error(e.getMessage());
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + " in: " + source);
+    }
+}
@@ -0,0 +1,31 @@
+package com.flownode.core.execution.journal;
+
+import com.flownode.core.execution.engine.scheduling.RunOptions;
+
+import java.util.Map;
+
+// One journaled transition; nodeId is null for instance entries, workflow, options and inputs are set for starts, data for starts and checkpoints
+public record JournalEntry(
+        Kind kind,
+        String runId,
+        String workflowId,
+        String workflowVersion,
+        RunOptions options,
+        String nodeId,
+        String state,
+        long timestampMillis,
+        Map<String, Object> inputs,
+        Map<String, Object> data
+) {
+
+    public JournalEntry(Kind kind, String runId, String workflowId, String nodeId, String state, long timestampMillis) {
+        this(kind, runId, workflowId, null, null, nodeId, state, timestampMillis, null, null);
+    }
+
+    public enum Kind {
+        INSTANCE_STARTED,
+        INSTANCE_STATE,
+        NODE_STATE,
+        CHECKPOINT
+    }
+}
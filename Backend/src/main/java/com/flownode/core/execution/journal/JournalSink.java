@@ -0,0 +1,10 @@
+package com.flownode.core.execution.journal;
+
+import java.util.List;
+
+// Storage behind a WriteBehindStateJournal; called from the journal thread only
+public interface JournalSink {
+
+    // Entries are in journal order; a batch may span many runs
+    void write(List<JournalEntry> batch) throws Exception;
+}
@@ -0,0 +1,37 @@
+package com.flownode.core.execution.journal;
+
+import com.flownode.core.execution.engine.scheduling.RunOptions;
+import com.flownode.core.state.NodeState;
+import com.flownode.core.state.WorkflowState;
+
+import java.util.Map;
+
+/**
+ * Durable record of instance and node state transitions, written by the concurrent engine.
+ *
+ * Unlike execution events, nothing may be dropped here; implementations should still return
+ * quickly (see {@link WriteBehindStateJournal}). {@link #NOOP} is the default.
+ *
+ * Context data is handed over as a live view and read when it is written, so the engine
+ * journals a checkpoint before the transition it covers: a persisted COMPLETED node always
+ * has its outputs persisted too.
+ */
+public interface StateJournal {
+
+    StateJournal NOOP = new StateJournal() { };
+
+    // workflowVersion is null for unversioned workflows; inputs are a detached copy, data the context to checkpoint
+    default void instanceStarted(String runId, String workflowId, String workflowVersion, RunOptions options,
+                                 Map<String, Object> inputs, Map<String, Object> data) {
+    }
+
+    default void instanceStateChanged(String runId, WorkflowState state) {
+    }
+
+    default void nodeStateChanged(String runId, String nodeId, NodeState state) {
+    }
+
+    // May be coalesced → only the latest data of a run has to reach storage
+    default void checkpoint(String runId, Map<String, Object> data) {
+    }
+}
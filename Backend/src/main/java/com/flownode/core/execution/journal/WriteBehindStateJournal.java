@@ -0,0 +1,240 @@
+package com.flownode.core.execution.journal;
+
+import com.flownode.core.execution.engine.scheduling.RunOptions;
+import com.flownode.core.state.NodeState;
+import com.flownode.core.state.WorkflowState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link StateJournal} that takes writes off the worker threads.
+ *
+ * Workers append an entry to a bounded queue; one journal thread drains whatever has
+ * accumulated (up to {@code maxBatchSize}) and hands it to the {@link JournalSink} as a
+ * single batch, so under load thousands of transitions share one round trip. A full queue
+ * blocks the worker (backpressure) rather than losing a transition.
+ *
+ * A batch the sink rejects is never dropped: the writer retries it with exponential backoff
+ * until it is written. Meanwhile the queue fills up and appends block, so the engine slows
+ * down instead of running ahead of what is durable.
+ *
+ * Checkpoints are coalesced: while a run already has one queued, further checkpoints are
+ * no-ops, and the queued one reads the run's data only when its batch is written.
+ */
+public class WriteBehindStateJournal implements StateJournal, AutoCloseable {
+
+    private static final long MIN_BACKOFF_MILLIS = 50;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+
+    // Sentinel → everything queued before it is written, then the thread exits
+    private static final JournalEntry CLOSE = new JournalEntry(null, null, null, null, null, 0);
+
+    private final JournalSink sink;
+    private final int maxBatchSize;
+    private final BlockingQueue<JournalEntry> queue;
+
+    private final Thread writer;
+    private volatile boolean closed;
+
+    // Flush bookkeeping → entries accepted vs entries written
+    private final AtomicLong enqueued = new AtomicLong();
+    private final Object progress = new Object();
+    private long handled;
+
+    private final AtomicLong failedWrites = new AtomicLong();
+
+    // Runs with a checkpoint queued but not yet picked up by the writer
+    private final Set<String> pendingCheckpoints = ConcurrentHashMap.newKeySet();
+
+
+    public WriteBehindStateJournal(JournalSink sink, int capacity, int maxBatchSize) {
+
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+        }
+
+        this.sink = sink;
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        this.writer = new Thread(this::writeLoop, "flownode-journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+
+    // ---------------- STATE JOURNAL ----------------
+
+    @Override
+    public void instanceStarted(String runId, String workflowId, String workflowVersion, RunOptions options,
+                                Map<String, Object> inputs, Map<String, Object> data) {
+        append(new JournalEntry(JournalEntry.Kind.INSTANCE_STARTED, runId, workflowId, workflowVersion, options, null,
+                WorkflowState.RUNNING.name(), System.currentTimeMillis(), inputs, data));
+    }
+
+    @Override
+    public void instanceStateChanged(String runId, WorkflowState state) {
+        append(new JournalEntry(JournalEntry.Kind.INSTANCE_STATE, runId, null, null,
+                state.name(), System.currentTimeMillis()));
+    }
+
+    @Override
+    public void nodeStateChanged(String runId, String nodeId, NodeState state) {
+        append(new JournalEntry(JournalEntry.Kind.NODE_STATE, runId, null, nodeId,
+                state.name(), System.currentTimeMillis()));
+    }
+
+    @Override
+    public void checkpoint(String runId, Map<String, Object> data) {
+        if (pendingCheckpoints.add(runId)) {
+            append(new JournalEntry(JournalEntry.Kind.CHECKPOINT, runId, null, null, null, null, null,
+                    System.currentTimeMillis(), null, data));
+        }
+    }
+
+    private void append(JournalEntry entry) {
+
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+
+        enqueued.incrementAndGet();
+
+        // Fast path never blocks; a full queue waits for the writer instead of dropping
+        if (!queue.offer(entry)) {
+            try {
+                queue.put(entry);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while journaling " + entry, e);
+            }
+        }
+    }
+
+
+    // ---------------- WRITER ----------------
+
+    private void writeLoop() {
+
+        List<JournalEntry> batch = new ArrayList<>(maxBatchSize);
+        boolean stop = false;
+
+        while (!stop) {
+
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                continue;   // only close() ends the loop
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+
+            // An append racing close() may land behind the sentinel → take those too
+            if (batch.removeIf(entry -> entry == CLOSE)) {
+                queue.drainTo(batch);
+                stop = true;
+            }
+
+            // Picked up → the next checkpoint of these runs queues a new entry; the sink
+            // reads the data after this, so nothing put before that entry is missed
+            for (JournalEntry entry : batch) {
+                if (entry.kind() == JournalEntry.Kind.CHECKPOINT) {
+                    pendingCheckpoints.remove(entry.runId());
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                writeWithRetry(batch);
+            }
+
+            synchronized (progress) {
+                handled += batch.size();
+                progress.notifyAll();
+            }
+            batch.clear();
+        }
+    }
+
+    // Retries until the sink accepts the batch → nothing is lost, later entries wait behind it
+    private void writeWithRetry(List<JournalEntry> batch) {
+
+        long backoff = MIN_BACKOFF_MILLIS;
+
+        while (true) {
+            try {
+                sink.write(batch);
+                return;
+            } catch (Exception e) {
+                failedWrites.incrementAndGet();
+                System.err.println("Journal batch of " + batch.size() + " entries not written, retrying in "
+                        + backoff + " ms: " + e);
+                sleepQuietly(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+
+    // ---------------- LIFECYCLE ----------------
+
+    // Blocks until everything appended before this call has been handed to the sink
+    public void flush() throws InterruptedException {
+
+        long target = enqueued.get();
+
+        synchronized (progress) {
+            while (handled < target && writer.isAlive()) {
+                progress.wait(100);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+
+        if (closed) return;
+        closed = true;
+
+        try {
+            queue.put(CLOSE);
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Sink still failing → the writer keeps retrying, but say so instead of pretending it's durable
+        if (writer.isAlive()) {
+            System.err.println("Journal closed with " + (enqueued.get() - handledCount()) + " entries not yet written");
+        }
+    }
+
+    public int getQueuedEntryCount() {
+        return queue.size();
+    }
+
+    // Rejected sink writes so far (each retried); growing → storage is down and appends will block
+    public long getFailedWriteCount() {
+        return failedWrites.get();
+    }
+
+    private long handledCount() {
+        synchronized (progress) {
+            return handled;
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
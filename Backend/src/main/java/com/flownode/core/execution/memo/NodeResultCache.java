@@ -0,0 +1,234 @@
+package com.flownode.core.execution.memo;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.node.BaseNode;
+import com.flownode.core.execution.node.MemoizableNode;
+import com.flownode.core.execution.node.Node;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of {@link MemoizableNode} outputs, keyed by the node and the values of
+ * its input keys, shared by every run of an engine.
+ *
+ * Entries are spread over independently locked LRU segments, so concurrent workers rarely
+ * contend; each segment holds {@code maxEntries / SEGMENTS} entries and evicts its least
+ * recently used one beyond that. Entries older than the TTL count as misses. The key holds
+ * the node object itself, so a redeployed definition never sees its predecessor's results.
+ */
+public final class NodeResultCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+
+    // ttl null or zero → entries only leave through eviction
+    public NodeResultCache(int maxEntries, Duration ttl) {
+
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+
+        this.ttlNanos = ttl == null || ttl.isZero() ? 0 : ttl.toNanos();
+
+        int perSegment = Math.max(1, (maxEntries + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment, evictions);
+        }
+    }
+
+
+    // ---------------- EXECUTION ----------------
+
+    // Runs the node, or writes its cached outputs instead when it is memoizable and was seen with these inputs
+    public void execute(Node node, WorkflowExecutionContext context) {
+
+        if (!(node instanceof MemoizableNode memoizable)) {
+            node.execute(context);
+            return;
+        }
+
+        // Inputs captured first → a node that overwrites one of its inputs is still keyed correctly
+        Key key = keyOf(memoizable, context);
+        Segment segment = segmentFor(key);
+
+        Object[] outputs = segment.get(key, ttlNanos);
+        if (outputs != null) {
+            hits.increment();
+            replay(node, memoizable.getOutputKeys(), outputs, context);
+            return;
+        }
+
+        misses.increment();
+        node.execute(context);   // a failure throws before anything is cached
+
+        segment.put(key, read(memoizable.getOutputKeys(), context));
+    }
+
+    private static Key keyOf(MemoizableNode node, WorkflowExecutionContext context) {
+        return new Key(node, read(node.getInputKeys(), context));
+    }
+
+    private Segment segmentFor(Key key) {
+        int hash = key.hash ^ (key.hash >>> 16);
+        return segments[hash & (SEGMENTS - 1)];
+    }
+
+    private static Object[] read(List<String> keys, WorkflowExecutionContext context) {
+        Object[] values = new Object[keys.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = context.get(keys.get(i));
+        }
+        return values;
+    }
+
+    // A hit replaces only process(): a BaseNode still runs its hooks and state transitions around the write
+    private static void replay(Node node, List<String> keys, Object[] outputs, WorkflowExecutionContext context) {
+
+        if (!(node instanceof BaseNode baseNode)) {
+            write(keys, outputs, context);
+            return;
+        }
+
+        try {
+            baseNode.executeWith(context, c -> {
+                write(keys, outputs, c);
+                return CompletableFuture.completedFuture(null);
+            }).toCompletableFuture().join();
+        } catch (CompletionException e) {
+            // Same exception execute() would have thrown
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    // A null output removes the key, as the node would have left it unset
+    private static void write(List<String> keys, Object[] values, WorkflowExecutionContext context) {
+        for (int i = 0; i < values.length; i++) {
+            context.put(keys.get(i), values[i]);
+        }
+    }
+
+
+    // ---------------- STATS ----------------
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+
+    // ---------------- INTERNALS ----------------
+
+    // Node identity + input values; the hash is computed once
+    private static final class Key {
+
+        private final Node node;
+        private final Object[] inputs;
+        private final int hash;
+
+        private Key(Node node, Object[] inputs) {
+            this.node = node;
+            this.inputs = inputs;
+            this.hash = 31 * System.identityHashCode(node) + Arrays.hashCode(inputs);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key
+                    && key.node == node
+                    && key.hash == hash
+                    && Arrays.equals(key.inputs, inputs);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private record Entry(Object[] outputs, long storedNanos) {
+    }
+
+    // Access-ordered LinkedHashMap under its own lock → LRU within the segment
+    private static final class Segment {
+
+        private final LinkedHashMap<Key, Entry> entries;
+
+        private Segment(int capacity, LongAdder evictions) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private synchronized Object[] get(Key key, long ttlNanos) {
+
+            Entry entry = entries.get(key);
+            if (entry == null) return null;
+
+            if (ttlNanos > 0 && System.nanoTime() - entry.storedNanos() > ttlNanos) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.outputs();
+        }
+
+        private synchronized void put(Key key, Object[] outputs) {
+            entries.put(key, new Entry(outputs, System.nanoTime()));
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+
+        private synchronized void clear() {
+            entries.clear();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.flownode.core.execution.metrics;
+
+import com.flownode.core.execution.node.Node;
+
+/**
+ * Instrumentation hooks called by the concurrent engine on its hot path.
+ * Implementations must be cheap and non-blocking (counters, pre-registered timers);
+ * {@link #NOOP} is the default.
+ */
+public interface EngineMetrics {
+
+    EngineMetrics NOOP = new EngineMetrics() { };
+
+    // Time between submitNodeForExecution and the task starting on a worker
+    default void recordQueueWait(long nanos) {
+    }
+
+    // Wall time of one node, from start to completion (async nodes included)
+    default void recordNodeExecution(Class<? extends Node> nodeType, long nanos, boolean succeeded) {
+    }
+
+    // One (parent → child) edge evaluated against the child's resolution policy
+    default void readinessEvaluated() {
+    }
+
+    default void instanceStarted() {
+    }
+
+    default void instanceCompleted() {
+    }
+
+    default void instanceFailed() {
+    }
+}
@@ -0,0 +1,26 @@
+package com.flownode.core.execution.node;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+
+import java.util.concurrent.CompletionStage;
+
+// Lifecycle hooks run around processAsync exactly as around process(), on either engine
+public abstract class AsyncBaseNode extends BaseNode implements AsyncNode {
+
+    public AsyncBaseNode(String nodeId, String nodeName) {
+        super(nodeId, nodeName);
+    }
+
+    @Override
+    public final CompletionStage<Void> executeAsync(WorkflowExecutionContext context) {
+        return executeWith(context, this::processAsync);
+    }
+
+    // Synchronous executors simply wait for the stage
+    @Override
+    protected final void process(WorkflowExecutionContext context) {
+        processAsync(context).toCompletableFuture().join();
+    }
+
+    protected abstract CompletionStage<Void> processAsync(WorkflowExecutionContext context);
+}
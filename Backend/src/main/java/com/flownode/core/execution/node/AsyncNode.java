@@ -0,0 +1,15 @@
+package com.flownode.core.execution.node;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Node whose work completes later (remote call, callback, queue reply).
+ * The concurrent engine starts it, releases the worker thread and resumes
+ * the run when the returned stage completes.
+ */
+public interface AsyncNode extends Node {
+
+    CompletionStage<Void> executeAsync(WorkflowExecutionContext context);
+}
@@ -2,18 +2,23 @@ package com.flownode.core.execution.node;
 
 
 import com.flownode.core.execution.context.WorkflowExecutionContext;
-import com.flownode.core.execution.resolution.policy.AllCompletedPolicy;
+import com.flownode.core.execution.resolution.policy.AllResolvedPolicy;
 import com.flownode.core.execution.resolution.policy.ResolutionPolicy;
 import com.flownode.core.state.NodeState;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
 public abstract class BaseNode implements Node{
 
     protected String nodeId;
     protected String nodeName;
     protected NodeState nodeState;
 
-    // default resolution policy
-    protected ResolutionPolicy resolutionPolicy = new AllCompletedPolicy();
+    // default resolution policy → fire once every parent is completed, skipped or failed
+    protected ResolutionPolicy resolutionPolicy = AllResolvedPolicy.INSTANCE;
 
 
     public BaseNode(String nodeId, String nodeName) {
@@ -48,6 +53,59 @@ public abstract class BaseNode implements Node{
         }
     }
 
+    /**
+     * Same lifecycle as {@link #execute}, around work that finishes later instead of
+     * {@link #process} (e.g. the engine's timer for a delay). Hooks run on whichever
+     * thread completes the work.
+     */
+    public final CompletionStage<Void> executeWith(WorkflowExecutionContext context,
+                                                   Function<WorkflowExecutionContext, CompletionStage<Void>> work) {
+
+        CompletionStage<Void> stage;
+
+        try {
+            markRunning();
+
+            beforeExecute(context);
+
+            stage = work.apply(context);
+
+        } catch (Exception e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+
+        return completeWith(context, stage);
+    }
+
+    /**
+     * Second half of {@link #executeWith}, for work an earlier incarnation of the run started
+     * (e.g. a suspended node resumed after its run was evicted or recovered): markRunning and
+     * beforeExecute ran back then, so only the completion hooks run here.
+     */
+    public final CompletionStage<Void> completeWith(WorkflowExecutionContext context, CompletionStage<Void> work) {
+
+        return work.handle((ignored, error) -> {
+
+            if (error == null) {
+                afterExecute(context);
+
+                markCompleted();
+                return null;
+            }
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+
+            markFailed();
+
+            onFailure(context, cause instanceof Exception e ? e : new RuntimeException(cause));
+
+            // Re-throw so executor can handle workflow-level failure
+            throw new CompletionException(new RuntimeException("Node execution failed: " + nodeId, cause));
+        });
+    }
+
     @Override
     public String getNodeId() {
         return this.nodeId;
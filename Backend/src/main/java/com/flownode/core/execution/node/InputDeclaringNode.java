@@ -0,0 +1,13 @@
+package com.flownode.core.execution.node;
+
+import java.util.List;
+
+/**
+ * Node that declares every context key it reads. Incremental re-execution reruns such a
+ * node only when one of those keys changed or something upstream of it reran; a node
+ * without this declaration is assumed to read any key.
+ */
+public interface InputDeclaringNode extends Node {
+
+    List<String> getInputKeys();
+}
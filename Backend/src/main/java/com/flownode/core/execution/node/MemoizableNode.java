@@ -0,0 +1,17 @@
+package com.flownode.core.execution.node;
+
+import java.util.List;
+
+/**
+ * Node whose outputs depend only on the listed input keys of the context (no I/O whose
+ * result may change, no randomness, no other keys read). With a result cache configured,
+ * the engines skip {@code execute} when the same inputs were seen before and write the
+ * cached outputs instead. Input values are compared with {@code equals}, so they must not
+ * be mutated after being put into the context.
+ */
+public interface MemoizableNode extends InputDeclaringNode, OutputDeclaringNode {
+
+    // Read back after the node ran; one that was unset then is removed on a hit
+    @Override
+    List<String> getOutputKeys();
+}
@@ -0,0 +1,19 @@
+package com.flownode.core.execution.node;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Node that declares every context key it writes. An incremental rerun clears those keys
+ * for each node it runs again; a node without this declaration may have written anything,
+ * so a rerun that invalidates it starts over from the run's inputs instead.
+ */
+public interface OutputDeclaringNode extends Node {
+
+    List<String> getOutputKeys();
+
+    // What a run's data shows this node wrote, for nodes whose outputs depend on what they were given
+    default List<String> getOutputKeys(Map<String, Object> data) {
+        return getOutputKeys();
+    }
+}
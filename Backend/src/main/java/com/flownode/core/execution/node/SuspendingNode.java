@@ -0,0 +1,20 @@
+package com.flownode.core.execution.node;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+
+import java.util.Map;
+
+/**
+ * Node that waits for an external signal (e.g. a human approval) instead of running.
+ * The concurrent engine parks the node as WAITING without holding any thread and
+ * completes it when {@code resume} is called for the run. A {@link BaseNode}'s hooks run
+ * around the wait: beforeExecute when it is reached, afterExecute or onFailure on resume.
+ */
+public interface SuspendingNode extends Node {
+
+    // Called once when the node is reached
+    void onSuspend(WorkflowExecutionContext context);
+
+    // Called with the resume payload before the node completes
+    void onResume(WorkflowExecutionContext context, Map<String, Object> payload);
+}
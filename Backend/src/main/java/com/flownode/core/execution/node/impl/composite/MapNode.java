@@ -0,0 +1,105 @@
+package com.flownode.core.execution.node.impl.composite;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.node.BaseNode;
+import com.flownode.core.execution.node.InputDeclaringNode;
+import com.flownode.core.execution.node.OutputDeclaringNode;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Applies one script to every element of a collection read from the context, without a
+ * graph node per element.
+ *
+ * Each element runs against a small context of its own holding {@link #ITEM} and
+ * {@link #INDEX}; whatever the script leaves under {@link #RESULT} is collected. Once every
+ * element is done, the results are stored under {@code resultsKey} as a list in element
+ * order, so the next node is the reduce step. The concurrent engine runs at most
+ * {@code maxConcurrency} elements at a time on its pool; sequential executors run them in order.
+ * Either way the lifecycle hooks run once around the whole map, not per element.
+ */
+public class MapNode extends BaseNode implements InputDeclaringNode, OutputDeclaringNode {
+
+    public static final String ITEM = "item";
+    public static final String INDEX = "index";
+    public static final String RESULT = "result";
+
+    private final String itemsKey;
+    private final String resultsKey;
+    private final Consumer<WorkflowExecutionContext> script;
+    private final int maxConcurrency;
+
+    public MapNode(String nodeId, String nodeName, String itemsKey, String resultsKey,
+                   Consumer<WorkflowExecutionContext> script, int maxConcurrency) {
+        super(nodeId, nodeName);
+
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Node '" + nodeId + "': maxConcurrency must be positive: " + maxConcurrency);
+        }
+
+        this.itemsKey = itemsKey;
+        this.resultsKey = resultsKey;
+        this.script = script;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    // Collection or array under itemsKey; absent → nothing to map
+    public Object[] items(WorkflowExecutionContext context) {
+
+        Object value = context.get(itemsKey);
+
+        if (value == null) return new Object[0];
+        if (value instanceof Collection<?> collection) return collection.toArray();
+        if (value instanceof Object[] array) return array.clone();
+
+        throw new IllegalArgumentException("Node '" + nodeId + "': '" + itemsKey + "' is not a collection: "
+                + value.getClass().getSimpleName());
+    }
+
+    // One element → its result (null if the script left none)
+    public Object mapElement(int index, Object item) {
+
+        WorkflowExecutionContext element = new WorkflowExecutionContext();
+        element.put(ITEM, item);
+        element.put(INDEX, index);
+
+        script.accept(element);
+
+        return element.get(RESULT);
+    }
+
+    public void storeResults(WorkflowExecutionContext context, Object[] results) {
+        context.put(resultsKey, Collections.unmodifiableList(Arrays.asList(results)));
+    }
+
+    @Override
+    public List<String> getInputKeys() {
+        return List.of(itemsKey);
+    }
+
+    @Override
+    public List<String> getOutputKeys() {
+        return List.of(resultsKey);
+    }
+
+    @Override
+    protected void process(WorkflowExecutionContext context) {
+
+        Object[] items = items(context);
+        Object[] results = new Object[items.length];
+
+        for (int i = 0; i < items.length; i++) {
+            results[i] = mapElement(i, items[i]);
+        }
+
+        storeResults(context, results);
+    }
+}
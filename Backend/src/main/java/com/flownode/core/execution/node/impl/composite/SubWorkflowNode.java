@@ -0,0 +1,73 @@
+package com.flownode.core.execution.node.impl.composite;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.node.BaseNode;
+import com.flownode.core.execution.node.InputDeclaringNode;
+import com.flownode.core.execution.node.OutputDeclaringNode;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs another registered workflow as one step of this one.
+ *
+ * The child only sees what {@code inputs} maps in (child key → parent key), and only what
+ * {@code outputs} maps back (parent key → child key) reaches the parent once it completes.
+ * The concurrent engine starts the child as a run of its own on the same pool and tenant and
+ * completes this node, lifecycle hooks included, when the child finishes; no worker waits in
+ * between. The sequential executors have no workflow registry, so {@link #process} rejects
+ * the node there.
+ */
+public class SubWorkflowNode extends BaseNode implements InputDeclaringNode, OutputDeclaringNode {
+
+    private final String workflowId;
+    private final Map<String, String> inputs;
+    private final Map<String, String> outputs;
+
+    public SubWorkflowNode(String nodeId, String nodeName, String workflowId,
+                           Map<String, String> inputs, Map<String, String> outputs) {
+        super(nodeId, nodeName);
+        this.workflowId = workflowId;
+        this.inputs = Map.copyOf(inputs);
+        this.outputs = Map.copyOf(outputs);
+    }
+
+    public String getWorkflowId() {
+        return workflowId;
+    }
+
+    // Parent values the child starts with; absent parent keys are left out
+    public Map<String, Object> childInputs(WorkflowExecutionContext parent) {
+
+        Map<String, Object> childInputs = new HashMap<>();
+
+        inputs.forEach((childKey, parentKey) -> {
+            Object value = parent.get(parentKey);
+            if (value != null) {
+                childInputs.put(childKey, value);
+            }
+        });
+        return childInputs;
+    }
+
+    // Called once the child completed → copies the mapped results into the parent
+    public void applyOutputs(WorkflowExecutionContext child, WorkflowExecutionContext parent) {
+        outputs.forEach((parentKey, childKey) -> parent.put(parentKey, child.get(childKey)));
+    }
+
+    @Override
+    public List<String> getInputKeys() {
+        return List.copyOf(inputs.values());
+    }
+
+    @Override
+    public List<String> getOutputKeys() {
+        return List.copyOf(outputs.keySet());
+    }
+
+    @Override
+    protected void process(WorkflowExecutionContext context) {
+        throw new IllegalStateException("Sub-workflow node " + nodeId + " needs the concurrent engine to run '" + workflowId + "'");
+    }
+}
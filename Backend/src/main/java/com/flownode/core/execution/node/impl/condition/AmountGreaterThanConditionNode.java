@@ -1,8 +1,11 @@
 package com.flownode.core.execution.node.impl.condition;
 
 import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.node.InputDeclaringNode;
 
-public class AmountGreaterThanConditionNode extends ConditionNode {
+import java.util.List;
+
+public class AmountGreaterThanConditionNode extends ConditionNode implements InputDeclaringNode {
 
     private final String contextKey;
     private final double threshold;
@@ -28,5 +31,9 @@ public class AmountGreaterThanConditionNode extends ConditionNode {
 
         return amount > threshold;
     }
-}
 
+    @Override
+    public List<String> getInputKeys() {
+        return List.of(contextKey);
+    }
+}
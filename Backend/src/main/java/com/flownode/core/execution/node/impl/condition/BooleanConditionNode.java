@@ -1,8 +1,11 @@
 package com.flownode.core.execution.node.impl.condition;
 
 import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.node.InputDeclaringNode;
 
-public class BooleanConditionNode extends ConditionNode {
+import java.util.List;
+
+public class BooleanConditionNode extends ConditionNode implements InputDeclaringNode {
 
     private String contextKey;
 
@@ -18,4 +21,9 @@ public class BooleanConditionNode extends ConditionNode {
 
         return value instanceof Boolean && (Boolean) value;
     }
+
+    @Override
+    public List<String> getInputKeys() {
+        return List.of(contextKey);
+    }
 }
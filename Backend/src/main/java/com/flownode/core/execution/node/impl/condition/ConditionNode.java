@@ -2,24 +2,33 @@ package com.flownode.core.execution.node.impl.condition;
 
 import com.flownode.core.execution.context.WorkflowExecutionContext;
 import com.flownode.core.execution.node.BaseNode;
+import com.flownode.core.execution.node.OutputDeclaringNode;
 
-public abstract class ConditionNode extends BaseNode {
+import java.util.List;
+
+public abstract class ConditionNode extends BaseNode implements OutputDeclaringNode {
+
+    // Context key holding the branch decision → "<nodeId>_condition"
+    private final String conditionKey;
 
     public ConditionNode(String nodeId, String nodeName){
         super(nodeId, nodeName);
+        this.conditionKey = nodeId + "_condition";
+    }
+
+    public String getConditionKey() {
+        return conditionKey;
+    }
+
+    @Override
+    public List<String> getOutputKeys() {
+        return List.of(conditionKey);
     }
 
     @Override
     protected void process(WorkflowExecutionContext context) {
-        boolean result = evaluate(context);
-
-        if (result) {
-            System.out.println(nodeName + " → Condition TRUE");
-            context.put(nodeId + "_condition", "TRUE");
-        } else {
-            System.out.println(nodeName + " → Condition FALSE");
-            context.put(nodeId + "_condition", "FALSE");
-        }
+        // The engines report the decision in the NODE_COMPLETED event
+        context.put(conditionKey, evaluate(context) ? "TRUE" : "FALSE");
     }
 
     // Subclasses define decision logic
@@ -0,0 +1,32 @@
+package com.flownode.core.execution.node.impl.condition;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.expression.Expression;
+import com.flownode.core.execution.node.InputDeclaringNode;
+
+import java.util.List;
+
+// Branches on an expression compiled once at construction, e.g. "amount > 5000 && region == 'US'"
+public class ExpressionConditionNode extends ConditionNode implements InputDeclaringNode {
+
+    private final Expression expression;
+
+    public ExpressionConditionNode(String nodeId, String nodeName, String expression) {
+        super(nodeId, nodeName);
+        this.expression = Expression.compile(expression);
+    }
+
+    public Expression getExpression() {
+        return expression;
+    }
+
+    @Override
+    protected boolean evaluate(WorkflowExecutionContext context) {
+        return expression.test(context);
+    }
+
+    @Override
+    public List<String> getInputKeys() {
+        return List.copyOf(expression.getVariables());
+    }
+}
@@ -2,17 +2,31 @@ package com.flownode.core.execution.node.impl.join;
 
 import com.flownode.core.execution.context.WorkflowExecutionContext;
 import com.flownode.core.execution.node.BaseNode;
+import com.flownode.core.execution.node.InputDeclaringNode;
+import com.flownode.core.execution.node.OutputDeclaringNode;
 import com.flownode.core.execution.resolution.policy.AllResolvedPolicy;
 
-public class ConditionalMergeNode extends BaseNode {
+import java.util.List;
+
+public class ConditionalMergeNode extends BaseNode implements InputDeclaringNode, OutputDeclaringNode {
 
     public ConditionalMergeNode(String nodeId, String nodeName) {
         super(nodeId, nodeName);
-        this.resolutionPolicy = new AllResolvedPolicy();
+        this.resolutionPolicy = AllResolvedPolicy.INSTANCE;
     }
 
     @Override
     protected void process(WorkflowExecutionContext context) {
-        System.out.println(nodeName + " → Conditional merge completed");
+        // Marker node → progress is reported through execution events
+    }
+
+    @Override
+    public List<String> getInputKeys() {
+        return List.of();
+    }
+
+    @Override
+    public List<String> getOutputKeys() {
+        return List.of();
     }
 }
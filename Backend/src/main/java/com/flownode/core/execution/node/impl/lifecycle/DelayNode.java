@@ -2,16 +2,30 @@ package com.flownode.core.execution.node.impl.lifecycle;
 
 import com.flownode.core.execution.context.WorkflowExecutionContext;
 import com.flownode.core.execution.node.BaseNode;
+import com.flownode.core.execution.node.InputDeclaringNode;
+import com.flownode.core.execution.node.OutputDeclaringNode;
 
-public class DelayNode extends BaseNode {
+import java.util.List;
 
-    private long delayMillis;
+/**
+ * Waits {@code delayMillis} before its children run. The concurrent engine never calls
+ * {@link #process}: it parks the node on its shared timer wheel and completes it when the
+ * timer fires, through {@link #executeWith} so the lifecycle hooks still run. Only the
+ * sequential executor blocks in {@link #process}.
+ */
+public class DelayNode extends BaseNode implements InputDeclaringNode, OutputDeclaringNode {
+
+    private final long delayMillis;
 
     public DelayNode(String nodeId, String nodeName, long delayMillis) {
         super(nodeId, nodeName);
         this.delayMillis = delayMillis;
     }
 
+    public long getDelayMillis() {
+        return delayMillis;
+    }
+
     @Override
     protected void process(WorkflowExecutionContext context) {
 
@@ -21,4 +35,14 @@ public class DelayNode extends BaseNode {
             Thread.currentThread().interrupt();
         }
     }
+
+    @Override
+    public List<String> getInputKeys() {
+        return List.of();
+    }
+
+    @Override
+    public List<String> getOutputKeys() {
+        return List.of();
+    }
 }
@@ -2,8 +2,12 @@ package com.flownode.core.execution.node.impl.lifecycle;
 
 import com.flownode.core.execution.context.WorkflowExecutionContext;
 import com.flownode.core.execution.node.BaseNode;
+import com.flownode.core.execution.node.InputDeclaringNode;
+import com.flownode.core.execution.node.OutputDeclaringNode;
 
-public class EndNode extends BaseNode {
+import java.util.List;
+
+public class EndNode extends BaseNode implements InputDeclaringNode, OutputDeclaringNode {
 
 
     public EndNode(String nodeId, String nodeName) {
@@ -12,6 +16,16 @@ public class EndNode extends BaseNode {
 
     @Override
     protected void process(WorkflowExecutionContext context) {
-        System.out.println("Workflow ended");
+        // Marker node → progress is reported through execution events
+    }
+
+    @Override
+    public List<String> getInputKeys() {
+        return List.of();
+    }
+
+    @Override
+    public List<String> getOutputKeys() {
+        return List.of();
     }
 }
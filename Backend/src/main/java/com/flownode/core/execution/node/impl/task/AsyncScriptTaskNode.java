@@ -0,0 +1,22 @@
+package com.flownode.core.execution.node.impl.task;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.node.AsyncBaseNode;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+public class AsyncScriptTaskNode extends AsyncBaseNode {
+
+    private final Function<WorkflowExecutionContext, CompletionStage<Void>> script;
+
+    public AsyncScriptTaskNode(String nodeId, String nodeName, Function<WorkflowExecutionContext, CompletionStage<Void>> script) {
+        super(nodeId, nodeName);
+        this.script = script;
+    }
+
+    @Override
+    protected CompletionStage<Void> processAsync(WorkflowExecutionContext context) {
+        return script.apply(context);
+    }
+}
@@ -0,0 +1,33 @@
+package com.flownode.core.execution.node.impl.task;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.node.InputDeclaringNode;
+import com.flownode.core.execution.node.OutputDeclaringNode;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// Script that reads only inputKeys and writes only outputKeys → an incremental rerun can keep or redo it alone
+public class DeclaredScriptTaskNode extends ScriptTaskNode implements InputDeclaringNode, OutputDeclaringNode {
+
+    private final List<String> inputKeys;
+    private final List<String> outputKeys;
+
+    public DeclaredScriptTaskNode(String nodeId, String nodeName, Consumer<WorkflowExecutionContext> script,
+                                  List<String> inputKeys, List<String> outputKeys) {
+        super(nodeId, nodeName, script);
+
+        this.inputKeys = inputKeys == null ? List.of() : List.copyOf(inputKeys);
+        this.outputKeys = outputKeys == null ? List.of() : List.copyOf(outputKeys);
+    }
+
+    @Override
+    public List<String> getInputKeys() {
+        return inputKeys;
+    }
+
+    @Override
+    public List<String> getOutputKeys() {
+        return outputKeys;
+    }
+}
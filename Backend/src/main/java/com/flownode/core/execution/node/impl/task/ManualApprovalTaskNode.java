@@ -1,21 +1,83 @@
 package com.flownode.core.execution.node.impl.task;
 
 import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.node.InputDeclaringNode;
+import com.flownode.core.execution.node.OutputDeclaringNode;
+import com.flownode.core.execution.node.SuspendingNode;
 
-import java.util.function.Consumer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
-public class ManualApprovalTaskNode extends TaskNode{
+public class ManualApprovalTaskNode extends TaskNode implements SuspendingNode, InputDeclaringNode, OutputDeclaringNode {
+
+    // Context key the approval decision is written to
+    private final String approvalKey;
+
+    // Context key listing the payload keys the resume applied → a rerun knows what to clear
+    private final String payloadKeysKey;
 
     public ManualApprovalTaskNode(String nodeId, String nodeName) {
+        this(nodeId, nodeName, "approved");
+    }
+
+    public ManualApprovalTaskNode(String nodeId, String nodeName, String approvalKey) {
         super(nodeId, nodeName);
+        this.approvalKey = approvalKey;
+        this.payloadKeysKey = nodeId + ".payloadKeys";
+    }
+
+    public String getApprovalKey() {
+        return approvalKey;
     }
 
     @Override
-    protected void process(WorkflowExecutionContext context) {
+    public void onSuspend(WorkflowExecutionContext context) {
+        // Nothing to do → the engine reports NODE_WAITING
+    }
+
+    @Override
+    public void onResume(WorkflowExecutionContext context, Map<String, Object> payload) {
+
+        payload.forEach(context::put);
+        context.put(payloadKeysKey, List.copyOf(payload.keySet()));
+
+        // No explicit decision in the payload → treat the resume itself as approval
+        if (!payload.containsKey(approvalKey)) {
+            context.put(approvalKey, true);
+        }
+    }
 
-        System.out.println("Waiting for manual approval...");
+    // Sequential executor only — it cannot suspend, so approval is simulated
+    @Override
+    protected void process(WorkflowExecutionContext context) {
 
         // Simulated approval
-        context.put("approved", true);
+        context.put(approvalKey, true);
+    }
+
+    // The decision comes from the resume payload, not from the context
+    @Override
+    public List<String> getInputKeys() {
+        return List.of();
+    }
+
+    @Override
+    public List<String> getOutputKeys() {
+        return List.of(approvalKey, payloadKeysKey);
+    }
+
+    // Plus whatever the recorded payload put into the context
+    @Override
+    public List<String> getOutputKeys(Map<String, Object> data) {
+
+        if (!(data.get(payloadKeysKey) instanceof Collection<?> applied)) {
+            return getOutputKeys();
+        }
+
+        List<String> keys = new ArrayList<>(getOutputKeys());
+        applied.forEach(key -> keys.add(String.valueOf(key)));
+        return keys;
     }
 }
@@ -0,0 +1,20 @@
+package com.flownode.core.execution.node.impl.task;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.node.MemoizableNode;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// Script that is a pure function of inputKeys → its outputs can be served from the result cache
+public class MemoizedScriptTaskNode extends DeclaredScriptTaskNode implements MemoizableNode {
+
+    public MemoizedScriptTaskNode(String nodeId, String nodeName, Consumer<WorkflowExecutionContext> script,
+                                  List<String> inputKeys, List<String> outputKeys) {
+        super(nodeId, nodeName, script, inputKeys, outputKeys);
+
+        if (getOutputKeys().isEmpty()) {
+            throw new IllegalArgumentException("Node '" + nodeId + "' is memoized but declares no output keys");
+        }
+    }
+}
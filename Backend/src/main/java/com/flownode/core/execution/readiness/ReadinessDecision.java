@@ -0,0 +1,7 @@
+package com.flownode.core.execution.readiness;
+
+public enum ReadinessDecision {
+    WAIT,   // not all required parents resolved yet
+    FIRE,   // node is ready → schedule it
+    SKIP    // node can never run → mark skipped and propagate
+}
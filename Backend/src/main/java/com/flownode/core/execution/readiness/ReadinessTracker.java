@@ -0,0 +1,158 @@
+package com.flownode.core.execution.readiness;
+
+import com.flownode.core.execution.resolution.ResolutionState;
+import com.flownode.core.execution.resolution.policy.ResolutionPolicy;
+import com.flownode.core.workflow.CompiledWorkflow;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-instance join readiness, O(1) per resolved edge.
+ *
+ * Each node owns one packed {@code long}: completed / failed / skipped parent counts
+ * (20 bits each) plus a "decided" bit. A parent resolving bumps its child's counter with a
+ * single CAS; the CAS that first satisfies the node's {@link ResolutionPolicy} (or proves it
+ * can no longer be satisfied) also sets the decided bit, so every node is fired or skipped
+ * exactly once without rescanning its parents.
+ */
+public final class ReadinessTracker {
+
+    private static final int FIELD_BITS = 20;
+    private static final long FIELD_MASK = (1L << FIELD_BITS) - 1;
+
+    private static final int COMPLETED_SHIFT = 0;
+    private static final int FAILED_SHIFT = FIELD_BITS;
+    private static final int SKIPPED_SHIFT = FIELD_BITS * 2;
+
+    private static final long DECIDED_BIT = 1L << 63;
+
+    // Largest fan-in a single counter can hold
+    public static final int MAX_PARENTS = (int) FIELD_MASK;
+
+    private final CompiledWorkflow graph;
+    private final AtomicLongArray counters;   // indexed by node ordinal
+
+
+    public ReadinessTracker(CompiledWorkflow graph) {
+        this.graph = graph;
+        this.counters = new AtomicLongArray(graph.size());
+    }
+
+    private ReadinessTracker(CompiledWorkflow graph, AtomicLongArray counters) {
+        this.graph = graph;
+        this.counters = counters;
+    }
+
+    // Independent copy of the current counters, e.g. when a batch splits at a condition
+    public ReadinessTracker copy() {
+        AtomicLongArray copied = new AtomicLongArray(counters.length());
+
+        for (int i = 0; i < counters.length(); i++) {
+            copied.set(i, counters.get(i));
+        }
+        return new ReadinessTracker(graph, copied);
+    }
+
+
+    // ---------------- EDGE RESOLUTION ----------------
+
+    // Called once per (parent → child) edge when the parent resolves
+    public ReadinessDecision onParentResolved(int childOrdinal, ResolutionState outcome) {
+
+        long unit = unitOf(outcome);
+        int totalParents = graph.getParentCount(childOrdinal);
+
+        while (true) {
+            long current = counters.get(childOrdinal);
+
+            // Already fired or skipped → only keep the counts accurate
+            if ((current & DECIDED_BIT) != 0) {
+                counters.getAndAdd(childOrdinal, unit);
+                return ReadinessDecision.WAIT;
+            }
+
+            long next = current + unit;
+            ReadinessDecision decision = decide(next, totalParents, graph.getResolutionPolicy(childOrdinal));
+
+            if (decision != ReadinessDecision.WAIT) {
+                next |= DECIDED_BIT;
+            }
+
+            if (counters.compareAndSet(childOrdinal, current, next)) {
+                return decision;
+            }
+        }
+    }
+
+    // Claims a node outside edge resolution (e.g. the start node); true for the single winner
+    public boolean tryClaim(int ordinal) {
+        while (true) {
+            long current = counters.get(ordinal);
+
+            if ((current & DECIDED_BIT) != 0) {
+                return false;
+            }
+            if (counters.compareAndSet(ordinal, current, current | DECIDED_BIT)) {
+                return true;
+            }
+        }
+    }
+
+    public boolean isDecided(int ordinal) {
+        return (counters.get(ordinal) & DECIDED_BIT) != 0;
+    }
+
+
+    // ---------------- COUNTS ----------------
+
+    public int getCompletedParents(int ordinal) {
+        return field(counters.get(ordinal), COMPLETED_SHIFT);
+    }
+
+    public int getFailedParents(int ordinal) {
+        return field(counters.get(ordinal), FAILED_SHIFT);
+    }
+
+    public int getSkippedParents(int ordinal) {
+        return field(counters.get(ordinal), SKIPPED_SHIFT);
+    }
+
+
+    // ---------------- INTERNALS ----------------
+
+    private static ReadinessDecision decide(long packed, int totalParents, ResolutionPolicy policy) {
+
+        int completed = field(packed, COMPLETED_SHIFT);
+        int failed = field(packed, FAILED_SHIFT);
+        int skipped = field(packed, SKIPPED_SHIFT);
+
+        // Every incoming edge skipped → the node is unreachable in this run
+        if (skipped == totalParents) {
+            return ReadinessDecision.SKIP;
+        }
+
+        // Policy met → fire, possibly before the remaining parents resolve (e.g. ANY_COMPLETED)
+        if (policy.isSatisfied(completed, failed, skipped, totalParents)) {
+            return ReadinessDecision.FIRE;
+        }
+
+        // Every parent resolved but the policy can no longer be met → skip
+        if (completed + failed + skipped == totalParents) {
+            return ReadinessDecision.SKIP;
+        }
+
+        return ReadinessDecision.WAIT;
+    }
+
+    private static long unitOf(ResolutionState outcome) {
+        return switch (outcome) {
+            case COMPLETED -> 1L << COMPLETED_SHIFT;
+            case FAILED -> 1L << FAILED_SHIFT;
+            case SKIPPED -> 1L << SKIPPED_SHIFT;
+        };
+    }
+
+    private static int field(long packed, int shift) {
+        return (int) ((packed >>> shift) & FIELD_MASK);
+    }
+}
@@ -1,12 +1,15 @@
 package com.flownode.core.execution.resolution.policy;
 
-import com.flownode.core.execution.resolution.ResolutionSnapshot;
+public final class AllCompletedPolicy implements ResolutionPolicy {
 
-public class AllCompletedPolicy implements ResolutionPolicy {
+    public static final AllCompletedPolicy INSTANCE = new AllCompletedPolicy();
+
+    private AllCompletedPolicy() {
+    }
 
     @Override
-    public boolean isSatisfied(ResolutionSnapshot snapshot, int totalParents) {
-        return snapshot.allCompleted(totalParents);
+    public boolean isSatisfied(int completed, int failed, int skipped, int totalParents) {
+        return completed == totalParents;
     }
 }
 
@@ -14,5 +17,4 @@ public class AllCompletedPolicy implements ResolutionPolicy {
 // 1. ALL_COMPLETED = all parents are completed
 // 2. ALL_RESOLVED = all parents are either completed or skipped or failed
 // 3. ANY_COMPLETED = any of the parent is completed
-//
-
+// 4. NONE_FAILED = all parents resolved and none of them failed
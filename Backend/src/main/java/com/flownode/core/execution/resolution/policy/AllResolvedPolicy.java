@@ -1,12 +1,14 @@
 package com.flownode.core.execution.resolution.policy;
 
-import com.flownode.core.execution.resolution.ResolutionSnapshot;
+public final class AllResolvedPolicy implements ResolutionPolicy {
 
-public class AllResolvedPolicy implements ResolutionPolicy {
+    public static final AllResolvedPolicy INSTANCE = new AllResolvedPolicy();
+
+    private AllResolvedPolicy() {
+    }
 
     @Override
-    public boolean isSatisfied(ResolutionSnapshot snapshot, int totalParents) {
-        return snapshot.allResolved(totalParents);
+    public boolean isSatisfied(int completed, int failed, int skipped, int totalParents) {
+        return completed + failed + skipped == totalParents;
     }
 }
-
@@ -1,12 +1,15 @@
 package com.flownode.core.execution.resolution.policy;
 
-import com.flownode.core.execution.resolution.ResolutionSnapshot;
+public final class AnyCompletedPolicy implements ResolutionPolicy {
 
-public class AnyCompletedPolicy implements ResolutionPolicy {
+    public static final AnyCompletedPolicy INSTANCE = new AnyCompletedPolicy();
 
+    private AnyCompletedPolicy() {
+    }
+
+    // Fires on the first completed parent, without waiting for the rest
     @Override
-    public boolean isSatisfied(ResolutionSnapshot snapshot, int totalParents) {
-        return snapshot.anyCompleted();
+    public boolean isSatisfied(int completed, int failed, int skipped, int totalParents) {
+        return completed > 0;
     }
 }
-
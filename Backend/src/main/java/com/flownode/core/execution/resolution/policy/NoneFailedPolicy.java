@@ -1,10 +1,14 @@
 package com.flownode.core.execution.resolution.policy;
 
-import com.flownode.core.execution.resolution.ResolutionSnapshot;
+public final class NoneFailedPolicy implements ResolutionPolicy{
+
+    public static final NoneFailedPolicy INSTANCE = new NoneFailedPolicy();
+
+    private NoneFailedPolicy() {
+    }
 
-public class NoneFailedPolicy implements ResolutionPolicy{
     @Override
-    public boolean isSatisfied(ResolutionSnapshot snapshot, int totalParents) {
-        return snapshot.noneFailed();
+    public boolean isSatisfied(int completed, int failed, int skipped, int totalParents) {
+        return failed == 0 && completed + skipped == totalParents;
     }
 }
@@ -1,8 +1,10 @@
 package com.flownode.core.execution.resolution.policy;
 
-import com.flownode.core.execution.resolution.ResolutionSnapshot;
-
+/**
+ * Decides whether a join node may fire from its parents' resolution counts.
+ * Implementations are stateless singletons, evaluated against counters only.
+ */
 public interface ResolutionPolicy {
 
-    boolean isSatisfied(ResolutionSnapshot snapshot, int totalParents);
+    boolean isSatisfied(int completed, int failed, int skipped, int totalParents);
 }
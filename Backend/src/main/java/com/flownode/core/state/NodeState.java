@@ -5,6 +5,7 @@ public enum NodeState {
     READY,
     RUNNING,
     PENDING,
+    WAITING,
     COMPLETED,
     FAILED,
     SKIPPED
@@ -3,6 +3,7 @@ package com.flownode.core.state;
 public enum WorkflowState {
     CREATED,
     RUNNING,
+    SUSPENDED,
     COMPLETED,
     FAILED
 }
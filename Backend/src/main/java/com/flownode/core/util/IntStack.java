@@ -0,0 +1,54 @@
+package com.flownode.core.util;
+
+import java.util.Arrays;
+
+/**
+ * Growable stack of primitive ints, used as a worklist of node ordinals
+ * so graph walks neither recurse nor box.
+ */
+public final class IntStack {
+
+    private int[] elements;
+    private int size;
+
+    public IntStack() {
+        this(16);
+    }
+
+    public IntStack(int initialCapacity) {
+        this.elements = new int[Math.max(1, initialCapacity)];
+    }
+
+    public void push(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size << 1);
+        }
+        elements[size++] = value;
+    }
+
+    public int pop() {
+        if (size == 0) {
+            throw new IllegalStateException("Stack is empty");
+        }
+        return elements[--size];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public IntStack copy() {
+        IntStack copy = new IntStack(elements.length);
+        System.arraycopy(elements, 0, copy.elements, 0, size);
+        copy.size = size;
+        return copy;
+    }
+}
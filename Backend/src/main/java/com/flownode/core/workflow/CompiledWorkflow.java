@@ -0,0 +1,294 @@
+package com.flownode.core.workflow;
+
+import com.flownode.core.execution.node.Node;
+import com.flownode.core.execution.node.impl.condition.ConditionNode;
+import com.flownode.core.execution.readiness.ReadinessTracker;
+import com.flownode.core.execution.resolution.policy.AllResolvedPolicy;
+import com.flownode.core.execution.resolution.policy.ResolutionPolicy;
+
+import java.util.*;
+
+/**
+ * Immutable, int-indexed form of a {@link Workflow}, produced by {@link Workflow#compile()}.
+ *
+ * Every node gets a dense ordinal (registration order). Linear transitions and parents
+ * are stored CSR-style: the children of node {@code n} are
+ * {@code childAt(childrenStart(n)) .. childAt(childrenEnd(n) - 1)}, and likewise for parents.
+ * Engines walk these arrays on the hot path; string ids are only used at the edges.
+ */
+public final class CompiledWorkflow {
+
+    // Marker for "no branch target"
+    public static final int NONE = -1;
+
+    private final String workflowId;
+    private final String workflowName;
+    private final String version;
+
+    // Node registry → index is the node ordinal
+    private final Node[] nodes;
+    private final String[] nodeIds;
+    private final Map<String, Integer> ordinals;   // Map<nodeId, ordinal>, boundary lookups only
+
+    private final int startOrdinal;
+
+    // Linear transitions (CSR)
+    private final int[] childOffsets;   // length = size + 1
+    private final int[] children;
+
+    // Parent map (CSR) — linear and condition edges alike
+    private final int[] parentOffsets;  // length = size + 1
+    private final int[] parents;
+    private final int[] parentCounts;
+
+    // Join policy per node, resolved once from Node.getResolutionPolicy()
+    private final ResolutionPolicy[] policies;
+
+    // Condition transitions
+    private final int[] trueTargets;
+    private final int[] falseTargets;
+    private final boolean[] conditionNodes;
+
+
+    private CompiledWorkflow(String workflowId,
+                             String workflowName,
+                             String version,
+                             Node[] nodes,
+                             String[] nodeIds,
+                             Map<String, Integer> ordinals,
+                             int startOrdinal,
+                             int[] childOffsets,
+                             int[] children,
+                             int[] parentOffsets,
+                             int[] parents,
+                             int[] parentCounts,
+                             ResolutionPolicy[] policies,
+                             int[] trueTargets,
+                             int[] falseTargets,
+                             boolean[] conditionNodes) {
+        this.workflowId = workflowId;
+        this.workflowName = workflowName;
+        this.version = version;
+        this.nodes = nodes;
+        this.nodeIds = nodeIds;
+        this.ordinals = ordinals;
+        this.startOrdinal = startOrdinal;
+        this.childOffsets = childOffsets;
+        this.children = children;
+        this.parentOffsets = parentOffsets;
+        this.parents = parents;
+        this.parentCounts = parentCounts;
+        this.policies = policies;
+        this.trueTargets = trueTargets;
+        this.falseTargets = falseTargets;
+        this.conditionNodes = conditionNodes;
+    }
+
+
+    // ---------------- COMPILATION ----------------
+
+    static CompiledWorkflow from(Workflow workflow) {
+
+        if (workflow.getStartNodeId() == null) {
+            throw new IllegalStateException("Start node not defined for workflow: " + workflow.getWorkflowId());
+        }
+
+        Map<String, Node> registry = workflow.getAllNodes();
+        int size = registry.size();
+
+        Node[] nodes = new Node[size];
+        String[] nodeIds = new String[size];
+        ResolutionPolicy[] policies = new ResolutionPolicy[size];
+        Map<String, Integer> ordinals = new HashMap<>(size * 2);
+
+        int ordinal = 0;
+        for (Node node : registry.values()) {
+            nodes[ordinal] = node;
+            nodeIds[ordinal] = node.getNodeId();
+            policies[ordinal] = node.getResolutionPolicy() != null
+                    ? node.getResolutionPolicy()
+                    : AllResolvedPolicy.INSTANCE;
+            ordinals.put(node.getNodeId(), ordinal);
+            ordinal++;
+        }
+
+        int startOrdinal = resolve(ordinals, workflow.getStartNodeId(), "start node");
+
+        // ── Linear transitions ──
+        int[] childOffsets = new int[size + 1];
+        for (int n = 0; n < size; n++) {
+            childOffsets[n + 1] = childOffsets[n] + workflow.getNextNodesId(nodeIds[n]).size();
+        }
+
+        int[] children = new int[childOffsets[size]];
+        for (int n = 0; n < size; n++) {
+            int i = childOffsets[n];
+            for (String childId : workflow.getNextNodesId(nodeIds[n])) {
+                children[i++] = resolve(ordinals, childId, "transition target of " + nodeIds[n]);
+            }
+        }
+
+        // ── Condition transitions ──
+        int[] trueTargets = new int[size];
+        int[] falseTargets = new int[size];
+        boolean[] conditionNodes = new boolean[size];
+
+        for (int n = 0; n < size; n++) {
+            String trueId = workflow.getTrueNodeId(nodeIds[n]);
+            String falseId = workflow.getFalseNodeId(nodeIds[n]);
+
+            trueTargets[n] = trueId == null ? NONE : resolve(ordinals, trueId, "TRUE branch of " + nodeIds[n]);
+            falseTargets[n] = falseId == null ? NONE : resolve(ordinals, falseId, "FALSE branch of " + nodeIds[n]);
+            conditionNodes[n] = nodes[n] instanceof ConditionNode;
+        }
+
+        // ── Parent map ──
+        int[] parentOffsets = new int[size + 1];
+        int[] parentCounts = new int[size];
+        for (int n = 0; n < size; n++) {
+            parentCounts[n] = workflow.getParents(nodeIds[n]).size();
+
+            if (parentCounts[n] > ReadinessTracker.MAX_PARENTS) {
+                throw new IllegalStateException("Node '" + nodeIds[n] + "' has more than "
+                        + ReadinessTracker.MAX_PARENTS + " parents");
+            }
+            parentOffsets[n + 1] = parentOffsets[n] + parentCounts[n];
+        }
+
+        int[] parents = new int[parentOffsets[size]];
+        for (int n = 0; n < size; n++) {
+            int i = parentOffsets[n];
+            for (String parentId : workflow.getParents(nodeIds[n])) {
+                parents[i++] = resolve(ordinals, parentId, "parent of " + nodeIds[n]);
+            }
+        }
+
+        return new CompiledWorkflow(
+                workflow.getWorkflowId(),
+                workflow.getWorkflowName(),
+                workflow.getVersion(),
+                nodes,
+                nodeIds,
+                Collections.unmodifiableMap(ordinals),
+                startOrdinal,
+                childOffsets,
+                children,
+                parentOffsets,
+                parents,
+                parentCounts,
+                policies,
+                trueTargets,
+                falseTargets,
+                conditionNodes
+        );
+    }
+
+    private static int resolve(Map<String, Integer> ordinals, String nodeId, String role) {
+        Integer ordinal = ordinals.get(nodeId);
+
+        if (ordinal == null) {
+            throw new IllegalStateException("Unknown node '" + nodeId + "' referenced as " + role);
+        }
+        return ordinal;
+    }
+
+
+    // ---------------- NODE LOOKUP ----------------
+
+    public int size() {
+        return nodes.length;
+    }
+
+    public Node nodeAt(int ordinal) {
+        return nodes[ordinal];
+    }
+
+    public String nodeIdAt(int ordinal) {
+        return nodeIds[ordinal];
+    }
+
+    // Returns NONE for unknown ids
+    public int ordinalOf(String nodeId) {
+        Integer ordinal = ordinals.get(nodeId);
+        return ordinal == null ? NONE : ordinal;
+    }
+
+    public int getStartOrdinal() {
+        return startOrdinal;
+    }
+
+    public boolean isConditionNode(int ordinal) {
+        return conditionNodes[ordinal];
+    }
+
+
+    // ---------------- TRANSITIONS ----------------
+
+    public int childrenStart(int ordinal) {
+        return childOffsets[ordinal];
+    }
+
+    public int childrenEnd(int ordinal) {
+        return childOffsets[ordinal + 1];
+    }
+
+    public int childAt(int index) {
+        return children[index];
+    }
+
+    public int getTrueTarget(int ordinal) {
+        return trueTargets[ordinal];
+    }
+
+    public int getFalseTarget(int ordinal) {
+        return falseTargets[ordinal];
+    }
+
+
+    // ---------------- PARENTS ----------------
+
+    public int parentsStart(int ordinal) {
+        return parentOffsets[ordinal];
+    }
+
+    public int parentsEnd(int ordinal) {
+        return parentOffsets[ordinal + 1];
+    }
+
+    public int parentAt(int index) {
+        return parents[index];
+    }
+
+    public int getParentCount(int ordinal) {
+        return parentCounts[ordinal];
+    }
+
+    public ResolutionPolicy getResolutionPolicy(int ordinal) {
+        return policies[ordinal];
+    }
+
+
+    // ---------------- METADATA ----------------
+
+    public String getWorkflowId() {
+        return workflowId;
+    }
+
+    public String getWorkflowName() {
+        return workflowName;
+    }
+
+    // null for unversioned workflows
+    public String getVersion() {
+        return version;
+    }
+
+    // Registry key of this graph → id@version, or the bare id when unversioned
+    public String getWorkflowKey() {
+        return keyOf(workflowId, version);
+    }
+
+    public static String keyOf(String workflowId, String version) {
+        return version == null ? workflowId : workflowId + "@" + version;
+    }
+}
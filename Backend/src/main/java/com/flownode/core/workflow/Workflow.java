@@ -9,11 +9,12 @@ public class Workflow {
 
     private String workflowId;
     private String workflowName;
+    private String version;   // null → unversioned, registered under its id alone
     private WorkflowState workflowState;
 
 
-    // Node registry
-    private Map<String, Node> nodes = new HashMap<>();   // Map<nodeId, Node>
+    // Node registry — insertion order becomes the compiled node ordinal
+    private Map<String, Node> nodes = new LinkedHashMap<>();   // Map<nodeId, Node>
 
 
     // Linear transitions
@@ -28,10 +29,18 @@ public class Workflow {
 
     private String startNodeId;
 
+    // Frozen, int-indexed form built by compile(); topology is immutable once set
+    private volatile CompiledWorkflow compiled;
+
 
     public Workflow(String workflowId, String workflowName) {
+        this(workflowId, workflowName, null);
+    }
+
+    public Workflow(String workflowId, String workflowName, String version) {
         this.workflowId = workflowId;
         this.workflowName = workflowName;
+        this.version = version;
         this.workflowState = WorkflowState.CREATED;
     }
 
@@ -39,6 +48,7 @@ public class Workflow {
     // ---------------- NODE REGISTRATION ----------------
 
     public void addNode(Node node) {
+        ensureMutable();
         nodes.put(node.getNodeId(), node);
     }
 
@@ -46,6 +56,7 @@ public class Workflow {
     // ---------------- TRANSITIONS ----------------
 
     public void addTransition(String fromNodeId, String toNodeId) {
+        ensureMutable();
         transitions.computeIfAbsent(fromNodeId, k -> new ArrayList<>()).add(toNodeId);
 
         addParent(toNodeId, fromNodeId);
@@ -53,6 +64,7 @@ public class Workflow {
 
 
     public void addConditionTransition(String conditionNodeId, String trueNodeId, String falseNodeId) {
+        ensureMutable();
         trueTransitions.put(conditionNodeId, trueNodeId);
         falseTransitions.put(conditionNodeId, falseNodeId);
 
@@ -69,7 +81,7 @@ public class Workflow {
     }
 
     public List<String> getNextNodesId(String nodeId) {
-        return transitions.getOrDefault(nodeId, new ArrayList<>());
+        return transitions.getOrDefault(nodeId, Collections.emptyList());
     }
 
     public Map<String, Node> getAllNodes(){
@@ -89,6 +101,7 @@ public class Workflow {
     // ---------------- START NODE ----------------
 
     public void setStartNodeId(String startNodeId) {
+        ensureMutable();
         this.startNodeId = startNodeId;
     }
 
@@ -97,6 +110,35 @@ public class Workflow {
     }
 
 
+    // ---------------- COMPILATION ----------------
+
+    // Freezes the topology and returns its compiled form (built once, then cached)
+    public CompiledWorkflow compile() {
+        CompiledWorkflow result = compiled;
+
+        if (result == null) {
+            synchronized (this) {
+                result = compiled;
+                if (result == null) {
+                    result = CompiledWorkflow.from(this);
+                    compiled = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    public boolean isFrozen() {
+        return compiled != null;
+    }
+
+    private void ensureMutable() {
+        if (compiled != null) {
+            throw new IllegalStateException("Workflow is compiled and can no longer be modified: " + workflowId);
+        }
+    }
+
+
     // ---------------- STATE ----------------
 
     public WorkflowState getWorkflowState() {
@@ -119,6 +161,10 @@ public class Workflow {
         return workflowName;
     }
 
+    public String getVersion() {
+        return version;
+    }
+
 
 
     // ---------------- PARENT MAP SUPPORT ----------------
@@ -0,0 +1,100 @@
+package com.flownode.core.workflow.definition;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// One node: its type picks the NodeFactory, properties are type specific (e.g. script, key, threshold)
+public record NodeDefinition(
+        String id,
+        String name,
+        String type,
+        String join,
+        Map<String, Object> properties
+) {
+
+    public String displayName() {
+        return name == null ? id : name;
+    }
+
+    public String requireString(String property) {
+        Object value = property(property);
+
+        if (value == null) {
+            throw new IllegalArgumentException("Node '" + id + "' (" + type + ") needs property '" + property + "'");
+        }
+        return value.toString();
+    }
+
+    public String optionalString(String property, String defaultValue) {
+        Object value = property(property);
+        return value == null ? defaultValue : value.toString();
+    }
+
+    // YAML / JSON list, or one comma-separated string; absent → empty
+    public List<String> optionalStringList(String property) {
+        Object value = property(property);
+
+        if (value == null) {
+            return List.of();
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(String::valueOf).toList();
+        }
+        return Arrays.stream(value.toString().split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    // YAML / JSON object of string values; absent → empty
+    public Map<String, String> optionalStringMap(String property) {
+        Object value = property(property);
+
+        if (value == null) {
+            return Map.of();
+        }
+        if (!(value instanceof Map<?, ?> map)) {
+            throw new IllegalArgumentException("Node '" + id + "': property '" + property + "' is not a mapping");
+        }
+
+        Map<String, String> strings = new LinkedHashMap<>();
+        map.forEach((key, mapped) -> strings.put(String.valueOf(key), String.valueOf(mapped)));
+        return strings;
+    }
+
+    public double requireNumber(String property) {
+        String value = requireString(property);
+
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Node '" + id + "': property '" + property + "' is not a number: " + value);
+        }
+    }
+
+    public double optionalNumber(String property, double defaultValue) {
+        return property(property) == null ? defaultValue : requireNumber(property);
+    }
+
+    // true / false or "true" / "false"; absent → defaultValue
+    public boolean optionalBoolean(String property, boolean defaultValue) {
+        Object value = property(property);
+
+        if (value == null) {
+            return defaultValue;
+        }
+        return switch (value.toString()) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalArgumentException("Node '" + id + "': property '" + property + "' is not a boolean: " + value);
+        };
+    }
+
+    // Set at all, even to an empty list → e.g. a declaration that the node writes nothing
+    public boolean has(String property) {
+        return property(property) != null;
+    }
+
+    private Object property(String property) {
+        return properties == null ? null : properties.get(property);
+    }
+}
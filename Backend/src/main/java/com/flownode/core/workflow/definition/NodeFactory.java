@@ -0,0 +1,10 @@
+package com.flownode.core.workflow.definition;
+
+import com.flownode.core.execution.node.Node;
+
+// Builds the node for one definition type; throws IllegalArgumentException for bad properties
+@FunctionalInterface
+public interface NodeFactory {
+
+    Node create(NodeDefinition definition, ScriptRegistry scripts);
+}
@@ -0,0 +1,51 @@
+package com.flownode.core.workflow.definition;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Named code that definitions refer to: a {@code script} node names a script registered
+ * here instead of carrying code. Lookups happen once, when a definition is compiled.
+ */
+public class ScriptRegistry {
+
+    private final Map<String, Consumer<WorkflowExecutionContext>> scripts = new ConcurrentHashMap<>();
+    private final Map<String, Function<WorkflowExecutionContext, CompletionStage<Void>>> asyncScripts = new ConcurrentHashMap<>();
+
+    public ScriptRegistry() {
+        register("noop", context -> { });
+    }
+
+    public ScriptRegistry register(String name, Consumer<WorkflowExecutionContext> script) {
+        scripts.put(name, script);
+        return this;
+    }
+
+    public ScriptRegistry registerAsync(String name, Function<WorkflowExecutionContext, CompletionStage<Void>> script) {
+        asyncScripts.put(name, script);
+        return this;
+    }
+
+    public Consumer<WorkflowExecutionContext> script(String name) {
+        Consumer<WorkflowExecutionContext> script = scripts.get(name);
+
+        if (script == null) {
+            throw new IllegalArgumentException("Unknown script: " + name);
+        }
+        return script;
+    }
+
+    public Function<WorkflowExecutionContext, CompletionStage<Void>> asyncScript(String name) {
+        Function<WorkflowExecutionContext, CompletionStage<Void>> script = asyncScripts.get(name);
+
+        if (script == null) {
+            throw new IllegalArgumentException("Unknown async script: " + name);
+        }
+        return script;
+    }
+}
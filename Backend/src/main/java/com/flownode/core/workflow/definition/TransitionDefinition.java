@@ -0,0 +1,14 @@
+package com.flownode.core.workflow.definition;
+
+// Either a linear edge (from → to) or the two branches of a condition node (whenTrue / whenFalse)
+public record TransitionDefinition(
+        String from,
+        String to,
+        String whenTrue,
+        String whenFalse
+) {
+
+    public boolean isConditional() {
+        return whenTrue != null || whenFalse != null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.flownode.core.workflow.definition;
+
+import java.util.List;
+
+/**
+ * Declarative form of a {@link com.flownode.core.workflow.Workflow}, as read from JSON or YAML.
+ * Turned into a runnable workflow by {@link WorkflowDefinitionCompiler}.
+ */
+public record WorkflowDefinition(
+        String id,
+        String name,
+        String version,
+        String start,
+        List<NodeDefinition> nodes,
+        List<TransitionDefinition> transitions
+) {
+}
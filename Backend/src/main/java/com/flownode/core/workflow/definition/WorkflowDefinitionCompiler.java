@@ -0,0 +1,357 @@
+package com.flownode.core.workflow.definition;
+
+import com.flownode.core.execution.node.BaseNode;
+import com.flownode.core.execution.node.Node;
+import com.flownode.core.execution.node.impl.composite.MapNode;
+import com.flownode.core.execution.node.impl.composite.SubWorkflowNode;
+import com.flownode.core.execution.node.impl.condition.AmountGreaterThanConditionNode;
+import com.flownode.core.execution.node.impl.condition.BooleanConditionNode;
+import com.flownode.core.execution.node.impl.condition.ConditionNode;
+import com.flownode.core.execution.node.impl.condition.ExpressionConditionNode;
+import com.flownode.core.execution.node.impl.join.ConditionalMergeNode;
+import com.flownode.core.execution.node.impl.lifecycle.DelayNode;
+import com.flownode.core.execution.node.impl.lifecycle.EndNode;
+import com.flownode.core.execution.node.impl.lifecycle.StartNode;
+import com.flownode.core.execution.node.impl.task.AsyncScriptTaskNode;
+import com.flownode.core.execution.node.impl.task.DeclaredScriptTaskNode;
+import com.flownode.core.execution.node.impl.task.ManualApprovalTaskNode;
+import com.flownode.core.execution.node.impl.task.MemoizedScriptTaskNode;
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.execution.resolution.policy.AllCompletedPolicy;
+import com.flownode.core.execution.resolution.policy.AllResolvedPolicy;
+import com.flownode.core.execution.resolution.policy.AnyCompletedPolicy;
+import com.flownode.core.execution.resolution.policy.NoneFailedPolicy;
+import com.flownode.core.execution.resolution.policy.ResolutionPolicy;
+import com.flownode.core.util.IntStack;
+import com.flownode.core.workflow.Workflow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Validates a {@link WorkflowDefinition} and builds the frozen {@link Workflow} for it.
+ *
+ * Every problem found is reported in one IllegalArgumentException: unknown node types or
+ * scripts, duplicate ids, dangling or duplicate transitions, branches on non-condition nodes
+ * (or more than one pair per condition node), sub-workflows that aren't deployed, cycles and
+ * nodes the start node can't reach (a run would never finish). Node types are pluggable
+ * through {@link #registerNodeType}.
+ */
+public class WorkflowDefinitionCompiler {
+
+    private final ScriptRegistry scripts;
+    private final Map<String, NodeFactory> nodeTypes = new ConcurrentHashMap<>();
+
+    public WorkflowDefinitionCompiler(ScriptRegistry scripts) {
+        this.scripts = scripts;
+
+        registerNodeType("start", (node, s) -> new StartNode(node.id(), node.displayName()));
+        registerNodeType("end", (node, s) -> new EndNode(node.id(), node.displayName()));
+        registerNodeType("script", WorkflowDefinitionCompiler::scriptNode);
+        registerNodeType("async-script", (node, s) ->
+                new AsyncScriptTaskNode(node.id(), node.displayName(), s.asyncScript(node.requireString("script"))));
+        registerNodeType("delay", (node, s) ->
+                new DelayNode(node.id(), node.displayName(), (long) node.requireNumber("delayMillis")));
+        registerNodeType("approval", (node, s) ->
+                new ManualApprovalTaskNode(node.id(), node.displayName(), node.optionalString("approvalKey", "approved")));
+        registerNodeType("boolean-condition", (node, s) ->
+                new BooleanConditionNode(node.id(), node.displayName(), node.requireString("key")));
+        registerNodeType("amount-condition", (node, s) ->
+                new AmountGreaterThanConditionNode(node.id(), node.displayName(), node.requireString("key"), node.requireNumber("threshold")));
+        registerNodeType("expression-condition", (node, s) ->
+                new ExpressionConditionNode(node.id(), node.displayName(), node.requireString("expression")));
+        registerNodeType("merge", (node, s) -> new ConditionalMergeNode(node.id(), node.displayName()));
+        registerNodeType("subworkflow", (node, s) ->
+                new SubWorkflowNode(node.id(), node.displayName(), node.requireString("workflowId"),
+                        node.optionalStringMap("inputs"), node.optionalStringMap("outputs")));
+        registerNodeType("map", (node, s) ->
+                new MapNode(node.id(), node.displayName(), node.requireString("items"), node.optionalString("results", "results"),
+                        s.script(node.requireString("script")), (int) node.optionalNumber("maxConcurrency", 8)));
+    }
+
+    public void registerNodeType(String type, NodeFactory factory) {
+        nodeTypes.put(type, factory);
+    }
+
+    // inputs and outputs declared → reruns keep or redo the script alone; memoize → also a pure function for the result cache
+    private static Node scriptNode(NodeDefinition node, ScriptRegistry scripts) {
+
+        boolean declared = node.has("inputs") || node.has("outputs");
+        boolean memoize = node.optionalBoolean("memoize", false);
+
+        if (!declared && !memoize) {
+            return new ScriptTaskNode(node.id(), node.displayName(), scripts.script(node.requireString("script")));
+        }
+
+        // Half a declaration reads as "nothing" for the other half → stale outputs or missed invalidations
+        if (!node.has("inputs") || !node.has("outputs")) {
+            throw new IllegalArgumentException("Script node '" + node.id() + "' must declare both inputs and outputs");
+        }
+
+        if (memoize) {
+            return new MemoizedScriptTaskNode(node.id(), node.displayName(), scripts.script(node.requireString("script")),
+                    node.optionalStringList("inputs"), node.optionalStringList("outputs"));
+        }
+        return new DeclaredScriptTaskNode(node.id(), node.displayName(), scripts.script(node.requireString("script")),
+                node.optionalStringList("inputs"), node.optionalStringList("outputs"));
+    }
+
+
+    // ---------------- COMPILE ----------------
+
+    // Sub-workflow references are only checked against the definition's own id
+    public Workflow compile(WorkflowDefinition definition) {
+        return compile(definition, workflowId -> true);
+    }
+
+    // knownWorkflow → whether a sub-workflow node's workflow id can be started, e.g. is deployed
+    public Workflow compile(WorkflowDefinition definition, Predicate<String> knownWorkflow) {
+
+        List<String> errors = new ArrayList<>();
+
+        if (isBlank(definition.id())) errors.add("id is missing");
+        if (isBlank(definition.start())) errors.add("start is missing");
+        if (definition.nodes() == null || definition.nodes().isEmpty()) errors.add("no nodes defined");
+
+        if (!errors.isEmpty()) {
+            throw invalid(definition, errors);
+        }
+
+        // 1️⃣ Nodes
+        Map<String, Node> nodes = new LinkedHashMap<>();
+
+        for (NodeDefinition nodeDefinition : definition.nodes()) {
+            Node node = createNode(nodeDefinition, errors);
+
+            if (node != null && nodes.putIfAbsent(node.getNodeId(), node) != null) {
+                errors.add("duplicate node id '" + node.getNodeId() + "'");
+            }
+            if (node instanceof SubWorkflowNode subWorkflow) {
+                validateSubWorkflow(definition.id(), subWorkflow, knownWorkflow, errors);
+            }
+        }
+
+        if (!nodes.containsKey(definition.start())) {
+            errors.add("start node '" + definition.start() + "' is not defined");
+        }
+
+        // 2️⃣ Transitions
+        List<TransitionDefinition> transitions = definition.transitions() == null ? List.of() : definition.transitions();
+
+        // Each edge once → a doubled edge counts its parent twice and the child waits forever
+        Set<List<String>> edges = new HashSet<>();
+        Set<String> branched = new HashSet<>();
+
+        for (TransitionDefinition transition : transitions) {
+            validateTransition(transition, nodes, edges, branched, errors);
+        }
+
+        if (errors.isEmpty()) {
+            validateShape(definition.start(), nodes, transitions, errors);
+        }
+
+        if (!errors.isEmpty()) {
+            throw invalid(definition, errors);
+        }
+
+        // 3️⃣ Build and freeze
+        Workflow workflow = new Workflow(definition.id(), definition.name() == null ? definition.id() : definition.name(),
+                definition.version());
+        nodes.values().forEach(workflow::addNode);
+
+        for (TransitionDefinition transition : transitions) {
+            if (transition.isConditional()) {
+                workflow.addConditionTransition(transition.from(), transition.whenTrue(), transition.whenFalse());
+            } else {
+                workflow.addTransition(transition.from(), transition.to());
+            }
+        }
+
+        workflow.setStartNodeId(definition.start());
+        workflow.compile();
+
+        return workflow;
+    }
+
+    private Node createNode(NodeDefinition definition, List<String> errors) {
+
+        if (isBlank(definition.id())) {
+            errors.add("node without id");
+            return null;
+        }
+
+        NodeFactory factory = definition.type() == null ? null : nodeTypes.get(definition.type());
+        if (factory == null) {
+            errors.add("node '" + definition.id() + "' has unknown type '" + definition.type() + "'");
+            return null;
+        }
+
+        Node node;
+        try {
+            node = factory.create(definition, scripts);
+        } catch (IllegalArgumentException e) {
+            errors.add(e.getMessage());
+            return null;
+        }
+
+        if (definition.join() != null) {
+            ResolutionPolicy policy = policyOf(definition.join());
+
+            if (policy == null) {
+                errors.add("node '" + definition.id() + "' has unknown join '" + definition.join() + "'");
+            } else if (node instanceof BaseNode baseNode) {
+                baseNode.setResolutionPolicy(policy);
+            }
+        }
+
+        return node;
+    }
+
+    private static ResolutionPolicy policyOf(String join) {
+        return switch (join) {
+            case "all-resolved" -> AllResolvedPolicy.INSTANCE;
+            case "all-completed" -> AllCompletedPolicy.INSTANCE;
+            case "any-completed" -> AnyCompletedPolicy.INSTANCE;
+            case "none-failed" -> NoneFailedPolicy.INSTANCE;
+            default -> null;
+        };
+    }
+
+    private static void validateSubWorkflow(String workflowId, SubWorkflowNode node, Predicate<String> knownWorkflow, List<String> errors) {
+
+        if (node.getWorkflowId().equals(workflowId)) {
+            errors.add("node '" + node.getNodeId() + "' runs its own workflow '" + workflowId + "'");
+        } else if (!knownWorkflow.test(node.getWorkflowId())) {
+            errors.add("node '" + node.getNodeId() + "' runs unknown workflow '" + node.getWorkflowId() + "'");
+        }
+    }
+
+    private static void validateTransition(TransitionDefinition transition, Map<String, Node> nodes,
+                                           Set<List<String>> edges, Set<String> branched, List<String> errors) {
+
+        Node from = nodes.get(transition.from());
+        if (from == null) {
+            errors.add("transition from unknown node '" + transition.from() + "'");
+            return;
+        }
+
+        if (transition.isConditional()) {
+            if (!(from instanceof ConditionNode)) {
+                errors.add("'" + transition.from() + "' is not a condition node but has whenTrue/whenFalse");
+            }
+            if (transition.to() != null) {
+                errors.add("transition from '" + transition.from() + "' mixes 'to' with whenTrue/whenFalse");
+            }
+            if (!branched.add(transition.from())) {
+                errors.add("condition node '" + transition.from() + "' has more than one whenTrue/whenFalse transition");
+            }
+            requireTarget(transition.from(), transition.whenTrue(), "whenTrue", nodes, errors);
+            requireTarget(transition.from(), transition.whenFalse(), "whenFalse", nodes, errors);
+            requireNewEdge(transition.from(), transition.whenTrue(), edges, errors);
+            requireNewEdge(transition.from(), transition.whenFalse(), edges, errors);
+        } else {
+            requireTarget(transition.from(), transition.to(), "to", nodes, errors);
+            requireNewEdge(transition.from(), transition.to(), edges, errors);
+        }
+    }
+
+    // Also catches whenTrue == whenFalse
+    private static void requireNewEdge(String from, String target, Set<List<String>> edges, List<String> errors) {
+        if (target != null && !edges.add(List.of(from, target))) {
+            errors.add("duplicate transition from '" + from + "' to '" + target + "'");
+        }
+    }
+
+    private static void requireTarget(String from, String target, String role, Map<String, Node> nodes, List<String> errors) {
+        if (target == null) {
+            errors.add("transition from '" + from + "' has no '" + role + "'");
+        } else if (!nodes.containsKey(target)) {
+            errors.add("transition from '" + from + "' " + role + " unknown node '" + target + "'");
+        }
+    }
+
+    // Kahn's algorithm: nodes left with parents are on a cycle; nodes never visited from start are unreachable
+    private static void validateShape(String start, Map<String, Node> nodes, List<TransitionDefinition> transitions, List<String> errors) {
+
+        List<String> ids = new ArrayList<>(nodes.keySet());
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            ordinals.put(ids.get(i), i);
+        }
+
+        List<List<Integer>> children = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            children.add(new ArrayList<>());
+        }
+
+        int[] inDegree = new int[ids.size()];
+        for (TransitionDefinition transition : transitions) {
+            int from = ordinals.get(transition.from());
+
+            for (String target : transition.isConditional()
+                    ? List.of(transition.whenTrue(), transition.whenFalse())
+                    : List.of(transition.to())) {
+                int to = ordinals.get(target);
+                children.get(from).add(to);
+                inDegree[to]++;
+            }
+        }
+
+        // Reachability from start
+        boolean[] reachable = new boolean[ids.size()];
+        IntStack pending = new IntStack();
+        pending.push(ordinals.get(start));
+        reachable[ordinals.get(start)] = true;
+
+        while (!pending.isEmpty()) {
+            for (int child : children.get(pending.pop())) {
+                if (!reachable[child]) {
+                    reachable[child] = true;
+                    pending.push(child);
+                }
+            }
+        }
+
+        // Cycles
+        int[] remaining = inDegree.clone();
+        for (int i = 0; i < ids.size(); i++) {
+            if (remaining[i] == 0) pending.push(i);
+        }
+
+        int visited = 0;
+        while (!pending.isEmpty()) {
+            visited++;
+            for (int child : children.get(pending.pop())) {
+                if (--remaining[child] == 0) pending.push(child);
+            }
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            if (!reachable[i]) {
+                errors.add("node '" + ids.get(i) + "' is not reachable from '" + start + "'");
+            }
+            if (visited < ids.size() && remaining[i] > 0) {
+                errors.add("node '" + ids.get(i) + "' is on or behind a cycle");
+            }
+        }
+
+        if (inDegree[ordinals.get(start)] > 0) {
+            errors.add("start node '" + start + "' has incoming transitions");
+        }
+    }
+
+    private static IllegalArgumentException invalid(WorkflowDefinition definition, List<String> errors) {
+        return new IllegalArgumentException("Invalid workflow definition '" + definition.id() + "': " + String.join("; ", errors));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
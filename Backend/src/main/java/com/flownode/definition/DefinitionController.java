@@ -0,0 +1,43 @@
+package com.flownode.definition;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+// Deploys JSON or YAML definitions; runs are then started through /api/runs by workflow id
+@RestController
+@RequestMapping("/api/definitions")
+public class DefinitionController {
+
+    private final WorkflowDefinitionService definitions;
+
+    public DefinitionController(WorkflowDefinitionService definitions) {
+        this.definitions = definitions;
+    }
+
+    // Raw body → the hash covers exactly the bytes sent, whatever the content type
+    @PostMapping(consumes = "*/*")
+    public ResponseEntity<DeployedDefinition> deploy(@RequestBody String source) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(definitions.deploy(source));
+    }
+
+    @GetMapping("/{workflowId}/versions/{version}")
+    public DeployedDefinition find(@PathVariable String workflowId, @PathVariable String version) {
+        return definitions.find(workflowId, version)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown definition: " + workflowId + "@" + version));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ProblemDetail> invalid(IllegalArgumentException e) {
+        return ResponseEntity.badRequest()
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+}
@@ -0,0 +1,10 @@
+package com.flownode.definition;
+
+// A definition the engine can run; hash is the SHA-256 of the source it was read from
+public record DeployedDefinition(
+        String workflowId,
+        String version,
+        String hash,
+        int nodeCount
+) {
+}
@@ -0,0 +1,38 @@
+package com.flownode.definition;
+
+import com.flownode.core.workflow.definition.WorkflowDefinition;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Parses a definition from JSON or YAML. A document starting with '{' is JSON; anything
+ * else goes through SnakeYAML (safe constructor, plain maps and lists only) and is then
+ * bound like JSON, so both formats accept exactly the same fields.
+ */
+public class WorkflowDefinitionReader {
+
+    private final JsonMapper jsonMapper;
+
+    public WorkflowDefinitionReader(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    public WorkflowDefinition read(String source) {
+
+        try {
+            if (source.stripLeading().startsWith("{")) {
+                return jsonMapper.readValue(source, WorkflowDefinition.class);
+            }
+
+            // Yaml instances are not thread-safe → one per call
+            Object document = new Yaml(new SafeConstructor(new LoaderOptions())).load(source);
+            return jsonMapper.convertValue(document, WorkflowDefinition.class);
+
+        } catch (JacksonException | org.yaml.snakeyaml.error.YAMLException e) {
+            throw new IllegalArgumentException("Unreadable workflow definition: " + e.getMessage(), e);
+        }
+    }
+}
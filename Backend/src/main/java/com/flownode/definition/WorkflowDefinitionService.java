@@ -0,0 +1,114 @@
+package com.flownode.definition;
+
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.workflow.CompiledWorkflow;
+import com.flownode.core.workflow.Workflow;
+import com.flownode.core.workflow.definition.WorkflowDefinition;
+import com.flownode.core.workflow.definition.WorkflowDefinitionCompiler;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deploys definitions to the engine, parsing and validating each distinct source once.
+ *
+ * Compiled graphs are cached by the SHA-256 of the source text, so deploying the same
+ * document again costs one hash; runs then start by workflow id against the graph the
+ * engine already holds, with no parsing or validation at all. Also indexed by
+ * (id, version). Deploying a version, new or earlier, switches new runs over to it; the
+ * engine keeps every version registered, so running and persisted instances continue on
+ * the graph they started with. A version, once deployed, can't change its source.
+ */
+public class WorkflowDefinitionService {
+
+    private final WorkflowDefinitionReader reader;
+    private final WorkflowDefinitionCompiler compiler;
+    private final ConcurrentWorkflowExecutor engine;
+
+    private final Map<String, Deployment> byHash = new ConcurrentHashMap<>();
+    private final Map<String, Deployment> byVersion = new ConcurrentHashMap<>();
+
+    // Definition and graph kept with the deployment → a cache hit re-registers the graph, e.g. a rollback to v1
+    private record Deployment(DeployedDefinition deployed, WorkflowDefinition definition, Workflow workflow) {
+    }
+
+    public WorkflowDefinitionService(WorkflowDefinitionReader reader, WorkflowDefinitionCompiler compiler, ConcurrentWorkflowExecutor engine) {
+        this.reader = reader;
+        this.compiler = compiler;
+        this.engine = engine;
+    }
+
+    // IllegalArgumentException for unreadable or invalid definitions (sub-workflows must be deployed first),
+    // or a changed one under a deployed version
+    public DeployedDefinition deploy(String source) {
+
+        String hash = sha256(source);
+
+        Deployment deployment = byHash.get(hash);
+        if (deployment == null) {
+            deployment = byHash.computeIfAbsent(hash, h -> compile(source, h));
+        }
+
+        // Every deploy makes its graph the one new runs start on, cached or not
+        engine.registerWorkflow(deployment.workflow());
+        return deployment.deployed();
+    }
+
+    private Deployment compile(String source, String hash) {
+
+        WorkflowDefinition definition = reader.read(source);
+        String key = versionKey(definition.id(), definition.version());
+
+        // Same version from another source (e.g. YAML after JSON) → same graph, or runs on it could restore on a different one
+        Deployment existing = byVersion.get(key);
+        if (existing != null && definition.version() != null) {
+
+            if (!existing.definition().equals(definition)) {
+                throw new IllegalArgumentException("Workflow '" + definition.id() + "' version " + definition.version()
+                        + " is already deployed with a different definition");
+            }
+            DeployedDefinition deployed = existing.deployed();
+            return new Deployment(new DeployedDefinition(deployed.workflowId(), deployed.version(), hash, deployed.nodeCount()),
+                    definition, existing.workflow());
+        }
+
+        Workflow workflow = compiler.compile(definition, this::isDeployed);
+        CompiledWorkflow graph = workflow.compile();
+
+        Deployment deployment = new Deployment(
+                new DeployedDefinition(graph.getWorkflowId(), definition.version(), hash, graph.size()), definition, workflow);
+        byVersion.put(key, deployment);
+        return deployment;
+    }
+
+    // Sub-workflow references → anything the engine runs, deployed here or registered directly
+    private boolean isDeployed(String workflowId) {
+        return engine.getWorkflow(workflowId).isPresent();
+    }
+
+    public Optional<DeployedDefinition> find(String workflowId, String version) {
+        return Optional.ofNullable(byVersion.get(versionKey(workflowId, version))).map(Deployment::deployed);
+    }
+
+    public int getCachedDefinitionCount() {
+        return byHash.size();
+    }
+
+    private static String versionKey(String workflowId, String version) {
+        return workflowId + "@" + version;
+    }
+
+    private static String sha256(String source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.flownode.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket latency histogram for per-node recording.
+ *
+ * Recording is a few uncontended adder increments: no clock reads, no window rotation
+ * and no allocation, which a Micrometer {@code Timer} does not guarantee. Bucket i counts
+ * samples of at most 4^i µs (1 µs … ~16.8 s, then +Inf). Everything is exported lazily:
+ * a FunctionTimer for count / total, a TimeGauge for the max and one cumulative counter
+ * per bucket tagged {@code le} (seconds), Prometheus-style.
+ */
+final class LatencyHistogram {
+
+    static final int BUCKETS = 14;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos) {
+
+        count.increment();
+        totalNanos.add(nanos);
+        buckets[bucketOf(nanos)].increment();
+
+        // Read first → the CAS only happens on a new maximum
+        if (nanos > maxNanos.get()) {
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    // Samples ≤ upperBound(bucket)
+    long cumulativeCount(int bucket) {
+        long sum = 0;
+        for (int i = 0; i <= bucket; i++) {
+            sum += buckets[i].sum();
+        }
+        return sum;
+    }
+
+    void register(MeterRegistry registry, String name, String description, Tags tags) {
+
+        FunctionTimer.builder(name, this, LatencyHistogram::count, h -> h.totalNanos.sum(), TimeUnit.NANOSECONDS)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+
+        TimeGauge.builder(name + ".max", maxNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .tags(tags)
+                .register(registry);
+
+        for (int i = 0; i < BUCKETS; i++) {
+            int bucket = i;
+            FunctionCounter.builder(name + ".histogram", this, h -> h.cumulativeCount(bucket))
+                    .tags(tags)
+                    .tag("le", upperBoundLabel(bucket))
+                    .register(registry);
+        }
+    }
+
+    // Ceil of log4(µs), clamped to the overflow bucket
+    static int bucketOf(long nanos) {
+        long micros = Math.max(1, Math.ceilDiv(nanos, 1000L));
+        int log2 = 64 - Long.numberOfLeadingZeros(micros - 1);
+        return Math.min(BUCKETS - 1, (log2 + 1) / 2);
+    }
+
+    static String upperBoundLabel(int bucket) {
+        return bucket == BUCKETS - 1 ? "+Inf" : Double.toString(Math.pow(4, bucket) / 1_000_000);
+    }
+}
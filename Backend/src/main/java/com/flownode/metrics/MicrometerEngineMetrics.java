@@ -0,0 +1,169 @@
+package com.flownode.metrics;
+
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.execution.memo.NodeResultCache;
+import com.flownode.core.execution.metrics.EngineMetrics;
+import com.flownode.core.execution.node.Node;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * {@link EngineMetrics} backed by Micrometer, exposed through Actuator.
+ *
+ * Per-node hooks only touch adders: latencies go into a {@link LatencyHistogram} per node
+ * class (found through a {@link ClassValue}) and are turned into meters at scrape time.
+ * Gauges read the engine lazily and cost nothing on the workers.
+ */
+public class MicrometerEngineMetrics implements EngineMetrics {
+
+    private final MeterRegistry registry;
+
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+
+    private final Counter instancesStarted;
+    private final Counter instancesCompleted;
+    private final Counter instancesFailed;
+
+    // Summed only when scraped
+    private final LongAdder readinessEvaluations = new LongAdder();
+
+    // Per node class, registered on first use
+    private final ClassValue<NodeTypeStats> nodeStats = new ClassValue<>() {
+        @Override
+        protected NodeTypeStats computeValue(Class<?> type) {
+            return registeredStats.computeIfAbsent(type, t -> new NodeTypeStats(t.getSimpleName()));
+        }
+    };
+
+    // computeValue may race on first use → both threads must end up with the registered instance
+    private final Map<Class<?>, NodeTypeStats> registeredStats = new ConcurrentHashMap<>();
+
+
+    public MicrometerEngineMetrics(MeterRegistry registry, ConcurrentWorkflowExecutor engine) {
+
+        this.registry = registry;
+
+        queueWait.register(registry, "flownode.node.queue.wait",
+                "Time between a node being scheduled and starting on a worker", Tags.empty());
+
+        this.instancesStarted = Counter.builder("flownode.instances")
+                .tag("outcome", "started")
+                .register(registry);
+        this.instancesCompleted = Counter.builder("flownode.instances")
+                .tag("outcome", "completed")
+                .register(registry);
+        this.instancesFailed = Counter.builder("flownode.instances")
+                .tag("outcome", "failed")
+                .register(registry);
+
+        FunctionCounter.builder("flownode.readiness.evaluations", readinessEvaluations, LongAdder::sum)
+                .description("Parent → child edges evaluated against resolution policies")
+                .register(registry);
+
+        Gauge.builder("flownode.pool.queue.depth", engine, ConcurrentWorkflowExecutor::getQueuedTaskCount)
+                .description("Node tasks waiting for a pool thread")
+                .register(registry);
+
+        Gauge.builder("flownode.tasks.active", engine, ConcurrentWorkflowExecutor::getActiveTaskCount)
+                .description("Node tasks submitted or running")
+                .register(registry);
+
+        Gauge.builder("flownode.instances.active", engine, ConcurrentWorkflowExecutor::getRunningInstanceCount)
+                .description("Workflow instances held in memory")
+                .register(registry);
+
+        FunctionCounter.builder("flownode.events.dropped", engine, e -> e.getEventBus().getDroppedCount())
+                .description("Execution events dropped because the event ring was full")
+                .register(registry);
+
+        // Result cache read at scrape time → may be set on the engine after this
+        FunctionCounter.builder("flownode.memo.requests", engine, e -> memoStat(e, NodeResultCache::getHitCount))
+                .description("Memoizable node executions answered from the result cache")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("flownode.memo.requests", engine, e -> memoStat(e, NodeResultCache::getMissCount))
+                .description("Memoizable node executions that ran the node")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("flownode.memo.evictions", engine, e -> memoStat(e, NodeResultCache::getEvictionCount))
+                .register(registry);
+        Gauge.builder("flownode.memo.size", engine, e -> memoStat(e, NodeResultCache::size))
+                .description("Entries held by the result cache")
+                .register(registry);
+        Gauge.builder("flownode.memo.hit.ratio", engine, e -> memoStat(e, NodeResultCache::getHitRate))
+                .register(registry);
+    }
+
+
+    // ---------------- HOT PATH ----------------
+
+    @Override
+    public void recordQueueWait(long nanos) {
+        queueWait.record(nanos);
+    }
+
+    @Override
+    public void recordNodeExecution(Class<? extends Node> nodeType, long nanos, boolean succeeded) {
+
+        NodeTypeStats stats = nodeStats.get(nodeType);
+        stats.latency.record(nanos);
+
+        if (!succeeded) {
+            stats.failures.increment();
+        }
+    }
+
+    @Override
+    public void readinessEvaluated() {
+        readinessEvaluations.increment();
+    }
+
+    @Override
+    public void instanceStarted() {
+        instancesStarted.increment();
+    }
+
+    @Override
+    public void instanceCompleted() {
+        instancesCompleted.increment();
+    }
+
+    @Override
+    public void instanceFailed() {
+        instancesFailed.increment();
+    }
+
+
+    private static double memoStat(ConcurrentWorkflowExecutor engine, ToDoubleFunction<NodeResultCache> stat) {
+        NodeResultCache cache = engine.getResultCache();
+        return cache == null ? 0 : stat.applyAsDouble(cache);
+    }
+
+
+    // ---------------- PER NODE TYPE ----------------
+
+    private final class NodeTypeStats {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder failures = new LongAdder();
+
+        private NodeTypeStats(String type) {
+
+            Tags tags = Tags.of("type", type);
+
+            latency.register(registry, "flownode.node.execution", "Node execution time by node type", tags);
+
+            FunctionCounter.builder("flownode.node.failures", failures, LongAdder::sum)
+                    .tags(tags)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.flownode.persistence;
+
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.execution.engine.store.InstanceSnapshot;
+import com.flownode.core.workflow.CompiledWorkflow;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.util.List;
+
+/**
+ * On startup, continues every run the previous process left unfinished.
+ *
+ * Completed and skipped nodes are not executed again: the engine only replays their edges
+ * and schedules the ready frontier, so recovery costs what was in flight, not the whole
+ * run. Nodes that were mid-flight at the crash run again (at-least-once).
+ */
+public class InstanceRecovery implements ApplicationRunner {
+
+    private final JdbcSnapshotRepository repository;
+    private final ConcurrentWorkflowExecutor engine;
+
+    public InstanceRecovery(JdbcSnapshotRepository repository, ConcurrentWorkflowExecutor engine) {
+        this.repository = repository;
+        this.engine = engine;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        recover();
+    }
+
+    // Returns the number of runs restored
+    public int recover() {
+
+        List<InstanceSnapshot> snapshots = repository.findUnfinished();
+        int restored = 0;
+
+        for (InstanceSnapshot snapshot : snapshots) {
+
+            // Definition no longer deployed → leave the run in the tables untouched
+            if (engine.getWorkflow(snapshot.workflowId(), snapshot.workflowVersion()).isEmpty()) {
+                System.err.println("Run " + snapshot.runId() + " not recovered: unknown workflow "
+                        + CompiledWorkflow.keyOf(snapshot.workflowId(), snapshot.workflowVersion()));
+                continue;
+            }
+
+            // One broken run must not keep the others from recovering
+            try {
+                engine.restore(snapshot);
+                restored++;
+            } catch (RuntimeException e) {
+                System.err.println("Run " + snapshot.runId() + " not recovered: " + e.getMessage());
+            }
+        }
+
+        return restored;
+    }
+}
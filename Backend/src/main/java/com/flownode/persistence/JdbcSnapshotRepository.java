@@ -0,0 +1,106 @@
+package com.flownode.persistence;
+
+import com.flownode.core.execution.engine.scheduling.RunOptions;
+import com.flownode.core.execution.engine.store.InstanceSnapshot;
+import com.flownode.core.state.NodeState;
+import com.flownode.core.state.WorkflowState;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads unfinished runs back from the journal tables written by {@link JdbcJournalSink}.
+ *
+ * A node's state is its latest transition and the data is the run's last checkpoint, so
+ * a snapshot holds exactly the frontier {@code restore} needs; finished runs are never read
+ * during recovery, only by {@link #findRun}.
+ */
+public class JdbcSnapshotRepository {
+
+    private static final String UNFINISHED = "('" + WorkflowState.RUNNING + "', '" + WorkflowState.SUSPENDED + "')";
+
+    private static final String INSTANCE_COLUMNS =
+            "run_id, workflow_id, workflow_version, tenant, priority, state, input_data, context_data";
+
+    private static final String SELECT_INSTANCES =
+            "SELECT " + INSTANCE_COLUMNS + " FROM workflow_instance WHERE state IN " + UNFINISHED;
+
+    // Ordered by id → later transitions overwrite earlier ones per node
+    private static final String SELECT_TRANSITIONS =
+            "SELECT t.run_id, t.node_id, t.state FROM node_transition t"
+                    + " JOIN workflow_instance i ON i.run_id = t.run_id"
+                    + " WHERE i.state IN " + UNFINISHED + " ORDER BY t.id";
+
+    private static final String SELECT_INSTANCE =
+            "SELECT " + INSTANCE_COLUMNS + " FROM workflow_instance WHERE run_id = ?";
+
+    private static final String SELECT_RUN_TRANSITIONS =
+            "SELECT node_id, state FROM node_transition WHERE run_id = ? ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+
+    public JdbcSnapshotRepository(JdbcTemplate jdbcTemplate, JsonMapper jsonMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+    }
+
+    public List<InstanceSnapshot> findUnfinished() {
+
+        Map<String, Map<String, NodeState>> nodeStates = new HashMap<>();
+
+        jdbcTemplate.query(SELECT_TRANSITIONS, rs -> {
+            nodeStates.computeIfAbsent(rs.getString("run_id"), runId -> new LinkedHashMap<>())
+                    .put(rs.getString("node_id"), NodeState.valueOf(rs.getString("state")));
+        });
+
+        List<InstanceSnapshot> snapshots = new ArrayList<>();
+
+        jdbcTemplate.query(SELECT_INSTANCES, rs -> {
+
+            String runId = rs.getString("run_id");
+            snapshots.add(toSnapshot(runId, rs, nodeStates.getOrDefault(runId, Map.of())));
+        });
+
+        return snapshots;
+    }
+
+    // Any run, finished or not; the journal lags the engine by at most one batch
+    public Optional<InstanceSnapshot> findRun(String runId) {
+
+        Map<String, NodeState> nodeStates = new LinkedHashMap<>();
+
+        jdbcTemplate.query(SELECT_RUN_TRANSITIONS,
+                rs -> { nodeStates.put(rs.getString("node_id"), NodeState.valueOf(rs.getString("state"))); },
+                runId);
+
+        List<InstanceSnapshot> found = jdbcTemplate.query(SELECT_INSTANCE, (rs, row) -> toSnapshot(runId, rs, nodeStates), runId);
+
+        return found.stream().findFirst();
+    }
+
+    @SuppressWarnings("unchecked")
+    private InstanceSnapshot toSnapshot(String runId, ResultSet rs, Map<String, NodeState> nodeStates) throws SQLException {
+
+        // No input_data → a run journaled before inputs were recorded
+        String inputJson = rs.getString("input_data");
+        String json = rs.getString("context_data");
+        Map<String, Object> inputs = inputJson == null ? null : jsonMapper.readValue(inputJson, Map.class);
+        Map<String, Object> data = json == null ? Map.of() : jsonMapper.readValue(json, Map.class);
+
+        // No tenant → a run journaled before options were recorded
+        String tenant = rs.getString("tenant");
+        RunOptions options = tenant == null ? RunOptions.DEFAULT : new RunOptions(tenant, rs.getInt("priority"));
+
+        return new InstanceSnapshot(runId, rs.getString("workflow_id"), rs.getString("workflow_version"),
+                WorkflowState.valueOf(rs.getString("state")), inputs, data, nodeStates, options);
+    }
+}
@@ -0,0 +1,27 @@
+-- Journal of workflow runs, written in batches by WriteBehindStateJournal → JdbcJournalSink
+
+CREATE TABLE IF NOT EXISTS workflow_instance (
+    run_id       VARCHAR(64)  PRIMARY KEY,
+    workflow_id  VARCHAR(255) NOT NULL,
+    workflow_version VARCHAR(64),          -- null for unversioned workflows
+    tenant       VARCHAR(255),             -- RunOptions; null for rows written before options were recorded
+    priority     INT,
+    state        VARCHAR(32)  NOT NULL,
+    input_data   TEXT,                     -- JSON of the values the run started from; a rerun may start over with them
+    context_data TEXT,                     -- JSON checkpoint of the run's context
+    started_at   TIMESTAMP    NOT NULL,
+    updated_at   TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_workflow_instance_state ON workflow_instance (state);
+
+-- Append-only: the latest row per (run_id, node_id) is the node's current state
+CREATE TABLE IF NOT EXISTS node_transition (
+    id          BIGINT       GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    run_id      VARCHAR(64)  NOT NULL,
+    node_id     VARCHAR(255) NOT NULL,
+    state       VARCHAR(32)  NOT NULL,
+    changed_at  TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_node_transition_run ON node_transition (run_id, id);
@@ -0,0 +1,149 @@
+package com.flownode.api;
+
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.execution.node.impl.task.ManualApprovalTaskNode;
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.workflow.Workflow;
+import com.flownode.persistence.JdbcSnapshotRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class RunControllerTests {
+
+	private final ConcurrentWorkflowExecutor engine = new ConcurrentWorkflowExecutor(4);
+	private RunService runs;
+	private MockMvc mvc;
+
+	@BeforeEach
+	void setUp() {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+		new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+		Workflow greet = new Workflow("greet", "Greet");
+		greet.addNode(new ScriptTaskNode("hello", "Hello", ctx -> ctx.put("greeting", "hello " + ctx.get("name"))));
+		greet.setStartNodeId("hello");
+		engine.registerWorkflow(greet);
+
+		Workflow approval = new Workflow("approval", "Approval");
+		approval.addNode(new ManualApprovalTaskNode("approve", "Approve"));
+		approval.setStartNodeId("approve");
+		engine.registerWorkflow(approval);
+
+		runs = new RunService(engine, new JdbcSnapshotRepository(new JdbcTemplate(dataSource), JsonMapper.builder().build()), 1, 1_000, 100);
+		mvc = MockMvcBuilders.standaloneSetup(new RunController(runs)).build();
+	}
+
+	@AfterEach
+	void shutdown() {
+		engine.shutdown();
+	}
+
+	private String startRun(String body) throws Exception {
+		String response = mvc.perform(post("/api/runs").contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isAccepted())
+				.andExpect(header().exists("Location"))
+				.andReturn().getResponse().getContentAsString();
+		return JsonPath.read(response, "$.runId");
+	}
+
+	private void awaitState(String runId, String state) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		String current;
+		do {
+			current = JsonPath.read(mvc.perform(get("/api/runs/" + runId)).andReturn().getResponse().getContentAsString(), "$.state");
+		} while (!current.equals(state) && System.nanoTime() < deadline);
+		assertThat(current).isEqualTo(state);
+	}
+
+	@Test
+	void aRunIsAcceptedPolledAndItsResultFetched() throws Exception {
+		String runId = startRun("{\"workflowId\": \"greet\", \"inputs\": {\"name\": \"flow\"}}");
+
+		awaitState(runId, "COMPLETED");
+
+		mvc.perform(get("/api/runs/" + runId + "/result"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.greeting").value("hello flow"));
+
+		mvc.perform(get("/api/runs/missing")).andExpect(status().isNotFound());
+		mvc.perform(post("/api/runs").contentType(MediaType.APPLICATION_JSON).content("{\"workflowId\": \"nope\"}"))
+				.andExpect(status().isNotFound());
+		mvc.perform(post("/api/runs").contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isBadRequest());
+		mvc.perform(post("/api/runs").contentType(MediaType.APPLICATION_JSON).content("{\"workflowId\": \"greet\", \"priority\": 0}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void runsBeyondTheInFlightLimitAreRejectedUntilOneFinishes() throws Exception {
+		String runId = startRun("{\"workflowId\": \"approval\"}");
+		awaitState(runId, "SUSPENDED");
+
+		mvc.perform(get("/api/runs/" + runId + "/result")).andExpect(status().isConflict());
+		mvc.perform(post("/api/runs/" + runId + "/rerun").contentType(MediaType.APPLICATION_JSON).content("{\"changes\": {}}"))
+				.andExpect(status().isConflict());
+		mvc.perform(post("/api/runs/" + runId + "/nodes/nope/resume")).andExpect(status().isNotFound());
+		mvc.perform(post("/api/runs").contentType(MediaType.APPLICATION_JSON).content("{\"workflowId\": \"greet\"}"))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string("Retry-After", "1"));
+		assertThat(runs.getRejectedCount()).isEqualTo(1);
+
+		mvc.perform(post("/api/runs/" + runId + "/nodes/approve/resume").contentType(MediaType.APPLICATION_JSON).content("{\"approved\": true}"))
+				.andExpect(status().isAccepted());
+		mvc.perform(post("/api/runs/" + runId + "/nodes/approve/resume")).andExpect(status().isConflict());
+		awaitState(runId, "COMPLETED");
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (runs.getInFlightRunCount() != 0 && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		startRun("{\"workflowId\": \"greet\"}");
+	}
+
+	@Test
+	void aCompletedRunIsRerunWithChangedInputs() throws Exception {
+		String runId = startRun("{\"workflowId\": \"greet\", \"inputs\": {\"name\": \"flow\"}}");
+		awaitState(runId, "COMPLETED");
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (runs.getInFlightRunCount() != 0 && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+
+		String response = mvc.perform(post("/api/runs/" + runId + "/rerun").contentType(MediaType.APPLICATION_JSON).content("{\"changes\": {\"name\": \"node\"}}"))
+				.andExpect(status().isAccepted())
+				.andExpect(header().exists("Location"))
+				.andReturn().getResponse().getContentAsString();
+		String rerunId = JsonPath.read(response, "$.runId");
+
+		awaitState(rerunId, "COMPLETED");
+		mvc.perform(get("/api/runs/" + rerunId + "/result"))
+				.andExpect(jsonPath("$.data.greeting").value("hello node"));
+		mvc.perform(get("/api/runs/" + runId + "/result"))
+				.andExpect(jsonPath("$.data.greeting").value("hello flow"));
+
+		mvc.perform(post("/api/runs/missing/rerun").contentType(MediaType.APPLICATION_JSON).content("{\"changes\": {}}"))
+				.andExpect(status().isNotFound());
+	}
+}
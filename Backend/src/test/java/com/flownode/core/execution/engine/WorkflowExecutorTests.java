@@ -0,0 +1,61 @@
+package com.flownode.core.execution.engine;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.node.impl.condition.BooleanConditionNode;
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.state.NodeState;
+import com.flownode.core.workflow.Workflow;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkflowExecutorTests {
+
+	private final WorkflowExecutor executor = new WorkflowExecutor();
+
+	@Test
+	void deepChainRunsWithoutRecursion() throws Exception {
+		int length = 200_000;
+		int[] ran = new int[1];
+
+		Workflow workflow = new Workflow("chain", "Chain");
+		workflow.addNode(new ScriptTaskNode("n0", "n0", ctx -> ran[0]++));
+		workflow.setStartNodeId("n0");
+		for (int i = 1; i < length; i++) {
+			workflow.addNode(new ScriptTaskNode("n" + i, "n" + i, ctx -> ran[0]++));
+			workflow.addTransition("n" + (i - 1), "n" + i);
+		}
+
+		WorkflowExecutionContext context = executor.execute(workflow);
+
+		assertThat(ran[0]).isEqualTo(length);
+		assertThat(context.getNodeState("n" + (length - 1))).isEqualTo(NodeState.COMPLETED);
+	}
+
+	@Test
+	void longSkippedBranchStopsAtTheJoin() throws Exception {
+		int length = 50_000;
+
+		Workflow workflow = new Workflow("skipped", "Skipped Branch");
+		workflow.addNode(new BooleanConditionNode("check", "Check", "missing"));
+		workflow.addNode(new ScriptTaskNode("no", "No", ctx -> ctx.put("path", "no")));
+		workflow.addNode(new ScriptTaskNode("join", "Join", ctx -> ctx.put("joined", true)));
+		workflow.addNode(new ScriptTaskNode("yes0", "yes0", ctx -> { }));
+		workflow.setStartNodeId("check");
+		workflow.addConditionTransition("check", "yes0", "no");
+		for (int i = 1; i < length; i++) {
+			workflow.addNode(new ScriptTaskNode("yes" + i, "yes" + i, ctx -> { }));
+			workflow.addTransition("yes" + (i - 1), "yes" + i);
+		}
+		workflow.addTransition("yes" + (length - 1), "join");
+		workflow.addTransition("no", "join");
+
+		WorkflowExecutionContext context = executor.execute(workflow);
+
+		assertThat(context.get("path")).isEqualTo("no");
+		assertThat(context.get("joined")).isEqualTo(true);
+		assertThat(context.getNodeState("yes" + (length - 1))).isEqualTo(NodeState.SKIPPED);
+		assertThat(context.getNodeState("join")).isEqualTo(NodeState.COMPLETED);
+	}
+
+}
@@ -0,0 +1,121 @@
+package com.flownode.core.execution.engine.batch;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.node.impl.condition.BooleanConditionNode;
+import com.flownode.core.execution.node.impl.lifecycle.DelayNode;
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.state.NodeState;
+import com.flownode.core.state.WorkflowState;
+import com.flownode.core.workflow.Workflow;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchWorkflowExecutorTests {
+
+	private final BatchWorkflowExecutor executor = new BatchWorkflowExecutor();
+
+	@Test
+	void recordsAreGroupedByBranchDecision() {
+		AtomicInteger joins = new AtomicInteger();
+
+		Workflow workflow = new Workflow("batch", "Batch");
+		workflow.addNode(new BooleanConditionNode("check", "Check", "approved"));
+		workflow.addNode(new ScriptTaskNode("yes", "Yes", ctx -> ctx.put("path", "yes")));
+		workflow.addNode(new ScriptTaskNode("no", "No", ctx -> ctx.put("path", "no")));
+		workflow.addNode(new ScriptTaskNode("join", "Join", ctx -> joins.incrementAndGet()));
+		workflow.setStartNodeId("check");
+		workflow.addConditionTransition("check", "yes", "no");
+		workflow.addTransition("yes", "join");
+		workflow.addTransition("no", "join");
+
+		List<Map<String, Object>> inputs = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			inputs.add(Map.of("approved", i % 3 == 0));
+		}
+
+		BatchResult result = executor.execute(workflow, inputs);
+
+		assertThat(result.size()).isEqualTo(1000);
+		assertThat(result.getFailedCount()).isZero();
+		assertThat(joins.get()).isEqualTo(1000);
+
+		for (int i = 0; i < 1000; i++) {
+			boolean approved = i % 3 == 0;
+			assertThat(result.getState(i)).isEqualTo(WorkflowState.COMPLETED);
+			assertThat(result.getContext(i).get("path")).isEqualTo(approved ? "yes" : "no");
+			assertThat(result.getNodeState(i, "yes")).isEqualTo(approved ? NodeState.COMPLETED : NodeState.SKIPPED);
+			assertThat(result.getNodeState(i, "no")).isEqualTo(approved ? NodeState.SKIPPED : NodeState.COMPLETED);
+			assertThat(result.getNodeState(i, "join")).isEqualTo(NodeState.COMPLETED);
+		}
+	}
+
+	@Test
+	void failedRecordLeavesTheOthersRunning() {
+		Workflow workflow = new Workflow("batch", "Batch");
+		workflow.addNode(new ScriptTaskNode("validate", "Validate", ctx -> {
+			if (ctx.get("amount") == null) throw new IllegalStateException("amount missing");
+		}));
+		workflow.addNode(new ScriptTaskNode("done", "Done", ctx -> ctx.put("done", true)));
+		workflow.setStartNodeId("validate");
+		workflow.addTransition("validate", "done");
+
+		BatchResult result = executor.execute(workflow, List.of(Map.of("amount", 1), Map.of(), Map.of("amount", 3)));
+
+		assertThat(result.getFailedCount()).isEqualTo(1);
+		assertThat(result.getState(1)).isEqualTo(WorkflowState.FAILED);
+		assertThat(result.getFailure(1)).hasRootCauseMessage("amount missing");
+		assertThat(result.getNodeState(1, "validate")).isEqualTo(NodeState.FAILED);
+		assertThat(result.getNodeState(1, "done")).isEqualTo(NodeState.PENDING);
+
+		assertThat(result.getState(0)).isEqualTo(WorkflowState.COMPLETED);
+		assertThat(result.getContext(2).get("done")).isEqualTo(true);
+		assertThat(result.getNodeState(2, "done")).isEqualTo(NodeState.COMPLETED);
+	}
+
+	@Test
+	void delayWaitsOncePerCohortAndRunsItsHooksPerRecord() {
+		Workflow workflow = new Workflow("batch", "Batch");
+		workflow.addNode(new DelayNode("wait", "Wait", 200) {
+			@Override
+			protected void beforeExecute(WorkflowExecutionContext context) {
+				if (context.get("id") == null) throw new IllegalStateException("id missing");
+				context.put("waitStarted", context.get("id"));
+			}
+
+			@Override
+			protected void afterExecute(WorkflowExecutionContext context) {
+				context.put("waited", context.get("waitStarted"));
+			}
+		});
+		workflow.setStartNodeId("wait");
+
+		List<Map<String, Object>> inputs = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			inputs.add(i == 7 ? Map.of() : Map.of("id", i));
+		}
+
+		long started = System.nanoTime();
+		BatchResult result = executor.execute(workflow, inputs);
+
+		// 50 records × 200 ms would be 10 s
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(2_000);
+		assertThat(result.getFailedCount()).isEqualTo(1);
+		assertThat(result.getNodeState(7, "wait")).isEqualTo(NodeState.FAILED);
+		assertThat(result.getFailure(7)).hasRootCauseMessage("id missing");
+
+		for (int i = 0; i < 50; i++) {
+			if (i != 7) {
+				assertThat(result.getContext(i).get("waited")).isEqualTo(i);
+				assertThat(result.getNodeState(i, "wait")).isEqualTo(NodeState.COMPLETED);
+			}
+		}
+	}
+
+}
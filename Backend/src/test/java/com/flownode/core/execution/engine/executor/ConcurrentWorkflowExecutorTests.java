@@ -0,0 +1,541 @@
+package com.flownode.core.execution.engine.executor;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.engine.instance.WorkflowInstance;
+import com.flownode.core.execution.engine.store.InMemoryInstanceStore;
+import com.flownode.core.execution.node.impl.composite.MapNode;
+import com.flownode.core.execution.node.impl.composite.SubWorkflowNode;
+import com.flownode.core.execution.node.impl.condition.BooleanConditionNode;
+import com.flownode.core.execution.node.impl.lifecycle.DelayNode;
+import com.flownode.core.execution.node.impl.task.AsyncScriptTaskNode;
+import com.flownode.core.execution.node.impl.task.ManualApprovalTaskNode;
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.state.NodeState;
+import com.flownode.core.state.WorkflowState;
+import com.flownode.core.workflow.CompiledWorkflow;
+import com.flownode.core.workflow.Workflow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrentWorkflowExecutorTests {
+
+	private final ConcurrentWorkflowExecutor executor = new ConcurrentWorkflowExecutor(8);
+
+	// Engines of parameterized tests → shut down with the shared one
+	private final List<ConcurrentWorkflowExecutor> engines = new ArrayList<>();
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdown();
+		engines.forEach(ConcurrentWorkflowExecutor::shutdown);
+	}
+
+	private ConcurrentWorkflowExecutor engine(ExecutionMode mode, int threadPoolSize) {
+		ConcurrentWorkflowExecutor engine = new ConcurrentWorkflowExecutor(mode, threadPoolSize);
+		engines.add(engine);
+		return engine;
+	}
+
+	private static Workflow wideFanOut(int width) {
+		Workflow workflow = new Workflow("wide", "Wide Fan Out");
+		workflow.addNode(new ScriptTaskNode("start", "Start", ctx -> { }));
+		workflow.addNode(new ScriptTaskNode("join", "Join", ctx -> {
+			int seen = 0;
+			for (int i = 0; i < width; i++) {
+				if (ctx.contains("out" + i)) {
+					seen++;
+				}
+			}
+			ctx.put("seen", seen);
+		}));
+
+		for (int i = 0; i < width; i++) {
+			String id = "task" + i;
+			String key = "out" + i;
+			workflow.addNode(new ScriptTaskNode(id, id, ctx -> ctx.put(key, Thread.currentThread().getName())));
+			workflow.addTransition("start", id);
+			workflow.addTransition(id, "join");
+		}
+
+		workflow.setStartNodeId("start");
+		return workflow;
+	}
+
+	@ParameterizedTest
+	@EnumSource(ExecutionMode.class)
+	void parallelFanOutKeepsEveryWrite(ExecutionMode mode) throws InterruptedException {
+		ConcurrentWorkflowExecutor engine = engine(mode, 8);
+		int width = 5_000;
+		WorkflowInstance instance = engine.startWorkflow(wideFanOut(width), Map.of());
+
+		assertThat(instance.awaitCompletion(30, TimeUnit.SECONDS)).isTrue();
+		assertThat(instance.getState()).isEqualTo(WorkflowState.COMPLETED);
+		assertThat(instance.getContext().get("seen")).isEqualTo(width);
+		assertThat(instance.getExecutedNodes()).hasSize(width + 2);
+		assertThat(instance.getContext().getNodeState("join")).isEqualTo(NodeState.COMPLETED);
+	}
+
+	@Test
+	void concurrentInstancesShareOneEngine() throws InterruptedException {
+		Workflow workflow = new Workflow("branch", "Branch");
+		workflow.addNode(new ScriptTaskNode("start", "Start", ctx -> { }));
+		workflow.addNode(new BooleanConditionNode("check", "Check", "flag"));
+		workflow.addNode(new ScriptTaskNode("yes", "Yes", ctx -> ctx.put("path", "yes")));
+		workflow.addNode(new ScriptTaskNode("no", "No", ctx -> ctx.put("path", "no")));
+		workflow.addNode(new ScriptTaskNode("end", "End", ctx -> { }));
+		workflow.setStartNodeId("start");
+		workflow.addTransition("start", "check");
+		workflow.addConditionTransition("check", "yes", "no");
+		workflow.addTransition("yes", "end");
+		workflow.addTransition("no", "end");
+
+		WorkflowInstance[] runs = new WorkflowInstance[200];
+		for (int i = 0; i < runs.length; i++) {
+			runs[i] = executor.startWorkflow(workflow, Map.of("flag", i % 2 == 0));
+		}
+
+		for (int i = 0; i < runs.length; i++) {
+			assertThat(runs[i].awaitCompletion(30, TimeUnit.SECONDS)).isTrue();
+			assertThat(runs[i].getContext().get("path")).isEqualTo(i % 2 == 0 ? "yes" : "no");
+			assertThat(runs[i].getSkippedNodes()).containsExactly(i % 2 == 0 ? "no" : "yes");
+		}
+		assertThat(executor.getRunningInstanceCount()).isZero();
+	}
+
+	@ParameterizedTest
+	@EnumSource(ExecutionMode.class)
+	void delayNodesDoNotHoldWorkerThreads(ExecutionMode mode) throws InterruptedException {
+		ConcurrentWorkflowExecutor small = new ConcurrentWorkflowExecutor(mode, 2);
+
+		Workflow workflow = new Workflow("delayed", "Delayed");
+		workflow.addNode(new ScriptTaskNode("start", "Start", ctx -> { }));
+		// Hooks run around the timer like around process() on the sequential executors
+		DelayNode wait = new DelayNode("wait", "Wait", 300) {
+			@Override
+			protected void beforeExecute(WorkflowExecutionContext context) {
+				context.put("waitStarted", true);
+			}
+
+			@Override
+			protected void afterExecute(WorkflowExecutionContext context) {
+				context.put("waited", context.get("waitStarted"));
+			}
+		};
+		workflow.addNode(wait);
+		workflow.addNode(new ScriptTaskNode("after", "After", ctx -> ctx.put("done", ctx.get("waited"))));
+		workflow.setStartNodeId("start");
+		workflow.addTransition("start", "wait");
+		workflow.addTransition("wait", "after");
+
+		try {
+			// 500 overlapping 300 ms delays on two workers finish in about one delay, not 75 s
+			long started = System.nanoTime();
+			WorkflowInstance[] runs = new WorkflowInstance[500];
+			for (int i = 0; i < runs.length; i++) {
+				runs[i] = small.startWorkflow(workflow, Map.of());
+			}
+			for (WorkflowInstance run : runs) {
+				assertThat(run.awaitCompletion(10, TimeUnit.SECONDS)).isTrue();
+				assertThat(run.getContext().get("done")).isEqualTo(true);
+			}
+			assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(5_000);
+			assertThat(wait.getNodeState()).isEqualTo(NodeState.COMPLETED);
+		} finally {
+			small.shutdown();
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(ExecutionMode.class)
+	void asyncNodesCompleteOffTheWorkerAndReportFailures(ExecutionMode mode) throws InterruptedException {
+		ConcurrentWorkflowExecutor single = new ConcurrentWorkflowExecutor(mode, 1);
+		CompletableFuture<Void> remote = new CompletableFuture<>();
+		CountDownLatch localRan = new CountDownLatch(1);
+
+		Workflow workflow = new Workflow("async", "Async");
+		workflow.addNode(new ScriptTaskNode("start", "Start", ctx -> { }));
+		workflow.addNode(new AsyncScriptTaskNode("call", "Remote Call", ctx ->
+				remote.thenRun(() -> ctx.put("reply", "ok"))) {
+			@Override
+			protected void afterExecute(WorkflowExecutionContext context) {
+				context.put("replied", context.get("reply"));
+			}
+		});
+		workflow.addNode(new ScriptTaskNode("local", "Local", ctx -> localRan.countDown()));
+		workflow.addNode(new ScriptTaskNode("end", "End", ctx -> { }));
+		workflow.setStartNodeId("start");
+		workflow.addTransition("start", "call");
+		workflow.addTransition("start", "local");
+		workflow.addTransition("call", "end");
+		workflow.addTransition("local", "end");
+
+		Workflow failing = new Workflow("async-failing", "Async Failing");
+		failing.addNode(new AsyncScriptTaskNode("call", "Remote Call", ctx ->
+				CompletableFuture.failedFuture(new IllegalStateException("remote down"))));
+		failing.setStartNodeId("call");
+
+		try {
+			WorkflowInstance run = single.startWorkflow(workflow, Map.of());
+
+			// The single worker is free while the remote call is outstanding
+			WorkflowInstance failed = single.startWorkflow(failing, Map.of());
+			assertThat(failed.awaitCompletion(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(failed.getState()).isEqualTo(WorkflowState.FAILED);
+			assertThat(localRan.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(run.getState()).isEqualTo(WorkflowState.RUNNING);
+
+			remote.complete(null);
+
+			assertThat(run.awaitCompletion(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(run.getState()).isEqualTo(WorkflowState.COMPLETED);
+			assertThat(run.getContext().get("reply")).isEqualTo("ok");
+			assertThat(run.getContext().get("replied")).isEqualTo("ok");
+		} finally {
+			single.shutdown();
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(ExecutionMode.class)
+	void suspendedRunsAreEvictedAndResumedFromTheStore(ExecutionMode mode) throws Exception {
+		ConcurrentWorkflowExecutor engine = engine(mode, 8);
+		InMemoryInstanceStore store = new InMemoryInstanceStore();
+		engine.setInstanceStore(store);
+		CompletableFuture<WorkflowExecutionContext> finished = new CompletableFuture<>();
+
+		Workflow workflow = new Workflow("approval", "Approval");
+		workflow.addNode(new ScriptTaskNode("start", "Start", ctx -> { }));
+		// beforeExecute runs before the eviction, afterExecute on the rehydrated run
+		workflow.addNode(new ManualApprovalTaskNode("approve", "Approve") {
+			@Override
+			protected void beforeExecute(WorkflowExecutionContext context) {
+				context.put("approvalRequested", true);
+			}
+
+			@Override
+			protected void afterExecute(WorkflowExecutionContext context) {
+				context.put("approvalRecorded", context.get("approved"));
+			}
+		});
+		workflow.addNode(new ScriptTaskNode("prep", "Prepare", ctx -> ctx.put("prepared", true)));
+		workflow.addNode(new BooleanConditionNode("check", "Check", "approved"));
+		workflow.addNode(new ScriptTaskNode("yes", "Yes", ctx -> ctx.put("path", "yes")));
+		workflow.addNode(new ScriptTaskNode("no", "No", ctx -> ctx.put("path", "no")));
+		workflow.addNode(new ScriptTaskNode("end", "End", finished::complete));
+		workflow.setStartNodeId("start");
+		workflow.addTransition("start", "approve");
+		workflow.addTransition("start", "prep");
+		workflow.addTransition("approve", "check");
+		workflow.addConditionTransition("check", "yes", "no");
+		workflow.addTransition("yes", "end");
+		workflow.addTransition("no", "end");
+		workflow.addTransition("prep", "end");
+
+		WorkflowInstance instance = engine.startWorkflow(workflow, Map.of());
+
+		// Parked with nothing running → snapshotted and dropped from memory
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (store.size() == 0 && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(store.size()).isEqualTo(1);
+		assertThat(instance.getState()).isEqualTo(WorkflowState.SUSPENDED);
+		assertThat(engine.getRunningInstanceCount()).isZero();
+		assertThat(engine.getActiveTaskCount()).isZero();
+
+		assertThat(engine.resume(instance.getRunId(), "approve", Map.of("approved", false))).isTrue();
+
+		WorkflowExecutionContext context = finished.get(5, TimeUnit.SECONDS);
+		assertThat(context.get("path")).isEqualTo("no");
+		assertThat(context.get("prepared")).isEqualTo(true);
+		assertThat(context.getNodeState("yes")).isEqualTo(NodeState.SKIPPED);
+		assertThat(context.get("approvalRequested")).isEqualTo(true);
+		assertThat(context.get("approvalRecorded")).isEqualTo(false);
+		assertThat(store.size()).isZero();
+
+		assertThatThrownBy(() -> engine.resume("missing", "approve", Map.of()))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void parkedNodesFinishTheirLifecycleWhenResumed() throws InterruptedException {
+		Workflow workflow = new Workflow("review", "Review");
+		ManualApprovalTaskNode approve = new ManualApprovalTaskNode("approve", "Approve") {
+			@Override
+			public void onResume(WorkflowExecutionContext context, Map<String, Object> payload) {
+				if (payload.containsKey("reason")) {
+					throw new IllegalArgumentException("unexpected payload");
+				}
+				super.onResume(context, payload);
+			}
+
+			@Override
+			protected void beforeExecute(WorkflowExecutionContext context) {
+				context.put("approvalRequested", true);
+			}
+
+			@Override
+			protected void afterExecute(WorkflowExecutionContext context) {
+				context.put("approvalRecorded", context.get("approved"));
+			}
+
+			@Override
+			protected void onFailure(WorkflowExecutionContext context, Exception e) {
+				context.put("approvalFailed", true);
+			}
+		};
+		workflow.addNode(approve);
+		workflow.setStartNodeId("approve");
+
+		// No instance store → the run stays in memory and its parked lifecycle stage is completed
+		WorkflowInstance approved = executor.startWorkflow(workflow, Map.of());
+		WorkflowInstance rejected = executor.startWorkflow(workflow, Map.of());
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while ((approved.getState() != WorkflowState.SUSPENDED || rejected.getState() != WorkflowState.SUSPENDED)
+				&& System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(approved.getContext().get("approvalRequested")).isEqualTo(true);
+		assertThat(approved.getContext().contains("approvalRecorded")).isFalse();
+
+		assertThat(executor.resume(approved.getRunId(), "approve", Map.of("approved", true))).isTrue();
+		assertThat(executor.resume(rejected.getRunId(), "approve", Map.of("reason", "?"))).isTrue();
+
+		assertThat(approved.awaitCompletion(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(approved.getState()).isEqualTo(WorkflowState.COMPLETED);
+		assertThat(approved.getContext().get("approvalRecorded")).isEqualTo(true);
+
+		assertThat(rejected.awaitCompletion(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(rejected.getState()).isEqualTo(WorkflowState.FAILED);
+		assertThat(rejected.getContext().get("approvalFailed")).isEqualTo(true);
+		assertThat(rejected.getContext().contains("approvalRecorded")).isFalse();
+	}
+
+	@Test
+	void longestRemainingPathRunsFirst() throws InterruptedException {
+		ConcurrentWorkflowExecutor single = new ConcurrentWorkflowExecutor(1);
+		List<String> order = new CopyOnWriteArrayList<>();
+
+		// start → leaf0..leaf3 and start → chain0 → chain1 → chain2, leaves declared first
+		Workflow workflow = new Workflow("skewed", "Skewed");
+		workflow.addNode(new ScriptTaskNode("start", "Start", ctx -> order.add("start")));
+		workflow.setStartNodeId("start");
+		for (int i = 0; i < 4; i++) {
+			String id = "leaf" + i;
+			workflow.addNode(new ScriptTaskNode(id, id, ctx -> order.add(id)));
+			workflow.addTransition("start", id);
+		}
+		String previous = "start";
+		for (int i = 0; i < 3; i++) {
+			String id = "chain" + i;
+			workflow.addNode(new ScriptTaskNode(id, id, ctx -> order.add(id)));
+			workflow.addTransition(previous, id);
+			previous = id;
+		}
+
+		try {
+			assertThat(single.startWorkflow(workflow, Map.of()).awaitCompletion(5, TimeUnit.SECONDS)).isTrue();
+			// chain2 has one node left like the leaves → ties go to the earlier submission
+			assertThat(order).containsExactly("start", "chain0", "chain1", "leaf0", "leaf1", "leaf2", "leaf3", "chain2");
+
+			order.clear();
+			single.setCriticalPathOrdering(false);
+
+			assertThat(single.startWorkflow(workflow, Map.of()).awaitCompletion(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(order).startsWith("start", "leaf0", "leaf1", "leaf2", "leaf3", "chain0");
+
+			// Redeploying the id drops the old graph's estimator instead of keeping one per deploy
+			Workflow replacement = new Workflow("skewed", "Skewed");
+			replacement.addNode(new ScriptTaskNode("start", "Start", ctx -> { }));
+			replacement.setStartNodeId("start");
+			CompiledWorkflow replaced = single.registerWorkflow(replacement);
+
+			assertThat(single.getCriticalPath(workflow.compile())).isEmpty();
+			assertThat(single.getCriticalPath(replaced)).isPresent();
+		} finally {
+			single.shutdown();
+		}
+	}
+
+	@Test
+	void subWorkflowsRunOnTheParentPoolWithoutHoldingAWorker() throws InterruptedException {
+		// One thread → a parent worker waiting for its child would deadlock
+		ConcurrentWorkflowExecutor single = new ConcurrentWorkflowExecutor(1);
+
+		try {
+			Workflow tax = new Workflow("tax", "Tax");
+			tax.addNode(new ScriptTaskNode("calc", "Calc", ctx -> {
+				if (ctx.contains("secret")) {
+					throw new IllegalStateException("parent data leaked into the child");
+				}
+				ctx.put("tax", (Integer) ctx.get("amount") / 5);
+			}));
+			tax.setStartNodeId("calc");
+			single.registerWorkflow(tax);
+
+			Workflow pricing = new Workflow("pricing", "Pricing");
+			pricing.addNode(new SubWorkflowNode("tax", "Tax", "tax", Map.of("amount", "net"), Map.of("vat", "tax")) {
+				@Override
+				protected void onFailure(WorkflowExecutionContext context, Exception e) {
+					context.put("taxFailed", true);
+				}
+			});
+			pricing.setStartNodeId("tax");
+			single.registerWorkflow(pricing);
+
+			Workflow order = new Workflow("order", "Order");
+			order.addNode(new ScriptTaskNode("start", "Start", ctx -> { }));
+			SubWorkflowNode price = new SubWorkflowNode("price", "Price", "pricing", Map.of("net", "price"), Map.of("vat", "vat")) {
+				@Override
+				protected void afterExecute(WorkflowExecutionContext context) {
+					context.put("priced", context.get("vat"));
+				}
+			};
+			order.addNode(price);
+			order.addNode(new ScriptTaskNode("total", "Total", ctx -> ctx.put("total", (Integer) ctx.get("price") + (Integer) ctx.get("vat"))));
+			order.setStartNodeId("start");
+			order.addTransition("start", "price");
+			order.addTransition("price", "total");
+
+			WorkflowInstance instance = single.startWorkflow(order, Map.of("price", 100, "secret", "s3cr3t"));
+
+			assertThat(instance.awaitCompletion(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(instance.getState()).isEqualTo(WorkflowState.COMPLETED);
+			assertThat(instance.getContext().get("total")).isEqualTo(120);
+			assertThat(instance.getContext().contains("net")).isFalse();
+			// Lifecycle hooks run once the child's outputs are in
+			assertThat(instance.getContext().get("priced")).isEqualTo(20);
+			assertThat(price.getNodeState()).isEqualTo(NodeState.COMPLETED);
+
+			// A failing child fails the node and with it the parent
+			WorkflowInstance failed = single.startWorkflow("pricing", Map.of());
+
+			assertThat(failed.awaitCompletion(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(failed.getState()).isEqualTo(WorkflowState.FAILED);
+			assertThat(failed.getContext().getNodeState("tax")).isEqualTo(NodeState.FAILED);
+			assertThat(failed.getContext().get("taxFailed")).isEqualTo(true);
+			assertThat(single.getRunningInstanceCount()).isZero();
+		} finally {
+			single.shutdown();
+		}
+	}
+
+	@Test
+	void aParentWaitsForItsChildAcrossEviction() throws Exception {
+		InMemoryInstanceStore store = new InMemoryInstanceStore();
+		executor.setInstanceStore(store);
+		CompletableFuture<String> childRunId = new CompletableFuture<>();
+		executor.addListener(event -> {
+			if ("review".equals(event.getWorkflowId())) {
+				childRunId.complete(event.getRunId());
+			}
+		});
+
+		Workflow review = new Workflow("review", "Review");
+		review.addNode(new ManualApprovalTaskNode("approve", "Approve"));
+		review.setStartNodeId("approve");
+		executor.registerWorkflow(review);
+
+		Workflow parent = new Workflow("submit", "Submit");
+		parent.addNode(new SubWorkflowNode("review", "Review", "review", Map.of(), Map.of("approved", "approved")));
+		parent.setStartNodeId("review");
+
+		WorkflowInstance instance = executor.startWorkflow(parent, Map.of());
+
+		// The child parks and is evicted; the parent keeps waiting on it
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (store.size() == 0 && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(store.size()).isEqualTo(1);
+		assertThat(instance.getState()).isEqualTo(WorkflowState.RUNNING);
+
+		assertThat(executor.resume(childRunId.get(5, TimeUnit.SECONDS), "approve", Map.of("approved", true))).isTrue();
+
+		assertThat(instance.awaitCompletion(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(instance.getState()).isEqualTo(WorkflowState.COMPLETED);
+		assertThat(instance.getContext().get("approved")).isEqualTo(true);
+	}
+
+	@ParameterizedTest
+	@EnumSource(ExecutionMode.class)
+	void mapNodesFanOutWithBoundedConcurrencyAndFeedAReduce(ExecutionMode mode) throws InterruptedException {
+		ConcurrentWorkflowExecutor engine = engine(mode, 8);
+		int size = 100_000;
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+
+		Workflow workflow = new Workflow("squares", "Squares");
+		workflow.addNode(new ScriptTaskNode("start", "Start", ctx -> { }));
+		workflow.addNode(new MapNode("square", "Square", "numbers", "squares", ctx -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			long n = (Integer) ctx.get(MapNode.ITEM);
+			ctx.put(MapNode.RESULT, n * n);
+			inFlight.decrementAndGet();
+		}, 3) {
+			@Override
+			protected void beforeExecute(WorkflowExecutionContext context) {
+				context.put("mapStarted", true);
+			}
+
+			@Override
+			protected void afterExecute(WorkflowExecutionContext context) {
+				context.put("mapped", ((List<?>) context.get("squares")).size());
+			}
+
+			@Override
+			protected void onFailure(WorkflowExecutionContext context, Exception e) {
+				context.put("mapFailed", true);
+			}
+		});
+		workflow.addNode(new ScriptTaskNode("sum", "Sum", ctx -> {
+			List<?> squares = (List<?>) ctx.get("squares");
+			ctx.put("count", squares.size());
+			ctx.put("last", squares.get(squares.size() - 1));
+			ctx.put("sum", squares.stream().mapToLong(square -> (Long) square).sum());
+		}));
+		workflow.setStartNodeId("start");
+		workflow.addTransition("start", "square");
+		workflow.addTransition("square", "sum");
+
+		List<Integer> numbers = IntStream.range(0, size).boxed().toList();
+		WorkflowInstance instance = engine.startWorkflow(workflow, Map.of("numbers", numbers));
+
+		assertThat(instance.awaitCompletion(30, TimeUnit.SECONDS)).isTrue();
+		assertThat(instance.getState()).isEqualTo(WorkflowState.COMPLETED);
+		assertThat(instance.getContext().get("count")).isEqualTo(size);
+		assertThat(instance.getContext().get("last")).isEqualTo((long) (size - 1) * (size - 1));
+		assertThat(instance.getContext().get("sum")).isEqualTo(LongStream.range(0, size).map(n -> n * n).sum());
+		assertThat(instance.getExecutedNodes()).hasSize(3);
+		assertThat(maxInFlight.get()).isBetween(1, 3);
+		// Lifecycle hooks wrap the whole map, after every element stored its result
+		assertThat(instance.getContext().get("mapStarted")).isEqualTo(true);
+		assertThat(instance.getContext().get("mapped")).isEqualTo(size);
+
+		// One failing element fails the node and the run
+		WorkflowInstance failed = engine.startWorkflow(workflow, Map.of("numbers", List.of(1, 2, "three")));
+
+		assertThat(failed.awaitCompletion(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(failed.getState()).isEqualTo(WorkflowState.FAILED);
+		assertThat(failed.getContext().getNodeState("square")).isEqualTo(NodeState.FAILED);
+		assertThat(failed.getContext().getNodeState("sum")).isNotEqualTo(NodeState.COMPLETED);
+		assertThat(failed.getContext().get("mapFailed")).isEqualTo(true);
+	}
+}
@@ -0,0 +1,234 @@
+package com.flownode.core.execution.engine.incremental;
+
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.execution.engine.instance.WorkflowInstance;
+import com.flownode.core.execution.engine.scheduling.RunOptions;
+import com.flownode.core.execution.engine.store.InstanceSnapshot;
+import com.flownode.core.execution.node.impl.condition.BooleanConditionNode;
+import com.flownode.core.execution.node.impl.lifecycle.EndNode;
+import com.flownode.core.execution.node.impl.lifecycle.StartNode;
+import com.flownode.core.execution.node.impl.task.DeclaredScriptTaskNode;
+import com.flownode.core.execution.node.impl.task.ManualApprovalTaskNode;
+import com.flownode.core.execution.node.impl.task.MemoizedScriptTaskNode;
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.state.NodeState;
+import com.flownode.core.state.WorkflowState;
+import com.flownode.core.workflow.Workflow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IncrementalRerunTests {
+
+	private final ConcurrentWorkflowExecutor executor = new ConcurrentWorkflowExecutor(4);
+
+	private final AtomicInteger feeRuns = new AtomicInteger();
+	private final AtomicInteger discountRuns = new AtomicInteger();
+	private final AtomicInteger standardRuns = new AtomicInteger();
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdown();
+	}
+
+	// start ─→ fee(amount) ───────────────────────→ end
+	//       └→ check(vip) ─ true → discount ──────↗
+	//                      └ false → standard ───↗
+	private Workflow pricing() {
+		Workflow workflow = new Workflow("pricing", "Pricing");
+		workflow.addNode(new StartNode("start", "Start"));
+		workflow.addNode(new MemoizedScriptTaskNode("fee", "Fee", ctx -> {
+			feeRuns.incrementAndGet();
+			ctx.put("fee", (Integer) ctx.get("amount") / 10);
+		}, List.of("amount"), List.of("fee")));
+		workflow.addNode(new BooleanConditionNode("check", "Check", "vip"));
+		workflow.addNode(new MemoizedScriptTaskNode("discount", "Discount", ctx -> {
+			discountRuns.incrementAndGet();
+			ctx.put("rate", 0.8);
+		}, List.of(), List.of("rate")));
+		workflow.addNode(new MemoizedScriptTaskNode("standard", "Standard", ctx -> {
+			standardRuns.incrementAndGet();
+			ctx.put("rate", 1.0);
+		}, List.of(), List.of("rate")));
+		workflow.addNode(new EndNode("end", "End"));
+
+		workflow.setStartNodeId("start");
+		workflow.addTransition("start", "fee");
+		workflow.addTransition("start", "check");
+		workflow.addConditionTransition("check", "discount", "standard");
+		workflow.addTransition("fee", "end");
+		workflow.addTransition("discount", "end");
+		workflow.addTransition("standard", "end");
+		return workflow;
+	}
+
+	private WorkflowInstance completed(WorkflowInstance instance) throws InterruptedException {
+		assertThat(instance.awaitCompletion(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(instance.getState()).isEqualTo(WorkflowState.COMPLETED);
+		return instance;
+	}
+
+	@Test
+	void planInvalidatesReadersAndEverythingDownstream() {
+		Workflow workflow = pricing();
+
+		assertThat(InvalidationPlan.of(workflow.compile(), List.of("amount")).getInvalidatedNodeIds())
+				.containsExactlyInAnyOrder("fee", "end");
+		assertThat(InvalidationPlan.of(workflow.compile(), List.of("vip")).getInvalidatedNodeIds())
+				.containsExactlyInAnyOrder("check", "discount", "standard", "end");
+		assertThat(InvalidationPlan.of(workflow.compile(), List.of("unrelated")).getInvalidatedCount()).isZero();
+	}
+
+	@Test
+	void nodesWithoutDeclaredInputsAlwaysRerun() {
+		Workflow workflow = new Workflow("opaque", "Opaque");
+		workflow.addNode(new StartNode("start", "Start"));
+		workflow.addNode(new ScriptTaskNode("task", "Task", ctx -> { }));
+		workflow.addNode(new EndNode("end", "End"));
+		workflow.setStartNodeId("start");
+		workflow.addTransition("start", "task");
+		workflow.addTransition("task", "end");
+
+		assertThat(InvalidationPlan.of(workflow.compile(), List.of("anything")).getInvalidatedNodeIds())
+				.containsExactlyInAnyOrder("task", "end");
+	}
+
+	@Test
+	void onlyAffectedNodesRunAgain() throws InterruptedException {
+		WorkflowInstance first = completed(executor.startWorkflow(pricing(), Map.of("amount", 100, "vip", true)));
+
+		WorkflowInstance second = completed(executor.rerun(first.snapshot(), Map.of("amount", 250)));
+
+		assertThat(second.getRunId()).isNotEqualTo(first.getRunId());
+		assertThat(second.getContext().get("fee")).isEqualTo(25);
+		assertThat(second.getContext().get("rate")).isEqualTo(0.8);
+		assertThat(feeRuns).hasValue(2);
+		assertThat(discountRuns).hasValue(1);
+		assertThat(standardRuns).hasValue(0);
+		assertThat(first.getContext().get("fee")).isEqualTo(10);
+	}
+
+	@Test
+	void changedConditionInputFlipsTheBranch() throws InterruptedException {
+		WorkflowInstance first = completed(executor.startWorkflow(pricing(), Map.of("amount", 100, "vip", true)));
+
+		WorkflowInstance second = completed(executor.rerun(first.snapshot(), Map.of("vip", false)));
+
+		assertThat(second.getContext().get("rate")).isEqualTo(1.0);
+		assertThat(second.getContext().getNodeState("discount")).isEqualTo(NodeState.SKIPPED);
+		assertThat(second.getContext().getNodeState("standard")).isEqualTo(NodeState.COMPLETED);
+		assertThat(second.getContext().getNodeState("end")).isEqualTo(NodeState.COMPLETED);
+		assertThat(feeRuns).hasValue(1);
+		assertThat(standardRuns).hasValue(1);
+	}
+
+	@Test
+	void aFlippedBranchWithUndeclaredOutputsForcesAFullRun() throws InterruptedException {
+		Workflow workflow = pricing();
+		workflow.addNode(new ScriptTaskNode("perk", "Perk", ctx -> ctx.put("lounge", true)));
+		workflow.addTransition("discount", "perk");
+
+		WorkflowInstance first = completed(executor.startWorkflow(workflow, Map.of("amount", 100, "vip", true)));
+		assertThat(first.getContext().get("lounge")).isEqualTo(true);
+
+		WorkflowInstance second = completed(executor.rerun(first.snapshot(), Map.of("vip", false)));
+
+		// perk may have written anything → nothing of the old data is kept, not even fee
+		assertThat(second.getContext().contains("lounge")).isFalse();
+		assertThat(second.getContext().get("rate")).isEqualTo(1.0);
+		assertThat(second.getContext().getNodeState("perk")).isEqualTo(NodeState.SKIPPED);
+		assertThat(second.getInputs()).containsOnly(Map.entry("amount", 100), Map.entry("vip", false));
+		assertThat(feeRuns).hasValue(2);
+	}
+
+	@Test
+	void declaredScriptsRerunAloneWithoutBeingMemoized() throws InterruptedException {
+		AtomicInteger totalRuns = new AtomicInteger();
+
+		// fee → total → end; total declares what it reads and writes but isn't a pure function
+		Workflow workflow = pricing();
+		workflow.addNode(new DeclaredScriptTaskNode("total", "Total", ctx -> {
+			totalRuns.incrementAndGet();
+			ctx.put("total", (Integer) ctx.get("amount") + (Integer) ctx.get("fee"));
+		}, List.of("amount", "fee"), List.of("total")));
+		workflow.addTransition("fee", "total");
+		workflow.addTransition("total", "end");
+
+		WorkflowInstance first = completed(executor.startWorkflow(workflow, Map.of("amount", 100, "vip", true)));
+		WorkflowInstance second = completed(executor.rerun(first.snapshot(), Map.of("amount", 200)));
+
+		// Only fee → total → end ran again; the vip branch was kept
+		assertThat(second.getContext().get("total")).isEqualTo(220);
+		assertThat(totalRuns).hasValue(2);
+		assertThat(feeRuns).hasValue(2);
+		assertThat(discountRuns).hasValue(1);
+	}
+
+	@Test
+	void aReranApprovalClearsWhatItsPayloadWrote() throws InterruptedException {
+		AtomicInteger discountRuns = new AtomicInteger();
+
+		// start → prep(amount) → approve → end, start → discount → end
+		Workflow workflow = new Workflow("approval", "Approval");
+		workflow.addNode(new StartNode("start", "Start"));
+		workflow.addNode(new DeclaredScriptTaskNode("prep", "Prepare",
+				ctx -> ctx.put("prepared", (Integer) ctx.get("amount") * 2), List.of("amount"), List.of("prepared")));
+		workflow.addNode(new ManualApprovalTaskNode("approve", "Approve"));
+		workflow.addNode(new DeclaredScriptTaskNode("discount", "Discount", ctx -> {
+			discountRuns.incrementAndGet();
+			ctx.put("rate", 0.8);
+		}, List.of(), List.of("rate")));
+		workflow.addNode(new EndNode("end", "End"));
+		workflow.setStartNodeId("start");
+		workflow.addTransition("start", "prep");
+		workflow.addTransition("prep", "approve");
+		workflow.addTransition("approve", "end");
+		workflow.addTransition("start", "discount");
+		workflow.addTransition("discount", "end");
+
+		WorkflowInstance first = executor.startWorkflow(workflow, Map.of("amount", 5));
+		awaitSuspended(first);
+		executor.resume(first.getRunId(), "approve", Map.of("approved", true, "note", "checked"));
+		completed(first);
+
+		// The approval declares its outputs → the rerun parks it again instead of starting over
+		WorkflowInstance second = executor.rerun(first.snapshot(), Map.of("amount", 6));
+		awaitSuspended(second);
+
+		assertThat(second.getContext().get("prepared")).isEqualTo(12);
+		assertThat(second.getContext().contains("note")).isFalse();
+		assertThat(second.getContext().contains("approved")).isFalse();
+		assertThat(second.getContext().get("rate")).isEqualTo(0.8);
+		assertThat(discountRuns).hasValue(1);
+
+		executor.resume(second.getRunId(), "approve", Map.of("approved", false));
+		assertThat(completed(second).getContext().get("approved")).isEqualTo(false);
+	}
+
+	private static void awaitSuspended(WorkflowInstance instance) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (instance.getState() != WorkflowState.SUSPENDED && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(instance.getState()).isEqualTo(WorkflowState.SUSPENDED);
+	}
+
+	@Test
+	void unfinishedRunsCannotBeRerun() throws InterruptedException {
+		// Finished before the engine shuts down; the snapshot below only claims to be running
+		WorkflowInstance first = completed(executor.startWorkflow(pricing(), Map.of("amount", 100, "vip", true)));
+
+		InstanceSnapshot running = new InstanceSnapshot(first.getRunId(), "pricing", null,
+				WorkflowState.RUNNING, Map.of(), Map.of(), Map.of(), RunOptions.DEFAULT);
+
+		assertThatThrownBy(() -> executor.rerun(running, Map.of("amount", 1)))
+				.isInstanceOf(IllegalStateException.class);
+	}
+}
@@ -0,0 +1,63 @@
+package com.flownode.core.execution.engine.scheduling;
+
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.workflow.CompiledWorkflow;
+import com.flownode.core.workflow.Workflow;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CriticalPathEstimatorTests {
+
+	// start → fast, start → slow, start → a → b
+	private final CompiledWorkflow graph = skewed();
+
+	private final CriticalPathEstimator estimator = new CriticalPathEstimator(graph);
+
+	@Test
+	void withoutHistoryTheLongestPathInNodesWins() {
+		assertThat(rank("a")).isEqualTo(2);
+		assertThat(rank("fast")).isEqualTo(1);
+		assertThat(rank("slow")).isEqualTo(1);
+		assertThat(rank("start")).isEqualTo(3);
+	}
+
+	@Test
+	void observedLatenciesReorderTheRanks() {
+		for (int i = 0; i < 16; i++) {
+			estimator.record(ordinal("fast"), 1_000);
+			estimator.record(ordinal("a"), 1_000);
+			estimator.record(ordinal("b"), 1_000);
+			estimator.record(ordinal("slow"), 50_000);
+		}
+
+		assertThat(estimator.getLatencyEstimate(ordinal("slow"))).isEqualTo(50_000);
+		assertThat(rank("slow")).isGreaterThan(rank("a"));
+		assertThat(rank("a")).isEqualTo(2_000);
+
+		// Never observed → counts as the average sample (53_000 / 4)
+		assertThat(rank("start")).isEqualTo(13_250 + 50_000);
+	}
+
+	private long rank(String nodeId) {
+		return estimator.rankOf(ordinal(nodeId));
+	}
+
+	private int ordinal(String nodeId) {
+		return graph.ordinalOf(nodeId);
+	}
+
+	private static CompiledWorkflow skewed() {
+		Workflow workflow = new Workflow("skewed", "Skewed");
+		for (String id : new String[]{"start", "fast", "slow", "a", "b"}) {
+			workflow.addNode(new ScriptTaskNode(id, id, ctx -> { }));
+		}
+		workflow.setStartNodeId("start");
+		workflow.addTransition("start", "fast");
+		workflow.addTransition("start", "slow");
+		workflow.addTransition("start", "a");
+		workflow.addTransition("a", "b");
+		return workflow.compile();
+	}
+
+}
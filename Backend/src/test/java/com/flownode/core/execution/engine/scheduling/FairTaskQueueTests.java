@@ -0,0 +1,121 @@
+package com.flownode.core.execution.engine.scheduling;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.engine.instance.WorkflowInstance;
+import com.flownode.core.execution.engine.task.NodeExecutionTask;
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.workflow.CompiledWorkflow;
+import com.flownode.core.workflow.Workflow;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FairTaskQueueTests {
+
+	private final CompiledWorkflow graph = singleNode();
+
+	private final FairTaskQueue queue = new FairTaskQueue();
+
+	@Test
+	void smallRunIsNotQueuedBehindABacklog() {
+		WorkflowInstance big = instance("batch", 1);
+		WorkflowInstance small = instance("batch", 1);
+
+		enqueue(big, 50_000);
+		drain(10);
+		enqueue(small, 1);
+
+		List<WorkflowInstance> next = drain(2);
+
+		assertThat(next).contains(small);
+		assertThat(queue.size()).isEqualTo(50_000 - 10 - 1);
+	}
+
+	@Test
+	void tenantsShareThePoolByWeight() {
+		queue.setTenantWeight("interactive", 3);
+
+		enqueue(instance("interactive", 1), 1000);
+		enqueue(instance("batch", 1), 1000);
+
+		long interactive = drain(400).stream().filter(run -> run.getOptions().tenant().equals("interactive")).count();
+
+		assertThat(interactive).isEqualTo(300);
+		assertThat(queue.getQueuedTaskCount("batch")).isEqualTo(900);
+	}
+
+	@Test
+	void priorityWeighsRunsWithinATenant() {
+		WorkflowInstance urgent = instance("acme", 4);
+		WorkflowInstance normal = instance("acme", 1);
+
+		enqueue(urgent, 1000);
+		enqueue(normal, 1000);
+
+		long urgentServed = drain(100).stream().filter(run -> run == urgent).count();
+
+		assertThat(urgentServed).isEqualTo(80);
+	}
+
+	@Test
+	void otherTasksGoFirst() {
+		enqueue(instance("batch", 1), 5);
+		Runnable continuation = () -> { };
+		queue.offer(continuation);
+
+		assertThat(queue.poll()).isSameAs(continuation);
+		assertThat(queue.remove(queue.peek())).isTrue();
+		assertThat(queue.size()).isEqualTo(4);
+	}
+
+	@Test
+	void idleTenantsAreDroppedAndRejoinAtTheCurrentVirtualTime() {
+		queue.setTenantWeight("interactive", 3);
+
+		for (int i = 0; i < 1000; i++) {
+			enqueue(instance("tenant-" + i, 1), 1);
+		}
+		enqueue(instance("interactive", 1), 1);
+		drain(1001);
+
+		assertThat(queue.getTenantCount()).isEqualTo(1);
+
+		WorkflowInstance backlog = instance("batch", 1);
+		WorkflowInstance returning = instance("tenant-7", 1);
+		enqueue(backlog, 100);
+		drain(50);
+		enqueue(returning, 10);
+
+		assertThat(drain(2)).contains(returning);
+		assertThat(queue.getTenantCount()).isEqualTo(3);
+	}
+
+	private WorkflowInstance instance(String tenant, int priority) {
+		return new WorkflowInstance("run", graph, new WorkflowExecutionContext(graph), new RunOptions(tenant, priority));
+	}
+
+	private void enqueue(WorkflowInstance instance, int tasks) {
+		for (int i = 0; i < tasks; i++) {
+			queue.offer(new NodeExecutionTask(0, instance, null));
+		}
+	}
+
+	private List<WorkflowInstance> drain(int tasks) {
+		List<WorkflowInstance> served = new ArrayList<>();
+		for (int i = 0; i < tasks; i++) {
+			served.add(((NodeExecutionTask) queue.poll()).getInstance());
+		}
+		return served;
+	}
+
+	private static CompiledWorkflow singleNode() {
+		Workflow workflow = new Workflow("single", "Single");
+		workflow.addNode(new ScriptTaskNode("task", "Task", ctx -> { }));
+		workflow.setStartNodeId("task");
+		return workflow.compile();
+	}
+
+}
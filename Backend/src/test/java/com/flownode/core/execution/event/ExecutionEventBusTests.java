@@ -0,0 +1,105 @@
+package com.flownode.core.execution.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionEventBusTests {
+
+	@Test
+	void eventsFromManyProducersAreDeliveredOnceInClaimOrder() throws InterruptedException {
+		ExecutionEventBus bus = new ExecutionEventBus("test-events", 1 << 16);
+		List<String> seen = new CopyOnWriteArrayList<>();
+		bus.addListener(event -> seen.add(event.getRunId() + ":" + event.getNodeId()));
+
+		int producers = 4;
+		int perProducer = 5_000;
+		CountDownLatch done = new CountDownLatch(producers);
+		for (int p = 0; p < producers; p++) {
+			String runId = "run" + p;
+			Thread.ofPlatform().start(() -> {
+				for (int i = 0; i < perProducer; i++) {
+					bus.publish(ExecutionEventType.NODE_COMPLETED, runId, "wf", "n" + i, null);
+				}
+				done.countDown();
+			});
+		}
+
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+		bus.stop();
+
+		assertThat(seen).hasSize(producers * perProducer).doesNotHaveDuplicates();
+		assertThat(bus.getDroppedCount()).isZero();
+
+		// Per producer, events arrive in publish order
+		for (int p = 0; p < producers; p++) {
+			String prefix = "run" + p + ":";
+			assertThat(seen.stream().filter(s -> s.startsWith(prefix)).map(s -> Integer.parseInt(s.substring(prefix.length() + 1))))
+					.isSorted();
+		}
+	}
+
+	@Test
+	void fullRingDropsInsteadOfBlocking() throws InterruptedException {
+		ExecutionEventBus bus = new ExecutionEventBus("test-events", 8);
+		CountDownLatch release = new CountDownLatch(1);
+		bus.addListener(event -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+
+		int published = 0;
+		for (int i = 0; i < 100; i++) {
+			if (bus.publish(ExecutionEventType.NODE_SCHEDULED, "run", "wf", "n", null)) {
+				published++;
+			}
+		}
+
+		// At most the ring plus the slot held by the blocked listener
+		assertThat(published).isLessThanOrEqualTo(9);
+		assertThat(bus.getDroppedCount()).isEqualTo(100 - published);
+
+		release.countDown();
+		bus.stop();
+	}
+
+	@Test
+	void publishingWithoutListenersIsANoOp() {
+		ExecutionEventBus bus = new ExecutionEventBus("test-events");
+
+		assertThat(bus.publish(ExecutionEventType.NODE_STARTED, "run", "wf", "n", null)).isFalse();
+		assertThat(bus.getBacklog()).isZero();
+	}
+
+	@Test
+	void anIdleDispatcherParksUntilTheNextPublish() throws InterruptedException {
+		ExecutionEventBus bus = new ExecutionEventBus("test-idle-events");
+		CountDownLatch delivered = new CountDownLatch(1);
+		bus.addListener(event -> delivered.countDown());
+
+		Thread dispatcher = Thread.getAllStackTraces().keySet().stream()
+				.filter(thread -> thread.getName().equals("test-idle-events"))
+				.findFirst().orElseThrow();
+
+		// Untimed park → WAITING, not the TIMED_WAITING of a polling loop
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (dispatcher.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+		assertThat(dispatcher.getState()).isEqualTo(Thread.State.WAITING);
+
+		bus.publish(ExecutionEventType.NODE_STARTED, "run", "wf", "n", null);
+
+		assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+		bus.stop();
+		assertThat(dispatcher.isAlive()).isFalse();
+	}
+}
@@ -0,0 +1,83 @@
+package com.flownode.core.execution.expression;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.engine.WorkflowExecutor;
+import com.flownode.core.execution.node.impl.condition.ExpressionConditionNode;
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.state.NodeState;
+import com.flownode.core.workflow.Workflow;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExpressionTests {
+
+	private static WorkflowExecutionContext context() {
+		WorkflowExecutionContext context = new WorkflowExecutionContext();
+		context.put("amount", 7_500);
+		context.put("limit", "5000");
+		context.put("risk", 0.42);
+		context.put("region", "US");
+		context.put("vip", true);
+		context.put("customer.tier", "gold");
+		return context;
+	}
+
+	@Test
+	void operatorsFollowPrecedenceAndConvertContextValues() {
+		WorkflowExecutionContext context = context();
+
+		assertThat(Expression.compile("amount > limit").test(context)).isTrue();
+		assertThat(Expression.compile("amount - 500 * 2 == 6500").test(context)).isTrue();
+		assertThat(Expression.compile("(amount - 500) * 2 / 1000").evaluate(context)).isEqualTo(14.0);
+		assertThat(Expression.compile("amount % 1000 == 500 && -risk < 0").test(context)).isTrue();
+		assertThat(Expression.compile("region == 'US' and customer.tier != \"silver\"").test(context)).isTrue();
+		assertThat(Expression.compile("risk * 100 >= 70 || vip").test(context)).isTrue();
+		assertThat(Expression.compile("not vip or missing == null").test(context)).isTrue();
+		assertThat(Expression.compile("!(amount >= 7500) || region == 'EU'").test(context)).isFalse();
+
+		// Non-boolean values are false, as in BooleanConditionNode
+		assertThat(Expression.compile("region").test(context)).isFalse();
+	}
+
+	@Test
+	void constantsAreFoldedAndErrorsPointAtTheProblem() {
+		Expression expression = Expression.compile("amount > 2 * (1000 + 1500) and true");
+		assertThat(expression.getVariables()).containsExactly("amount");
+		assertThat(Expression.compile("2 * (1000 + 1500)").evaluate(null)).isEqualTo(5000.0);
+
+		assertThatThrownBy(() -> Expression.compile("amount > "))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Unexpected end of expression");
+		assertThatThrownBy(() -> Expression.compile("(amount > 1"))
+				.hasMessageContaining("Expected ')'");
+		assertThatThrownBy(() -> Expression.compile("amount > 1 )"))
+				.hasMessageContaining("at position 11");
+		assertThatThrownBy(() -> Expression.compile("'x' * 2"))
+				.hasMessageContaining("Not a number");
+
+		assertThatThrownBy(() -> Expression.compile("missing > 1").test(context()))
+				.isInstanceOf(RuntimeException.class)
+				.hasMessageContaining("Missing context value for 'missing'");
+	}
+
+	@Test
+	void expressionConditionNodesRouteLikeTheOtherConditions() throws Exception {
+		Workflow workflow = new Workflow("expr", "Expression");
+		workflow.addNode(new ScriptTaskNode("seed", "Seed", ctx -> {
+			ctx.put("amount", 12_000);
+			ctx.put("region", "EU");
+		}));
+		workflow.addNode(new ExpressionConditionNode("check", "Check", "amount > 10000 && region == 'US'"));
+		workflow.addNode(new ScriptTaskNode("review", "Review", ctx -> { }));
+		workflow.addNode(new ScriptTaskNode("auto", "Auto", ctx -> { }));
+		workflow.setStartNodeId("seed");
+		workflow.addTransition("seed", "check");
+		workflow.addConditionTransition("check", "review", "auto");
+
+		WorkflowExecutionContext context = new WorkflowExecutor().execute(workflow);
+		assertThat(context.getNodeState("review")).isEqualTo(NodeState.SKIPPED);
+		assertThat(context.getNodeState("auto")).isEqualTo(NodeState.COMPLETED);
+	}
+}
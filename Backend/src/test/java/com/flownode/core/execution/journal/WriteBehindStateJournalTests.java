@@ -0,0 +1,145 @@
+package com.flownode.core.execution.journal;
+
+import com.flownode.core.execution.engine.scheduling.RunOptions;
+import com.flownode.core.state.NodeState;
+import com.flownode.core.state.WorkflowState;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriteBehindStateJournalTests {
+
+	@Test
+	void concurrentTransitionsAreWrittenInBoundedBatchesWithoutLoss() throws InterruptedException {
+		List<List<JournalEntry>> batches = new CopyOnWriteArrayList<>();
+		WriteBehindStateJournal journal = new WriteBehindStateJournal(batch -> batches.add(new ArrayList<>(batch)), 128, 50);
+
+		int producers = 4;
+		int perProducer = 2_000;
+		CountDownLatch done = new CountDownLatch(producers);
+		for (int p = 0; p < producers; p++) {
+			String runId = "run" + p;
+			Thread.ofPlatform().start(() -> {
+				journal.instanceStarted(runId, "wf", "1", RunOptions.DEFAULT, Map.of(), Map.of());
+				for (int i = 0; i < perProducer; i++) {
+					journal.nodeStateChanged(runId, "n" + i, NodeState.COMPLETED);
+				}
+				journal.instanceStateChanged(runId, WorkflowState.COMPLETED);
+				done.countDown();
+			});
+		}
+
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+		journal.flush();
+
+		List<JournalEntry> written = batches.stream().flatMap(List::stream).toList();
+		assertThat(written).hasSize(producers * (perProducer + 2));
+		assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(50));
+		assertThat(journal.getFailedWriteCount()).isZero();
+
+		// Per run, entries keep append order
+		for (int p = 0; p < producers; p++) {
+			String runId = "run" + p;
+			List<JournalEntry> run = written.stream().filter(e -> e.runId().equals(runId)).toList();
+			assertThat(run.getFirst().kind()).isEqualTo(JournalEntry.Kind.INSTANCE_STARTED);
+			assertThat(run.getLast().state()).isEqualTo("COMPLETED");
+			assertThat(run.get(1).nodeId()).isEqualTo("n0");
+		}
+
+		journal.close();
+		assertThatThrownBy(() -> journal.instanceStarted("late", "wf", "1", RunOptions.DEFAULT, Map.of(), Map.of())).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void aFailingBatchIsRetriedAndCloseWritesWhatIsQueued() {
+		AtomicInteger attempts = new AtomicInteger();
+		List<JournalEntry> written = new CopyOnWriteArrayList<>();
+		WriteBehindStateJournal journal = new WriteBehindStateJournal(batch -> {
+			if (attempts.incrementAndGet() == 1) {
+				throw new IllegalStateException("database unavailable");
+			}
+			written.addAll(batch);
+		}, 1024, 1000);
+
+		for (int i = 0; i < 100; i++) {
+			journal.nodeStateChanged("run", "n" + i, NodeState.SKIPPED);
+		}
+		journal.close();
+
+		assertThat(written).hasSize(100);
+		assertThat(attempts.get()).isGreaterThanOrEqualTo(2);
+		assertThat(journal.getFailedWriteCount()).isEqualTo(1);
+	}
+
+	@Test
+	void aBatchIsNeverDroppedAndAppendsBlockWhileTheSinkIsDown() throws InterruptedException {
+		AtomicInteger attempts = new AtomicInteger();
+		List<JournalEntry> written = new CopyOnWriteArrayList<>();
+		WriteBehindStateJournal journal = new WriteBehindStateJournal(batch -> {
+			if (attempts.incrementAndGet() <= 5) {
+				throw new IllegalStateException("database unavailable");
+			}
+			written.addAll(batch);
+		}, 4, 4);
+
+		CountDownLatch appended = new CountDownLatch(1);
+		Thread.ofPlatform().start(() -> {
+			for (int i = 0; i < 20; i++) {
+				journal.nodeStateChanged("run", "n" + i, NodeState.COMPLETED);
+			}
+			appended.countDown();
+		});
+
+		// First batch is being retried, the queue is full → the producer waits instead of dropping
+		assertThat(appended.await(200, TimeUnit.MILLISECONDS)).isFalse();
+
+		assertThat(appended.await(10, TimeUnit.SECONDS)).isTrue();
+		journal.flush();
+
+		assertThat(written).extracting(JournalEntry::nodeId)
+				.containsExactlyElementsOf(IntStream.range(0, 20).mapToObj(i -> "n" + i).toList());
+		assertThat(journal.getFailedWriteCount()).isEqualTo(5);
+		journal.close();
+	}
+
+	@Test
+	void checkpointsOfARunAreCoalescedAndReadWhenWritten() throws InterruptedException {
+		CountDownLatch writerBusy = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		List<Map<String, Object>> checkpoints = new CopyOnWriteArrayList<>();
+		WriteBehindStateJournal journal = new WriteBehindStateJournal(batch -> {
+			writerBusy.countDown();
+			release.await();
+			batch.stream()
+					.filter(entry -> entry.kind() == JournalEntry.Kind.CHECKPOINT)
+					.forEach(entry -> checkpoints.add(Map.copyOf(entry.data())));
+		}, 1024, 1000);
+
+		// Keep the writer busy so the checkpoints below queue up behind it
+		journal.instanceStateChanged("other", WorkflowState.RUNNING);
+		assertThat(writerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+
+		Map<String, Object> data = new ConcurrentHashMap<>();
+		for (int i = 0; i < 100; i++) {
+			data.put("step", i);
+			journal.checkpoint("run", data);
+			journal.nodeStateChanged("run", "n" + i, NodeState.COMPLETED);
+		}
+		release.countDown();
+		journal.flush();
+
+		assertThat(checkpoints).containsExactly(Map.of("step", 99));
+		journal.close();
+	}
+}
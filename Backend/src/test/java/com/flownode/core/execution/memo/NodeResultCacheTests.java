@@ -0,0 +1,123 @@
+package com.flownode.core.execution.memo;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.node.impl.task.MemoizedScriptTaskNode;
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.state.NodeState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NodeResultCacheTests {
+
+	private final AtomicInteger scored = new AtomicInteger();
+
+	// score = amount * 2, flagged only above 100
+	private final MemoizedScriptTaskNode scoring = new MemoizedScriptTaskNode("score", "Score", ctx -> {
+		scored.incrementAndGet();
+		int amount = (Integer) ctx.get("amount");
+		ctx.put("score", amount * 2);
+		if (amount > 100) ctx.put("flagged", true);
+	}, List.of("amount"), List.of("score", "flagged"));
+
+	@Test
+	void sameInputsAreServedFromTheCache() {
+		NodeResultCache cache = new NodeResultCache(100, Duration.ofMinutes(1));
+
+		WorkflowExecutionContext first = context(500);
+		cache.execute(scoring, first);
+
+		WorkflowExecutionContext second = context(500);
+		cache.execute(scoring, second);
+
+		cache.execute(scoring, context(7));
+		WorkflowExecutionContext other = context(7);
+		other.put("flagged", true);   // stale value → the cached "unset" removes it
+		cache.execute(scoring, other);
+
+		assertThat(scored.get()).isEqualTo(2);
+		assertThat(second.get("score")).isEqualTo(1000);
+		assertThat(second.get("flagged")).isEqualTo(true);
+		assertThat(other.contains("flagged")).isFalse();
+		assertThat(cache.getHitCount()).isEqualTo(2);
+		assertThat(cache.getMissCount()).isEqualTo(2);
+		assertThat(cache.getHitRate()).isEqualTo(0.5);
+	}
+
+	@Test
+	void entriesLeaveBySizeAndTtl() throws InterruptedException {
+		NodeResultCache bounded = new NodeResultCache(16, null);
+		for (int amount = 0; amount < 1000; amount++) {
+			bounded.execute(scoring, context(amount));
+		}
+		assertThat(bounded.size()).isLessThanOrEqualTo(16);
+		assertThat(bounded.getEvictionCount()).isEqualTo(1000 - bounded.size());
+
+		NodeResultCache expiring = new NodeResultCache(100, Duration.ofMillis(20));
+		expiring.execute(scoring, context(1));
+		Thread.sleep(40);
+		expiring.execute(scoring, context(1));
+
+		assertThat(expiring.getHitCount()).isZero();
+		assertThat(expiring.getMissCount()).isEqualTo(2);
+	}
+
+	@Test
+	void failuresAndPlainNodesAreNeverCached() {
+		NodeResultCache cache = new NodeResultCache(100, null);
+
+		assertThatThrownBy(() -> cache.execute(scoring, new WorkflowExecutionContext()))
+				.isInstanceOf(RuntimeException.class);
+		assertThat(cache.size()).isZero();
+
+		AtomicInteger plainRuns = new AtomicInteger();
+		ScriptTaskNode plain = new ScriptTaskNode("plain", "Plain", ctx -> plainRuns.incrementAndGet());
+		cache.execute(plain, context(1));
+		cache.execute(plain, context(1));
+
+		assertThat(plainRuns.get()).isEqualTo(2);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	void hitsStillRunTheNodesLifecycleHooks() {
+		NodeResultCache cache = new NodeResultCache(100, null);
+		List<String> hooks = new CopyOnWriteArrayList<>();
+
+		MemoizedScriptTaskNode audited = new MemoizedScriptTaskNode("audit", "Audit",
+				ctx -> ctx.put("score", (Integer) ctx.get("amount") * 2), List.of("amount"), List.of("score")) {
+			@Override
+			protected void beforeExecute(WorkflowExecutionContext context) {
+				hooks.add("before");
+			}
+
+			@Override
+			protected void afterExecute(WorkflowExecutionContext context) {
+				hooks.add("after:" + context.get("score"));
+			}
+		};
+
+		cache.execute(audited, context(3));
+		hooks.clear();
+
+		WorkflowExecutionContext hit = context(3);
+		cache.execute(audited, hit);
+
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(hooks).containsExactly("before", "after:6");
+		assertThat(audited.getNodeState()).isEqualTo(NodeState.COMPLETED);
+	}
+
+	private static WorkflowExecutionContext context(int amount) {
+		WorkflowExecutionContext context = new WorkflowExecutionContext();
+		context.put("amount", amount);
+		return context;
+	}
+
+}
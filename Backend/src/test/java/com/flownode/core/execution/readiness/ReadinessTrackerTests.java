@@ -0,0 +1,124 @@
+package com.flownode.core.execution.readiness;
+
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.execution.resolution.ResolutionState;
+import com.flownode.core.execution.resolution.policy.AllCompletedPolicy;
+import com.flownode.core.execution.resolution.policy.AnyCompletedPolicy;
+import com.flownode.core.execution.resolution.policy.ResolutionPolicy;
+import com.flownode.core.workflow.CompiledWorkflow;
+import com.flownode.core.workflow.Workflow;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadinessTrackerTests {
+
+	private static CompiledWorkflow fanIn(int width) {
+		return fanIn(width, null);
+	}
+
+	private static CompiledWorkflow fanIn(int width, ResolutionPolicy joinPolicy) {
+		Workflow workflow = new Workflow("fan-in", "Fan In");
+		ScriptTaskNode join = new ScriptTaskNode("join", "Join", ctx -> { });
+		if (joinPolicy != null) {
+			join.setResolutionPolicy(joinPolicy);
+		}
+
+		workflow.addNode(new ScriptTaskNode("start", "Start", ctx -> { }));
+		workflow.addNode(join);
+
+		for (int i = 0; i < width; i++) {
+			String id = "p" + i;
+			workflow.addNode(new ScriptTaskNode(id, id, ctx -> { }));
+			workflow.addTransition("start", id);
+			workflow.addTransition(id, "join");
+		}
+
+		workflow.setStartNodeId("start");
+		return workflow.compile();
+	}
+
+	@Test
+	void firesJoinOnlyAfterLastParent() {
+		CompiledWorkflow graph = fanIn(3);
+		ReadinessTracker tracker = new ReadinessTracker(graph);
+		int join = graph.ordinalOf("join");
+
+		assertThat(tracker.onParentResolved(join, ResolutionState.COMPLETED)).isEqualTo(ReadinessDecision.WAIT);
+		assertThat(tracker.onParentResolved(join, ResolutionState.SKIPPED)).isEqualTo(ReadinessDecision.WAIT);
+		assertThat(tracker.onParentResolved(join, ResolutionState.COMPLETED)).isEqualTo(ReadinessDecision.FIRE);
+
+		assertThat(tracker.getCompletedParents(join)).isEqualTo(2);
+		assertThat(tracker.getSkippedParents(join)).isEqualTo(1);
+	}
+
+	@Test
+	void skipsJoinWhenEveryParentIsSkipped() {
+		CompiledWorkflow graph = fanIn(2);
+		ReadinessTracker tracker = new ReadinessTracker(graph);
+		int join = graph.ordinalOf("join");
+
+		assertThat(tracker.onParentResolved(join, ResolutionState.SKIPPED)).isEqualTo(ReadinessDecision.WAIT);
+		assertThat(tracker.onParentResolved(join, ResolutionState.SKIPPED)).isEqualTo(ReadinessDecision.SKIP);
+	}
+
+	@Test
+	void anyCompletedPolicyFiresOnFirstCompletedParent() {
+		CompiledWorkflow graph = fanIn(3, AnyCompletedPolicy.INSTANCE);
+		ReadinessTracker tracker = new ReadinessTracker(graph);
+		int join = graph.ordinalOf("join");
+
+		assertThat(tracker.onParentResolved(join, ResolutionState.SKIPPED)).isEqualTo(ReadinessDecision.WAIT);
+		assertThat(tracker.onParentResolved(join, ResolutionState.COMPLETED)).isEqualTo(ReadinessDecision.FIRE);
+		assertThat(tracker.onParentResolved(join, ResolutionState.COMPLETED)).isEqualTo(ReadinessDecision.WAIT);
+	}
+
+	@Test
+	void allCompletedPolicySkipsJoinWithASkippedParent() {
+		CompiledWorkflow graph = fanIn(2, AllCompletedPolicy.INSTANCE);
+		ReadinessTracker tracker = new ReadinessTracker(graph);
+		int join = graph.ordinalOf("join");
+
+		assertThat(tracker.onParentResolved(join, ResolutionState.COMPLETED)).isEqualTo(ReadinessDecision.WAIT);
+		assertThat(tracker.onParentResolved(join, ResolutionState.SKIPPED)).isEqualTo(ReadinessDecision.SKIP);
+	}
+
+	@Test
+	void decidesExactlyOnceUnderConcurrentParents() throws InterruptedException {
+		int width = 2_000;
+		CompiledWorkflow graph = fanIn(width);
+		ReadinessTracker tracker = new ReadinessTracker(graph);
+		int join = graph.ordinalOf("join");
+
+		AtomicInteger fired = new AtomicInteger();
+		CountDownLatch go = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+
+		for (int i = 0; i < width; i++) {
+			pool.execute(() -> {
+				try {
+					go.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				if (tracker.onParentResolved(join, ResolutionState.COMPLETED) == ReadinessDecision.FIRE) {
+					fired.incrementAndGet();
+				}
+			});
+		}
+
+		go.countDown();
+		pool.shutdown();
+		assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(fired.get()).isEqualTo(1);
+		assertThat(tracker.getCompletedParents(join)).isEqualTo(width);
+	}
+
+}
@@ -0,0 +1,202 @@
+package com.flownode.core.workflow.definition;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.engine.WorkflowExecutor;
+import com.flownode.core.execution.node.MemoizableNode;
+import com.flownode.core.execution.node.Node;
+import com.flownode.core.execution.node.OutputDeclaringNode;
+import com.flownode.core.execution.node.impl.composite.SubWorkflowNode;
+import com.flownode.core.execution.node.impl.task.DeclaredScriptTaskNode;
+import com.flownode.core.state.NodeState;
+import com.flownode.core.workflow.Workflow;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkflowDefinitionCompilerTests {
+
+	private final ScriptRegistry scripts = new ScriptRegistry()
+			.register("seed", ctx -> ctx.put("amount", 7_500))
+			.register("contract", ctx -> ctx.put("contract", true));
+
+	private final WorkflowDefinitionCompiler compiler = new WorkflowDefinitionCompiler(scripts);
+
+	private static NodeDefinition node(String id, String type, Map<String, Object> properties) {
+		return new NodeDefinition(id, null, type, null, properties);
+	}
+
+	private static TransitionDefinition edge(String from, String to) {
+		return new TransitionDefinition(from, to, null, null);
+	}
+
+	@Test
+	void aDefinitionCompilesToARunnableFrozenWorkflow() throws Exception {
+		WorkflowDefinition definition = new WorkflowDefinition("loan", "Loan", "1", "seed",
+				List.of(node("seed", "script", Map.of("script", "seed")),
+						node("check", "amount-condition", Map.of("key", "amount", "threshold", 5000)),
+						node("contract", "script", Map.of("script", "contract")),
+						node("fastTrack", "script", Map.of("script", "noop")),
+						new NodeDefinition("end", "End", "end", "any-completed", null)),
+				List.of(edge("seed", "check"),
+						new TransitionDefinition("check", null, "contract", "fastTrack"),
+						edge("contract", "end"),
+						edge("fastTrack", "end")));
+
+		Workflow workflow = compiler.compile(definition);
+		assertThat(workflow.isFrozen()).isTrue();
+
+		WorkflowExecutionContext context = new WorkflowExecutor().execute(workflow);
+		assertThat(context.get("contract")).isEqualTo(true);
+		assertThat(context.getNodeState("fastTrack")).isEqualTo(NodeState.SKIPPED);
+		assertThat(context.getNodeState("end")).isEqualTo(NodeState.COMPLETED);
+	}
+
+	@Test
+	void everyProblemIsReportedAtOnce() {
+		WorkflowDefinition definition = new WorkflowDefinition("broken", null, null, "a",
+				List.of(node("a", "script", Map.of("script", "missing")),
+						node("b", "script", Map.of("script", "noop")),
+						node("c", "script", Map.of("script", "noop")),
+						node("d", "teleport", Map.of()),
+						node("e", "script", Map.of("script", "noop")),
+						node("e", "script", Map.of("script", "noop"))),
+				List.of(edge("b", "c"), edge("c", "b"),
+						new TransitionDefinition("b", null, "c", "e"),
+						edge("c", "nowhere")));
+
+		assertThatThrownBy(() -> compiler.compile(definition))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Unknown script: missing")
+				.hasMessageContaining("unknown type 'teleport'")
+				.hasMessageContaining("duplicate node id 'e'")
+				.hasMessageContaining("'b' is not a condition node")
+				.hasMessageContaining("unknown node 'nowhere'");
+
+		// Shape checks run once the references are sound
+		WorkflowDefinition cyclic = new WorkflowDefinition("cyclic", null, null, "a",
+				List.of(node("a", "script", Map.of("script", "noop")),
+						node("b", "script", Map.of("script", "noop")),
+						node("c", "script", Map.of("script", "noop")),
+						node("orphan", "script", Map.of("script", "noop"))),
+				List.of(edge("a", "b"), edge("b", "c"), edge("c", "b")));
+
+		assertThatThrownBy(() -> compiler.compile(cyclic))
+				.hasMessageContaining("'b' is on or behind a cycle")
+				.hasMessageContaining("'orphan' is not reachable from 'a'");
+	}
+
+	@Test
+	void subWorkflowNodesDeclareTheirMappings() {
+		WorkflowDefinition definition = new WorkflowDefinition("order", null, null, "price",
+				List.of(node("price", "subworkflow", Map.of("workflowId", "pricing",
+						"inputs", Map.of("net", "amount"), "outputs", Map.of("vat", "tax")))),
+				List.of());
+
+		SubWorkflowNode price = (SubWorkflowNode) compiler.compile(definition).getNode("price").orElseThrow();
+		WorkflowExecutionContext parent = new WorkflowExecutionContext();
+		parent.put("amount", 100);
+		parent.put("other", 1);
+
+		assertThat(price.getWorkflowId()).isEqualTo("pricing");
+		assertThat(price.getInputKeys()).containsExactly("amount");
+		assertThat(price.childInputs(parent)).containsExactly(Map.entry("net", 100));
+
+		WorkflowDefinition broken = new WorkflowDefinition("broken", null, null, "price",
+				List.of(node("price", "subworkflow", Map.of("workflowId", "pricing", "inputs", "amount"))),
+				List.of());
+
+		assertThatThrownBy(() -> compiler.compile(broken))
+				.hasMessageContaining("property 'inputs' is not a mapping");
+	}
+
+	@Test
+	void scriptNodesDeclareInputsAndOutputsAndOptInToMemoization() {
+		WorkflowDefinition definition = new WorkflowDefinition("declared", null, null, "plain",
+				List.of(node("plain", "script", Map.of("script", "seed")),
+						node("declared", "script", Map.of("script", "seed", "inputs", List.of(), "outputs", "amount")),
+						node("memoized", "script", Map.of("script", "contract", "inputs", "amount", "outputs", List.of("contract"),
+								"memoize", true))),
+				List.of(edge("plain", "declared"), edge("declared", "memoized")));
+
+		Workflow workflow = compiler.compile(definition);
+
+		assertThat(workflow.getNode("plain").orElseThrow()).isNotInstanceOf(OutputDeclaringNode.class);
+		Node declared = workflow.getNode("declared").orElseThrow();
+		assertThat(declared).isInstanceOf(DeclaredScriptTaskNode.class).isNotInstanceOf(MemoizableNode.class);
+		assertThat(((OutputDeclaringNode) declared).getOutputKeys()).containsExactly("amount");
+		assertThat(((MemoizableNode) workflow.getNode("memoized").orElseThrow()).getInputKeys()).containsExactly("amount");
+
+		WorkflowDefinition halfDeclared = new WorkflowDefinition("half", null, null, "a",
+				List.of(node("a", "script", Map.of("script", "seed", "outputs", "amount"))),
+				List.of());
+
+		assertThatThrownBy(() -> compiler.compile(halfDeclared))
+				.hasMessageContaining("Script node 'a' must declare both inputs and outputs");
+	}
+
+	@Test
+	void duplicateAndConflictingTransitionsAreRejected() {
+		List<NodeDefinition> nodes = List.of(node("check", "boolean-condition", Map.of("key", "vip")),
+				node("yes", "script", Map.of("script", "noop")),
+				node("no", "script", Map.of("script", "noop")),
+				node("end", "end", null));
+
+		WorkflowDefinition twoBranchPairs = new WorkflowDefinition("twice", null, null, "check", nodes,
+				List.of(new TransitionDefinition("check", null, "yes", "no"),
+						new TransitionDefinition("check", null, "no", "yes"),
+						edge("yes", "end"), edge("no", "end")));
+
+		assertThatThrownBy(() -> compiler.compile(twoBranchPairs))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("condition node 'check' has more than one whenTrue/whenFalse transition");
+
+		WorkflowDefinition sameTarget = new WorkflowDefinition("same", null, null, "check", nodes,
+				List.of(new TransitionDefinition("check", null, "yes", "yes"),
+						edge("yes", "end"), edge("yes", "end"), edge("check", "no")));
+
+		assertThatThrownBy(() -> compiler.compile(sameTarget))
+				.hasMessageContaining("duplicate transition from 'check' to 'yes'")
+				.hasMessageContaining("duplicate transition from 'yes' to 'end'");
+	}
+
+	@Test
+	void subWorkflowReferencesMustBeDeployed() {
+		WorkflowDefinition definition = new WorkflowDefinition("order", null, null, "price",
+				List.of(node("price", "subworkflow", Map.of("workflowId", "pricing")),
+						node("again", "subworkflow", Map.of("workflowId", "order"))),
+				List.of(edge("price", "again")));
+
+		assertThatThrownBy(() -> compiler.compile(definition, "pricing"::equals))
+				.hasMessageContaining("node 'again' runs its own workflow 'order'")
+				.hasMessageNotContaining("'pricing'");
+		assertThatThrownBy(() -> compiler.compile(definition, workflowId -> false))
+				.hasMessageContaining("node 'price' runs unknown workflow 'pricing'");
+	}
+
+	@Test
+	void mapNodesRunEveryElementInOrderOutsideTheEngine() {
+		ScriptRegistry registry = new ScriptRegistry()
+				.register("double", ctx -> ctx.put("result", (Integer) ctx.get("item") * 2));
+		WorkflowDefinition definition = new WorkflowDefinition("doubler", null, null, "double",
+				List.of(node("double", "map", Map.of("items", "numbers", "results", "doubled", "script", "double", "maxConcurrency", 2))),
+				List.of());
+
+		Node doubler = new WorkflowDefinitionCompiler(registry).compile(definition).getNode("double").orElseThrow();
+		WorkflowExecutionContext context = new WorkflowExecutionContext();
+		context.put("numbers", List.of(1, 2, 3));
+
+		doubler.execute(context);
+		assertThat(context.get("doubled")).isEqualTo(List.of(2, 4, 6));
+
+		WorkflowDefinition broken = new WorkflowDefinition("broken", null, null, "double",
+				List.of(node("double", "map", Map.of("items", "numbers", "script", "double", "maxConcurrency", 0))),
+				List.of());
+
+		assertThatThrownBy(() -> new WorkflowDefinitionCompiler(registry).compile(broken))
+				.hasMessageContaining("maxConcurrency must be positive");
+	}
+}
@@ -0,0 +1,145 @@
+package com.flownode.definition;
+
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.execution.engine.instance.WorkflowInstance;
+import com.flownode.core.execution.engine.store.InstanceSnapshot;
+import com.flownode.core.state.NodeState;
+import com.flownode.core.state.WorkflowState;
+import com.flownode.core.workflow.definition.ScriptRegistry;
+import com.flownode.core.workflow.definition.WorkflowDefinitionCompiler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkflowDefinitionServiceTests {
+
+	private final ConcurrentWorkflowExecutor engine = new ConcurrentWorkflowExecutor(2);
+
+	private final WorkflowDefinitionService definitions = new WorkflowDefinitionService(
+			new WorkflowDefinitionReader(JsonMapper.builder().build()),
+			new WorkflowDefinitionCompiler(new ScriptRegistry()),
+			engine);
+
+	@AfterEach
+	void shutdown() {
+		engine.shutdown();
+	}
+
+	@Test
+	void theSampleYamlDefinitionDeploysAndRuns() throws Exception {
+		String yaml = new ClassPathResource("workflows/loan-approval.yaml").getContentAsString(StandardCharsets.UTF_8);
+
+		DeployedDefinition deployed = definitions.deploy(yaml);
+		assertThat(deployed.workflowId()).isEqualTo("loan-approval");
+		assertThat(deployed.nodeCount()).isEqualTo(8);
+		assertThat(definitions.find("loan-approval", "1")).contains(deployed);
+
+		WorkflowInstance instance = engine.startWorkflow("loan-approval", Map.of("amount", 100));
+		assertThat(instance.awaitCompletion(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(instance.getState()).isEqualTo(WorkflowState.COMPLETED);
+		assertThat(instance.getContext().getNodeState("review")).isEqualTo(NodeState.SKIPPED);
+	}
+
+	@Test
+	void anIdenticalSourceIsParsedOnceAndJsonMatchesYaml() {
+		String json = """
+				{"id": "tiny", "version": "2", "start": "a",
+				 "nodes": [{"id": "a", "type": "script", "properties": {"script": "noop"}}, {"id": "b", "type": "end"}],
+				 "transitions": [{"from": "a", "to": "b"}]}
+				""";
+		String yaml = """
+				id: tiny
+				version: "2"
+				start: a
+				nodes:
+				  - { id: a, type: script, properties: { script: noop } }
+				  - { id: b, type: end }
+				transitions:
+				  - { from: a, to: b }
+				""";
+
+		DeployedDefinition first = definitions.deploy(json);
+		assertThat(definitions.deploy(json)).isSameAs(first);
+		assertThat(definitions.getCachedDefinitionCount()).isEqualTo(1);
+
+		DeployedDefinition fromYaml = definitions.deploy(yaml);
+		assertThat(fromYaml.hash()).isNotEqualTo(first.hash());
+		assertThat(fromYaml.nodeCount()).isEqualTo(first.nodeCount());
+
+		assertThatThrownBy(() -> definitions.deploy("{\"id\": \"bad\", \"start\": \"x\", \"nodes\": []}"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("no nodes defined");
+		assertThatThrownBy(() -> definitions.deploy("{ not json"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(definitions.getCachedDefinitionCount()).isEqualTo(2);
+	}
+
+	@Test
+	void rollingBackToAnEarlierVersionReRegistersItAndItsRunsStillRestore() throws Exception {
+		String v1 = """
+				{"id": "flip", "version": "1", "start": "s",
+				 "nodes": [{"id": "s", "type": "start"}, {"id": "approve", "type": "approval"}, {"id": "e1", "type": "end"}],
+				 "transitions": [{"from": "s", "to": "approve"}, {"from": "approve", "to": "e1"}]}
+				""";
+		String v2 = """
+				{"id": "flip", "version": "2", "start": "s",
+				 "nodes": [{"id": "s", "type": "start"}, {"id": "e2", "type": "end"}],
+				 "transitions": [{"from": "s", "to": "e2"}]}
+				""";
+
+		definitions.deploy(v1);
+		WorkflowInstance waiting = engine.startWorkflow("flip", Map.of());
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (waiting.getState() != WorkflowState.SUSPENDED && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		InstanceSnapshot snapshot = waiting.snapshot();
+		assertThat(snapshot.workflowVersion()).isEqualTo("1");
+
+		definitions.deploy(v2);
+		assertThat(engine.getWorkflow("flip").orElseThrow().getVersion()).isEqualTo("2");
+		definitions.deploy(v1);
+		assertThat(engine.getWorkflow("flip").orElseThrow().getVersion()).isEqualTo("1");
+		definitions.deploy(v2);
+
+		// Another engine that only ever saw v2 last → the v1 run still restores on v1
+		ConcurrentWorkflowExecutor recovered = new ConcurrentWorkflowExecutor(2);
+		try {
+			WorkflowDefinitionService redeployed = new WorkflowDefinitionService(
+					new WorkflowDefinitionReader(JsonMapper.builder().build()),
+					new WorkflowDefinitionCompiler(new ScriptRegistry()),
+					recovered);
+			redeployed.deploy(v1);
+			redeployed.deploy(v2);
+
+			WorkflowInstance restored = recovered.restore(snapshot);
+			assertThat(restored.getGraph().getVersion()).isEqualTo("1");
+			assertThat(recovered.resume(restored.getRunId(), "approve", Map.of("approved", true))).isTrue();
+			assertThat(restored.awaitCompletion(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(restored.getContext().getNodeState("e1")).isEqualTo(NodeState.COMPLETED);
+		} finally {
+			recovered.shutdown();
+		}
+	}
+
+	@Test
+	void aDeployedVersionCannotChangeItsDefinition() {
+		definitions.deploy("""
+				{"id": "fixed", "version": "1", "start": "a", "nodes": [{"id": "a", "type": "end"}]}
+				""");
+
+		assertThatThrownBy(() -> definitions.deploy("""
+				{"id": "fixed", "version": "1", "start": "b", "nodes": [{"id": "b", "type": "end"}]}
+				"""))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("already deployed");
+	}
+}
@@ -0,0 +1,80 @@
+package com.flownode.metrics;
+
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.execution.engine.instance.WorkflowInstance;
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.workflow.Workflow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicrometerEngineMetricsTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private final ConcurrentWorkflowExecutor engine = new ConcurrentWorkflowExecutor(4);
+
+	@AfterEach
+	void shutdown() {
+		engine.shutdown();
+	}
+
+	@Test
+	void recordsNodeLatencyInstancesAndReadiness() throws InterruptedException {
+		engine.setMetrics(new MicrometerEngineMetrics(registry, engine));
+
+		Workflow workflow = new Workflow("metrics", "Metrics");
+		workflow.addNode(new ScriptTaskNode("start", "Start", ctx -> { }));
+		workflow.addNode(new ScriptTaskNode("left", "Left", ctx -> { }));
+		workflow.addNode(new ScriptTaskNode("right", "Right", ctx -> { }));
+		workflow.addNode(new ScriptTaskNode("join", "Join", ctx -> { }));
+		workflow.setStartNodeId("start");
+		workflow.addTransition("start", "left");
+		workflow.addTransition("start", "right");
+		workflow.addTransition("left", "join");
+		workflow.addTransition("right", "join");
+
+		Workflow failing = new Workflow("failing", "Failing");
+		failing.addNode(new ScriptTaskNode("boom", "Boom", ctx -> {
+			throw new IllegalStateException("boom");
+		}));
+		failing.setStartNodeId("boom");
+
+		WorkflowInstance ok = engine.startWorkflow(workflow, Map.of());
+		WorkflowInstance failed = engine.startWorkflow(failing, Map.of());
+		assertThat(ok.awaitCompletion(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(failed.awaitCompletion(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(registry.get("flownode.instances").tag("outcome", "started").counter().count()).isEqualTo(2);
+		assertThat(registry.get("flownode.instances").tag("outcome", "completed").counter().count()).isEqualTo(1);
+		assertThat(registry.get("flownode.instances").tag("outcome", "failed").counter().count()).isEqualTo(1);
+
+		assertThat(registry.get("flownode.node.execution").tag("type", "ScriptTaskNode").functionTimer().count()).isEqualTo(5);
+		assertThat(registry.get("flownode.node.failures").tag("type", "ScriptTaskNode").functionCounter().count()).isEqualTo(1);
+		assertThat(registry.get("flownode.node.execution.histogram")
+				.tags("type", "ScriptTaskNode", "le", "+Inf").functionCounter().count()).isEqualTo(5);
+		assertThat(registry.get("flownode.node.queue.wait").functionTimer().count()).isEqualTo(5);
+
+		// start → left, start → right, left → join, right → join
+		assertThat(registry.get("flownode.readiness.evaluations").functionCounter().count()).isEqualTo(4);
+		assertThat(registry.get("flownode.instances.active").gauge().value()).isZero();
+	}
+
+	@Test
+	void histogramBucketsArePowersOfFourMicroseconds() {
+		assertThat(LatencyHistogram.bucketOf(0)).isZero();
+		assertThat(LatencyHistogram.bucketOf(1_000)).isZero();
+		assertThat(LatencyHistogram.bucketOf(1_001)).isEqualTo(1);
+		assertThat(LatencyHistogram.bucketOf(4_000)).isEqualTo(1);
+		assertThat(LatencyHistogram.bucketOf(16_000)).isEqualTo(2);
+		assertThat(LatencyHistogram.bucketOf(17_000)).isEqualTo(3);
+		assertThat(LatencyHistogram.bucketOf(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKETS - 1);
+		assertThat(LatencyHistogram.upperBoundLabel(2)).isEqualTo("1.6E-5");
+	}
+
+}
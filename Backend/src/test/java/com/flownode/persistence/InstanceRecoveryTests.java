@@ -0,0 +1,166 @@
+package com.flownode.persistence;
+
+import com.flownode.core.execution.context.WorkflowExecutionContext;
+import com.flownode.core.execution.engine.executor.ConcurrentWorkflowExecutor;
+import com.flownode.core.execution.engine.instance.WorkflowInstance;
+import com.flownode.core.execution.engine.scheduling.RunOptions;
+import com.flownode.core.execution.journal.WriteBehindStateJournal;
+import com.flownode.core.execution.node.impl.condition.BooleanConditionNode;
+import com.flownode.core.execution.node.impl.task.ManualApprovalTaskNode;
+import com.flownode.core.execution.node.impl.task.ScriptTaskNode;
+import com.flownode.core.state.WorkflowState;
+import com.flownode.core.workflow.Workflow;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstanceRecoveryTests {
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+	private JdbcDataSource dataSource;
+	private JdbcTemplate jdbcTemplate;
+
+	private final AtomicInteger prepareRuns = new AtomicInteger();
+	private final CompletableFuture<WorkflowExecutionContext> finished = new CompletableFuture<>();
+
+	@BeforeEach
+	void createSchema() {
+		dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+		new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	private Workflow approval() {
+		Workflow workflow = new Workflow("approval", "Approval");
+		workflow.addNode(new ScriptTaskNode("start", "Start", ctx -> { }));
+		workflow.addNode(new ScriptTaskNode("prep", "Prepare", ctx -> {
+			prepareRuns.incrementAndGet();
+			ctx.put("prepared", (Integer) ctx.get("amount") * 2);
+		}));
+		workflow.addNode(new ManualApprovalTaskNode("approve", "Approve"));
+		workflow.addNode(new BooleanConditionNode("check", "Check", "approved"));
+		workflow.addNode(new ScriptTaskNode("yes", "Yes", ctx -> ctx.put("path", "yes")));
+		workflow.addNode(new ScriptTaskNode("no", "No", ctx -> ctx.put("path", "no")));
+		workflow.addNode(new ScriptTaskNode("end", "End", finished::complete));
+		workflow.setStartNodeId("start");
+		workflow.addTransition("start", "prep");
+		workflow.addTransition("prep", "approve");
+		workflow.addTransition("approve", "check");
+		workflow.addConditionTransition("check", "yes", "no");
+		workflow.addTransition("yes", "end");
+		workflow.addTransition("no", "end");
+		return workflow;
+	}
+
+	private WriteBehindStateJournal journal() {
+		return new WriteBehindStateJournal(
+				new JdbcJournalSink(jdbcTemplate, new DataSourceTransactionManager(dataSource), jsonMapper), 1024, 100);
+	}
+
+	private String instanceState(String runId) {
+		return jdbcTemplate.queryForObject("SELECT state FROM workflow_instance WHERE run_id = ?", String.class, runId);
+	}
+
+	private static void awaitSuspended(WorkflowInstance instance) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (instance.getState() != WorkflowState.SUSPENDED && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(instance.getState()).isEqualTo(WorkflowState.SUSPENDED);
+	}
+
+	@Test
+	void aSuspendedRunContinuesOnANewEngineWithoutRerunningCompletedNodes() throws Exception {
+		String runId;
+
+		// First process: runs up to the approval, then dies
+		ConcurrentWorkflowExecutor crashed = new ConcurrentWorkflowExecutor(4);
+		WriteBehindStateJournal crashedJournal = journal();
+		crashed.setJournal(crashedJournal);
+		try {
+			WorkflowInstance instance = crashed.startWorkflow(approval(), Map.of("amount", 21), new RunOptions("acme", 7));
+			runId = instance.getRunId();
+
+			awaitSuspended(instance);
+		} finally {
+			crashed.shutdown();
+			crashedJournal.close();
+		}
+
+		// Second process: same definitions, state from the tables only
+		ConcurrentWorkflowExecutor engine = new ConcurrentWorkflowExecutor(4);
+		WriteBehindStateJournal journal = journal();
+		engine.setJournal(journal);
+		try {
+			engine.registerWorkflow(approval());
+
+			int restored = new InstanceRecovery(new JdbcSnapshotRepository(jdbcTemplate, jsonMapper), engine).recover();
+			assertThat(restored).isEqualTo(1);
+			WorkflowInstance recovered = engine.getInstance(runId).orElseThrow();
+			assertThat(recovered.getOptions()).isEqualTo(new RunOptions("acme", 7));
+
+			assertThat(engine.resume(runId, "approve", Map.of("approved", true))).isTrue();
+
+			WorkflowExecutionContext context = finished.get(5, TimeUnit.SECONDS);
+			assertThat(context.get("path")).isEqualTo("yes");
+			assertThat(context.get("prepared")).isEqualTo(42);
+			assertThat(prepareRuns.get()).isEqualTo(1);
+
+			// The end node ran before the run was marked COMPLETED → wait for that, then for the journal
+			assertThat(recovered.awaitCompletion(5, TimeUnit.SECONDS)).isTrue();
+			journal.flush();
+			assertThat(instanceState(runId)).isEqualTo("COMPLETED");
+		} finally {
+			engine.shutdown();
+			journal.close();
+		}
+	}
+
+	@Test
+	void nodesInterruptedMidFlightRunAgainAndFinishedRunsAreIgnored() throws Exception {
+		Map<String, Object> data = Map.of("amount", 5);
+
+		jdbcTemplate.update("INSERT INTO workflow_instance (run_id, workflow_id, state, context_data, started_at, updated_at)"
+				+ " VALUES ('crashed', 'approval', 'RUNNING', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", jsonMapper.writeValueAsString(data));
+		jdbcTemplate.update("INSERT INTO workflow_instance (run_id, workflow_id, state, context_data, started_at, updated_at)"
+				+ " VALUES ('done', 'approval', 'COMPLETED', NULL, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+		for (String[] transition : new String[][]{{"start", "RUNNING"}, {"start", "COMPLETED"}, {"prep", "RUNNING"}}) {
+			jdbcTemplate.update("INSERT INTO node_transition (run_id, node_id, state, changed_at) VALUES ('crashed', ?, ?, CURRENT_TIMESTAMP)",
+					transition[0], transition[1]);
+		}
+
+		ConcurrentWorkflowExecutor engine = new ConcurrentWorkflowExecutor(4);
+		try {
+			engine.registerWorkflow(approval());
+
+			assertThat(new InstanceRecovery(new JdbcSnapshotRepository(jdbcTemplate, jsonMapper), engine).recover()).isEqualTo(1);
+
+			// prep runs again, then the run parks at the approval
+			WorkflowInstance instance = engine.getInstance("crashed").orElseThrow();
+			awaitSuspended(instance);
+			assertThat(engine.resume("crashed", "approve", Map.of("approved", false))).isTrue();
+
+			WorkflowExecutionContext context = finished.get(5, TimeUnit.SECONDS);
+			assertThat(context.get("prepared")).isEqualTo(10);
+			assertThat(context.get("path")).isEqualTo("no");
+			assertThat(prepareRuns.get()).isEqualTo(1);
+		} finally {
+			engine.shutdown();
+		}
+	}
+}
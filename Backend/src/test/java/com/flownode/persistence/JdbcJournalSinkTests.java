@@ -0,0 +1,78 @@
+package com.flownode.persistence;
+
+import com.flownode.core.execution.engine.scheduling.RunOptions;
+import com.flownode.core.execution.engine.store.InstanceSnapshot;
+import com.flownode.core.execution.journal.JournalEntry;
+import com.flownode.core.execution.journal.JournalEntry.Kind;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcJournalSinkTests {
+
+	private JdbcTemplate jdbcTemplate;
+	private JdbcJournalSink sink;
+
+	@BeforeEach
+	void createSchema() {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+		new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		sink = new JdbcJournalSink(jdbcTemplate, new DataSourceTransactionManager(dataSource), JsonMapper.builder().build());
+	}
+
+	@Test
+	void aBatchInsertsTheRunAndItsTransitionsAndKeepsTheLatestInstanceState() {
+		List<JournalEntry> batch = new ArrayList<>();
+		batch.add(new JournalEntry(Kind.INSTANCE_STARTED, "run1", "wf", "3", new RunOptions("acme", 5), null, "RUNNING", 1_000,
+				Map.of("amount", 5), Map.of()));
+		for (int i = 0; i < 500; i++) {
+			batch.add(new JournalEntry(Kind.NODE_STATE, "run1", null, "n" + i, "COMPLETED", 1_001));
+		}
+		batch.add(new JournalEntry(Kind.INSTANCE_STATE, "run1", null, null, "SUSPENDED", 1_002));
+		batch.add(new JournalEntry(Kind.INSTANCE_STATE, "run1", null, null, "COMPLETED", 1_003));
+
+		sink.write(batch);
+
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT state FROM workflow_instance WHERE run_id = 'run1'", String.class)).isEqualTo("COMPLETED");
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT workflow_version FROM workflow_instance WHERE run_id = 'run1'", String.class)).isEqualTo("3");
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT input_data FROM workflow_instance WHERE run_id = 'run1'", String.class)).contains("\"amount\":5");
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM node_transition WHERE run_id = 'run1'", Integer.class)).isEqualTo(500);
+
+		InstanceSnapshot snapshot = new JdbcSnapshotRepository(jdbcTemplate, JsonMapper.builder().build()).findRun("run1").orElseThrow();
+		assertThat(snapshot.options()).isEqualTo(new RunOptions("acme", 5));
+	}
+
+	@Test
+	void laterBatchesAppendTransitionsToAnExistingRun() {
+		sink.write(List.of(new JournalEntry(Kind.INSTANCE_STARTED, "run2", "wf", null, "RUNNING", 1_000),
+				new JournalEntry(Kind.NODE_STATE, "run2", null, "approve", "WAITING", 1_001)));
+		sink.write(List.of(new JournalEntry(Kind.NODE_STATE, "run2", null, "approve", "COMPLETED", 1_002)));
+
+		List<String> states = jdbcTemplate.queryForList(
+				"SELECT state FROM node_transition WHERE run_id = 'run2' AND node_id = 'approve' ORDER BY id", String.class);
+		assertThat(states).containsExactly("WAITING", "COMPLETED");
+
+		// Started without options → read back as the defaults
+		InstanceSnapshot snapshot = new JdbcSnapshotRepository(jdbcTemplate, JsonMapper.builder().build()).findRun("run2").orElseThrow();
+		assertThat(snapshot.options()).isEqualTo(RunOptions.DEFAULT);
+	}
+}